@@ -0,0 +1,84 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import java.util.Random;
+
+/**
+ * Builds the boards that the benchmarks run on. Every board is square and is filled with one of three patterns: a
+ * "sparse" board with 2% of its cells alive at random, a "soup" with 50% of its cells alive at random, and a board
+ * tiled with "oscillators" (blinkers, which flip between two states every tick). The random boards always use the
+ * same seed, so every run of a benchmark starts from the same cells.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class BenchmarkBoards {
+
+    /** The seed of the random boards */
+    private static final long SEED = 4963;
+
+    /**
+     * Creates the cells of a board
+     * @param size The number of rows and columns of the board
+     * @param pattern The pattern of the board ("sparse", "soup" or "oscillators")
+     * @return The value of every cell (1 if it is alive and 0 otherwise), row by row
+     */
+    public static Integer[][] create(int size, String pattern){
+        Integer[][] rows = new Integer[size][size];
+        Random random = new Random(SEED);
+        for (int row = 0; row < size; row++){
+            for (int col = 0; col < size; col++){
+                boolean alive;
+                switch (pattern){
+                    case "sparse":
+                        alive = random.nextInt(50) == 0;
+                        break;
+                    case "soup":
+                        alive = random.nextBoolean();
+                        break;
+                    case "oscillators":
+                        /** A horizontal blinker in the middle of every 5x5 tile */
+                        alive = row % 5 == 2 && col % 5 >= 1 && col % 5 <= 3 && row < size - size % 5 && col < size - size % 5;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown pattern '" + pattern + "'");
+                }
+                rows[row][col] = alive ? 1 : 0;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Loads cells into a GameOfLife (replacing any ticks that it had), the same way as ParseData does
+     * @param gol The GameOfLife
+     * @param rows The value of every cell, row by row
+     */
+    public static void load(GameOfLife gol, Integer[][] rows){
+        gol.resetData();
+        gol.initializeBoard(new Pair<>(rows.length, rows[0].length));
+        for (int row = 0; row < rows.length; row++)
+            gol.setRow(rows[row], row);
+    }
+
+    /**
+     * Writes cells in the format of an input file (the dimensions on the first line and a row of comma separated
+     * values on every line after it)
+     * @param rows The value of every cell, row by row
+     * @return The contents of the input file
+     */
+    public static String toInputFile(Integer[][] rows){
+        StringBuilder sb = new StringBuilder();
+        sb.append(rows.length).append(", ").append(rows[0].length).append('\n');
+        for (Integer[] row : rows){
+            for (int col = 0; col < row.length; col++){
+                if (col > 0)
+                    sb.append(", ");
+                sb.append(row[col]);
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,97 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading a board from an input file (ParseData.readFile) and exporting a tick (GameOfLife.boardToString and
+ * WriteData.writeFile). The files are kept in a temporary folder that is deleted after the benchmark.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class FileBenchmark {
+
+    /** The number of rows and columns of the board */
+    @Param({"64", "512", "2048"})
+    public int size;
+    /** The pattern of the board (see BenchmarkBoards) */
+    @Param({"sparse", "soup", "oscillators"})
+    public String pattern;
+
+    /** The temporary folder that holds the files */
+    private Path folder;
+    /** The input file of the board */
+    private String inputFile;
+    /** The game that the board is loaded into */
+    private GameOfLife gol;
+
+    /**
+     * Writes the input file and loads it once
+     * @throws IOException If the temporary files cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        folder = Files.createTempDirectory("gol-benchmark");
+        Path input = folder.resolve("input.txt");
+        Files.write(input, BenchmarkBoards.toInputFile(BenchmarkBoards.create(size, pattern)).getBytes(StandardCharsets.UTF_8));
+        inputFile = input.toString();
+        gol = new GameOfLife();
+        ParseData.readFile(inputFile, gol);
+    }
+
+    /**
+     * Deletes the temporary files
+     */
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        File[] files = folder.toFile().listFiles();
+        if (files != null){
+            for (File file : files)
+                file.delete();
+        }
+        folder.toFile().delete();
+    }
+
+    /**
+     * Loads the board from the input file
+     * @return The loaded board
+     */
+    @Benchmark
+    public BitBoard readFile(){
+        gol.resetData();
+        ParseData.readFile(inputFile, gol);
+        return gol.getCurrentBoard();
+    }
+
+    /**
+     * Converts the board into the text of an output file
+     * @return The text
+     */
+    @Benchmark
+    public String boardToString(){
+        return gol.boardToString(gol.getCurrentBoard());
+    }
+
+    /**
+     * Writes the board to an output file
+     */
+    @Benchmark
+    public void writeFile(){
+        WriteData.writeFile(gol.boardToString(gol.getCurrentBoard()), "tick", folder.toString(), 0);
+    }
+
+}
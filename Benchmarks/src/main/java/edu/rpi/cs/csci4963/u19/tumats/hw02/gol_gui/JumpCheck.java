@@ -0,0 +1,99 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+/**
+ * Checks that the three ways of reaching a tick give the same board: Jump Ahead (jumpGenerations, which uses HashLife
+ * when it cannot differ from stepping), Go to Tick (goToTick) and stepping one tick at a time (updateTick). A glider is
+ * placed near the edge of a small board, where it crosses the edge during the jump, and in the middle of a large board,
+ * where it does not, on every topology. The program prints every case that differs and exits with status 1 if any did.
+ *
+ *     java -cp target/benchmarks.jar edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui.JumpCheck
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class JumpCheck {
+
+    /** The cells of a glider that moves down and to the right, relative to its top left corner */
+    private static final int[][] GLIDER = {{0, 1}, {1, 2}, {2, 0}, {2, 1}, {2, 2}};
+    /** The power of two of the number of generations that is jumped */
+    private static final int POWER = 5;
+
+    /**
+     * Runs every case
+     * @param args Not used
+     */
+    public static void main(String[] args){
+        int failed = 0;
+        for (Topology topology : Topology.values()){
+            if (!check(topology, 16, 10, 10))
+                failed++;
+            if (!check(topology, 128, 60, 60))
+                failed++;
+        }
+        System.out.println(failed == 0 ? "Every jump matches stepping" : failed + " jumps differ from stepping");
+        System.exit(failed == 0 ? 0 : 1);
+    }
+
+    /**
+     * Reaches tick 2^POWER from a glider in the three ways and compares the boards
+     * @param topology The topology of the board
+     * @param size The number of rows and columns of the board
+     * @param row The top row of the glider
+     * @param col The left column of the glider
+     * @return True if the three boards are the same and False otherwise
+     */
+    private static boolean check(Topology topology, int size, int row, int col){
+        int tick = 1 << POWER;
+        GameOfLife jumped = create(topology, size, row, col);
+        jumped.jumpGenerations(POWER);
+        GameOfLife gone = create(topology, size, row, col);
+        gone.goToTick(tick);
+        GameOfLife stepped = create(topology, size, row, col);
+        for (int count = 0; count < tick; count++)
+            stepped.updateTick();
+        BitBoard expected = stepped.getCurrentBoard();
+        boolean same = sameCells(jumped.getCurrentBoard(), expected) && sameCells(gone.getCurrentBoard(), expected);
+        if (!same){
+            System.out.println("Tick " + tick + " of a glider at (" + row + ", " + col + ") on a " + size + "x" + size + " "
+                    + topology + ": jump " + jumped.getCurrentBoard().population() + " cells, go to tick "
+                    + gone.getCurrentBoard().population() + " cells, stepping " + expected.population() + " cells");
+        }
+        return same;
+    }
+
+    /**
+     * Creates a GameOfLife with a glider on an empty board
+     * @param topology The topology of the board
+     * @param size The number of rows and columns of the board
+     * @param row The top row of the glider
+     * @param col The left column of the glider
+     * @return The GameOfLife at tick 0
+     */
+    private static GameOfLife create(Topology topology, int size, int row, int col){
+        GameOfLife gol = new GameOfLife();
+        gol.setLookahead(0);
+        gol.setTopology(topology);
+        gol.initializeBoard(new Pair<>(size, size));
+        for (int[] cell : GLIDER)
+            gol.setState(row + cell[0], col + cell[1], true);
+        return gol;
+    }
+
+    /**
+     * Compares the cells of two boards
+     * @param first The first board
+     * @param second The second board
+     * @return True if every word of cells is the same and False otherwise
+     */
+    private static boolean sameCells(BitBoard first, BitBoard second){
+        if (first.getWordCount() != second.getWordCount())
+            return false;
+        for (int i = 0; i < first.getWordCount(); i++){
+            if (first.getWordAt(i) != second.getWordAt(i))
+                return false;
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,77 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the kernels that compute a generation (the neighbor counting that used to be done cell by cell) without
+ * the history, statistics and cycle detection around them. Two boards take turns holding the current generation, so
+ * nothing is allocated between generations.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class KernelBenchmark {
+
+    /** The number of rows and columns of the board */
+    @Param({"64", "512", "2048"})
+    public int size;
+    /** The pattern of the board (see BenchmarkBoards) */
+    @Param({"sparse", "soup", "oscillators"})
+    public String pattern;
+    /** The kernel that computes the generations ("swar", "lookup" or "vector") */
+    @Param({"swar", "lookup", "vector"})
+    public String kernel;
+
+    /** Computes the generations */
+    private ParallelStepper stepper;
+    /** The board that holds the current generation */
+    private BitBoard board;
+    /** The board that receives the next generation */
+    private BitBoard next;
+
+    /**
+     * Builds the boards and the stepper
+     */
+    @Setup(Level.Trial)
+    public void setup(){
+        Integer[][] cells = BenchmarkBoards.create(size, pattern);
+        board = new BitBoard(size, size);
+        for (int row = 0; row < size; row++){
+            for (int col = 0; col < size; col++)
+                board.set(row, col, cells[row][col] != 0);
+        }
+        next = new BitBoard(size, size);
+        stepper = new ParallelStepper(1, 64, StepKernel.forName(kernel, Rule.CONWAY), Rule.CONWAY, Topology.TORUS);
+    }
+
+    /**
+     * Stops the threads of the stepper
+     */
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        stepper.shutdown();
+    }
+
+    /**
+     * Computes the next generation
+     * @return The packed number of births and deaths, so that the generation cannot be optimized away
+     */
+    @Benchmark
+    public long step(){
+        long changes = stepper.step(board, next);
+        BitBoard previous = board;
+        board = next;
+        next = previous;
+        return changes;
+    }
+
+}
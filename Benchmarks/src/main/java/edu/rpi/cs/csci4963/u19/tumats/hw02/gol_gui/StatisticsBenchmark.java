@@ -0,0 +1,68 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the statistics of a tick. getTickSumStates reads the statistics that were kept while the tick was computed,
+ * and countStatistics counts them from the boards, which is what happens for a tick whose statistics were dropped by
+ * an edit.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class StatisticsBenchmark {
+
+    /** The number of rows and columns of the board */
+    @Param({"64", "512", "2048"})
+    public int size;
+    /** The pattern of the board (see BenchmarkBoards) */
+    @Param({"sparse", "soup", "oscillators"})
+    public String pattern;
+
+    /** The game, which has computed a single tick */
+    private GameOfLife gol;
+    /** The board of tick 0 */
+    private BitBoard previous;
+    /** The board of tick 1 */
+    private BitBoard current;
+
+    /**
+     * Builds the board and computes the first tick
+     */
+    @Setup(Level.Trial)
+    public void setup(){
+        gol = new GameOfLife();
+        BenchmarkBoards.load(gol, BenchmarkBoards.create(size, pattern));
+        previous = new BitBoard(gol.getCurrentBoard());
+        gol.updateTick();
+        current = gol.getCurrentBoard();
+    }
+
+    /**
+     * Reads the stored statistics of the current tick
+     * @return The number of alive and dead cells
+     */
+    @Benchmark
+    public Pair<Integer, Integer> getTickSumStates(){
+        return gol.getTickSumStates(1);
+    }
+
+    /**
+     * Counts the statistics of the current tick from its board and the board before it
+     * @return The number of alive cells plus the packed number of births and deaths
+     */
+    @Benchmark
+    public long countStatistics(){
+        return current.population() + BitBoard.countChanges(previous, current);
+    }
+
+}
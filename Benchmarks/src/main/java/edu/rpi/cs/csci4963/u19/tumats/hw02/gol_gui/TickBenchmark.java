@@ -0,0 +1,73 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures GameOfLife.updateTick (computing, storing and counting a single tick) over every board size, pattern,
+ * kind of history and lookahead. The throughput gives the ticks per second and the sample time gives the latency
+ * percentiles of a single tick. The board is loaded again before every iteration, outside of the measured method, so
+ * the patterns do not die down into still lifes and the history does not grow across iterations, while no single
+ * sample pays for loading a board.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class TickBenchmark {
+
+    /** The number of rows and columns of the board */
+    @Param({"64", "512", "2048"})
+    public int size;
+    /** The pattern of the board (see BenchmarkBoards) */
+    @Param({"sparse", "soup", "oscillators"})
+    public String pattern;
+    /** The kind of history that stores the ticks */
+    @Param({"compressed", "live"})
+    public String history;
+    /** The number of generations that are computed ahead in the background (0 turns speculative stepping off) */
+    @Param({"0", "8"})
+    public int lookahead;
+
+    /** The cells that the board starts with */
+    private Integer[][] cells;
+    /** The game that is stepped */
+    private GameOfLife gol;
+
+    /**
+     * Builds the board and the game
+     */
+    @Setup(Level.Trial)
+    public void setup(){
+        cells = BenchmarkBoards.create(size, pattern);
+        gol = new GameOfLife();
+        gol.setHistoryBackend(history, 32);
+        gol.setLookahead(lookahead);
+    }
+
+    /**
+     * Loads the board again, so that every iteration starts from the same pattern and an empty history
+     */
+    @Setup(Level.Iteration)
+    public void reload(){
+        BenchmarkBoards.load(gol, cells);
+    }
+
+    /**
+     * Computes the next tick
+     * @return The board of the new tick, so that the tick cannot be optimized away
+     */
+    @Benchmark
+    public BitBoard updateTick(){
+        gol.updateTick();
+        return gol.getCurrentBoard();
+    }
+
+}
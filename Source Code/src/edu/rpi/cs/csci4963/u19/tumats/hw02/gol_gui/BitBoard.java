@@ -0,0 +1,1003 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * Stores a single generation of the board with one bit per cell. Each row of the board is packed into an array of
+ * longs (64 cells per word) and the next generation is computed a whole word at a time by adding up the neighbors of
+ * 64 cells in parallel with bitwise operations (SWAR). What lies beyond the edges of the board depends on its
+ * topology (a torus by default, which wraps around at the edges just like the original Integer[][] implementation).
+ * The row above the first row and the row below the last row are kept in a halo after the cell data, which is filled
+ * in from the topology once before stepping (see refreshHalo), so the rows around every row are found without
+ * checking the topology again, and the first and last column only need a single mask to be joined or cut off.
+ * Rules with dying states (Generations rules) need more than one bit per cell. Their boards have extra bit planes
+ * after the plane of live cells, which together count how far every dying cell has decayed.
+ * A board can also be a read-only view onto cell data that lives outside of the heap (such as a memory-mapped file).
+ * While a generation is written into a board, the steppers also collect how its Zobrist hash (see hashWord) changed
+ * from the previous generation, so that cycle detection never has to compare or hash the whole board again.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class BitBoard {
+
+    /** The number of rows in the board */
+    private final int rows;
+    /** The number of columns in the board */
+    private final int cols;
+    /** The number of longs that are needed to store a single row */
+    private final int wordsPerRow;
+    /** The number of bit planes (1 for boards that only store live and dead cells) */
+    private final int planes;
+    /** Mask of the bits in the last word of a row that belong to the board (the remaining bits are always 0) */
+    private final long lastWordMask;
+    /** Bit position of the last column within the last word of a row */
+    private final int lastColBit;
+    /** Cell data for the board, stored row after row with wordsPerRow longs for every row and plane after plane, followed by the two halo rows (null for a view) */
+    private final long[] words;
+    /** Cell data for a read-only view, laid out like words without the halo rows (null for a regular board) */
+    private final LongBuffer view;
+    /** The index in words of the halo row above the first row (the halo row below the last row follows it) */
+    private final int haloStart;
+    /** The shape of the surface that the board is laid on */
+    private Topology topology = Topology.TORUS;
+    /** Whether the halo rows and columnWrap match the current cells and topology */
+    private boolean haloFresh = false;
+    /** 1 if the first and last column are neighbors and 0 if the cells beyond them are dead */
+    private long columnWrap = 1L;
+    /** The XOR of hashWord of the old and the new value of every word that changed when the board was last computed */
+    private long stepHash;
+    /** Whether stepHash covers the whole generation that was last computed into the board (see startStepHash) */
+    private boolean stepHashKnown = false;
+    /** The position in the hashed board of the first word of this board (see setHashWindow) */
+    private int hashOffset = 0;
+    /** The number of words that a plane of the hashed board has beyond the words of a plane of this board */
+    private int hashPlaneGap = 0;
+
+    /**
+     * Constructor for the BitBoard class. All cells start out dead.
+     * @param rows The number of rows that the board must have
+     * @param cols The number of columns that the board must have
+     */
+    public BitBoard(int rows, int cols){
+        this(rows, cols, 1);
+    }
+
+    /**
+     * Constructor for the BitBoard class with extra bit planes for the dying states of a Generations rule. All cells
+     * start out dead.
+     * @param rows The number of rows that the board must have
+     * @param cols The number of columns that the board must have
+     * @param planes The number of bit planes (see Rule.getPlaneCount)
+     */
+    public BitBoard(int rows, int cols, int planes){
+        this.rows = rows;
+        this.cols = cols;
+        this.wordsPerRow = Math.max(1, (cols + 63) >>> 6);
+        this.planes = planes;
+        this.lastColBit = (cols - 1) & 63;
+        this.lastWordMask = lastColBit == 63 ? -1L : (1L << (lastColBit + 1)) - 1;
+        this.haloStart = rows * wordsPerRow * planes;
+        this.words = new long[haloStart + 2 * wordsPerRow];
+        this.view = null;
+    }
+
+    /**
+     * Constructor for a read-only view onto cell data that is stored outside of the board. No cell data is copied.
+     * @param rows The number of rows that the board must have
+     * @param cols The number of columns that the board must have
+     * @param view The cell data, stored row after row with one long for every 64 columns
+     */
+    public BitBoard(int rows, int cols, LongBuffer view){
+        this(rows, cols, 1, view);
+    }
+
+    /**
+     * Constructor for a read-only view onto cell data with one or more bit planes. No cell data is copied.
+     * @param rows The number of rows that the board must have
+     * @param cols The number of columns that the board must have
+     * @param planes The number of bit planes
+     * @param view The cell data, stored row after row with one long for every 64 columns and plane after plane
+     */
+    public BitBoard(int rows, int cols, int planes, LongBuffer view){
+        this.rows = rows;
+        this.cols = cols;
+        this.wordsPerRow = Math.max(1, (cols + 63) >>> 6);
+        this.planes = planes;
+        this.lastColBit = (cols - 1) & 63;
+        this.lastWordMask = lastColBit == 63 ? -1L : (1L << (lastColBit + 1)) - 1;
+        this.haloStart = rows * wordsPerRow * planes;
+        this.words = null;
+        this.view = view;
+    }
+
+    /**
+     * Copy constructor for the BitBoard class. The copy is always a regular (writable) board.
+     * @param other The board that is being copied
+     */
+    public BitBoard(BitBoard other){
+        this.rows = other.rows;
+        this.cols = other.cols;
+        this.wordsPerRow = other.wordsPerRow;
+        this.planes = other.planes;
+        this.lastColBit = other.lastColBit;
+        this.lastWordMask = other.lastWordMask;
+        this.haloStart = other.haloStart;
+        this.topology = other.topology;
+        /** The copy holds the same cells, so it changed from the previous generation in the same way */
+        this.stepHash = other.stepHash;
+        this.stepHashKnown = other.stepHashKnown;
+        this.hashOffset = other.hashOffset;
+        this.hashPlaneGap = other.hashPlaneGap;
+        if (other.words != null){
+            this.words = other.words.clone();
+            this.haloFresh = other.haloFresh;
+            this.columnWrap = other.columnWrap;
+        }
+        else {
+            this.words = new long[haloStart + 2 * wordsPerRow];
+            LongBuffer source = other.view.duplicate();
+            source.clear();
+            source.get(this.words, 0, haloStart);
+        }
+        this.view = null;
+    }
+
+    /**
+     * Replaces the cell data of the board with the cell data of another board with the same dimensions, so that a
+     * board can be used again instead of allocating a copy
+     * @param other The board that is copied
+     */
+    public void copyFrom(BitBoard other){
+        checkWritable();
+        if (other.words != null)
+            System.arraycopy(other.words, 0, words, 0, haloStart);
+        else {
+            LongBuffer source = other.view.duplicate();
+            source.clear();
+            source.get(words, 0, haloStart);
+        }
+        topology = other.topology;
+        haloFresh = false;
+        stepHash = other.stepHash;
+        stepHashKnown = other.stepHashKnown;
+        hashOffset = other.hashOffset;
+        hashPlaneGap = other.hashPlaneGap;
+    }
+
+    /**
+     * Copies a board into a board that is used again as long as it has the same dimensions and number of planes
+     * @param source The board that is copied
+     * @param target The board that is used again (null if there is none yet)
+     * @return The copy (target, or a new board if target could not be used)
+     */
+    public static BitBoard copy(BitBoard source, BitBoard target){
+        if (target == null || target.rows != source.rows || target.cols != source.cols || target.planes != source.planes)
+            return new BitBoard(source);
+        target.copyFrom(source);
+        return target;
+    }
+
+    /**
+     * Checks whether the board is a read-only view onto cell data that is stored outside of the board
+     * @return True if the board is a view and False otherwise
+     */
+    public boolean isReadOnly(){
+        return words == null;
+    }
+
+    /**
+     * Copies the cell data of the board into a buffer, laid out the same way as a view
+     * @param buffer The buffer that receives the cell data (starting at its current position)
+     */
+    public void writeTo(LongBuffer buffer){
+        if (words != null)
+            buffer.put(words, 0, haloStart);
+        else {
+            LongBuffer source = view.duplicate();
+            source.clear();
+            buffer.put(source);
+        }
+    }
+
+    /**
+     * Returns the number of rows in the board
+     * @return The number of rows
+     */
+    public int getNumRows(){
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns in the board
+     * @return The number of columns
+     */
+    public int getNumCols(){
+        return cols;
+    }
+
+    /**
+     * Returns the number of longs that are used to store a single row
+     * @return The number of words per row
+     */
+    public int getWordsPerRow(){
+        return wordsPerRow;
+    }
+
+    /**
+     * Returns the number of bit planes of the board
+     * @return The number of planes (1 for boards that only store live and dead cells)
+     */
+    public int getPlaneCount(){
+        return planes;
+    }
+
+    /**
+     * Returns a copy of the board with a different number of bit planes. The live cells are kept and every dying cell
+     * is dropped.
+     * @param planes The number of planes of the copy
+     * @return The copy of the board
+     */
+    public BitBoard withPlanes(int planes){
+        BitBoard copy = new BitBoard(rows, cols, planes);
+        copy.topology = topology;
+        for (int i = 0; i < rows * wordsPerRow; i++)
+            copy.words[i] = getWordAt(i);
+        return copy;
+    }
+
+    /**
+     * Returns the shape of the surface that the board is laid on
+     * @return The topology (a torus unless it was changed)
+     */
+    public Topology getTopology(){
+        return topology;
+    }
+
+    /**
+     * Changes the shape of the surface that the board is laid on. The halo is filled in again before the next step.
+     * @param topology The topology
+     */
+    public void setTopology(Topology topology){
+        if (topology == this.topology)
+            return;
+        this.topology = topology;
+        haloFresh = false;
+    }
+
+    /**
+     * Fills in the halo rows from the current cells and the topology of the board, unless they are already up to date.
+     * This runs once before a generation is computed, so bands of rows that are computed at the same time only read
+     * the halo. Read-only views have no halo, because they are copied before they are stepped.
+     */
+    public void refreshHalo(){
+        if (haloFresh || words == null)
+            return;
+        int lastRow = (rows - 1) * wordsPerRow;
+        if (!topology.wrapsRows())
+            Arrays.fill(words, haloStart, haloStart + 2 * wordsPerRow, 0L);
+        else if (!topology.flipsRows()){
+            System.arraycopy(words, lastRow, words, haloStart, wordsPerRow);
+            System.arraycopy(words, 0, words, haloStart + wordsPerRow, wordsPerRow);
+        }
+        else {
+            reverseRow(words, lastRow, words, haloStart, cols);
+            reverseRow(words, 0, words, haloStart + wordsPerRow, cols);
+        }
+        columnWrap = topology.wrapsColumns() ? 1L : 0L;
+        haloFresh = true;
+    }
+
+    /**
+     * Marks the halo rows as out of date after the cells were written straight into the array of the board (by a
+     * stepper that computes a generation into a board that is used again)
+     */
+    void invalidateHalo(){
+        haloFresh = false;
+    }
+
+    /**
+     * Replaces the halo rows with rows that were computed elsewhere (such as the edge rows of the boards next to this
+     * one), which stay in place until the cells or the topology of the board change
+     * @param above The row above the first row, with wordsPerRow words
+     * @param below The row below the last row, with wordsPerRow words
+     */
+    void setHalo(long[] above, long[] below){
+        checkWritable();
+        System.arraycopy(above, 0, words, haloStart, wordsPerRow);
+        System.arraycopy(below, 0, words, haloStart + wordsPerRow, wordsPerRow);
+        columnWrap = topology.wrapsColumns() ? 1L : 0L;
+        haloFresh = true;
+    }
+
+    /**
+     * Copies a row of live cells from right to left, so column c ends up in column cols - 1 - c
+     * @param from The array that holds the row
+     * @param fromIndex The index of the first word of the row
+     * @param to The array that receives the reversed row (may be the same array, but not the same words)
+     * @param toIndex The index of the first word of the reversed row
+     * @param cols The number of columns in the row
+     */
+    static void reverseRow(long[] from, int fromIndex, long[] to, int toIndex, int cols){
+        int wordsPerRow = Math.max(1, (cols + 63) >>> 6);
+        /** Reversing every word in reverse order flips all wordsPerRow * 64 bits, so the row then starts shift bits too high */
+        int shift = (wordsPerRow << 6) - cols;
+        for (int word = 0; word < wordsPerRow; word++){
+            long value = Long.reverse(from[fromIndex + wordsPerRow - 1 - word]) >>> shift;
+            if (shift != 0 && word + 1 < wordsPerRow)
+                value |= Long.reverse(from[fromIndex + wordsPerRow - 2 - word]) << (64 - shift);
+            to[toIndex + word] = value;
+        }
+    }
+
+    /**
+     * Returns the index of the first word of a row in the cell data, where row -1 and row rows are the halo rows above
+     * and below the board. The halo must have been refreshed (see refreshHalo).
+     * @param row The row, from -1 to rows
+     * @return The index of the first word of the row
+     */
+    int rowStart(int row){
+        if (row < 0)
+            return haloStart;
+        if (row >= rows)
+            return haloStart + wordsPerRow;
+        return row * wordsPerRow;
+    }
+
+    /**
+     * Returns whether the first and last column are neighbors, as a mask for the bit that wraps around
+     * @return 1 if the columns wrap around and 0 if the cells beyond them are dead
+     */
+    long getColumnWrap(){
+        return columnWrap;
+    }
+
+    /**
+     * Returns the array that holds the cell data, so that kernels in this package can load whole segments of a row at
+     * once. The array must not be changed except by writing the next generation into it.
+     * @return The cell data, or null if the board is a read-only view
+     */
+    long[] getWords(){
+        return words;
+    }
+
+    /**
+     * Returns the number of longs that hold the cell data of every plane
+     * @return The number of words
+     */
+    public int getWordCount(){
+        return rows * wordsPerRow * planes;
+    }
+
+    /**
+     * Returns a word of the cell data by its position. The words are stored row after row and plane after plane, so
+     * the first rows * wordsPerRow words hold the live cells.
+     * @param index The position of the word
+     * @return The packed cell data
+     */
+    public long getWordAt(int index){
+        if (words == null)
+            return view.get(index);
+        return words[index];
+    }
+
+    /**
+     * Replaces a word of the cell data by its position
+     * @param index The position of the word
+     * @param value The packed cell data
+     */
+    public void setWordAt(int index, long value){
+        checkWritable();
+        words[index] = value;
+        haloFresh = false;
+    }
+
+    /**
+     * Returns the state of a single cell
+     * @param row The row of the cell
+     * @param col The column of the cell
+     * @return 0 if the cell is dead, 1 if it is alive and 2 or more if it is dying
+     */
+    public int getState(int row, int col){
+        int index = row * wordsPerRow + (col >>> 6);
+        if ((getWordAt(index) >>> col & 1) != 0)
+            return 1;
+        int decay = 0;
+        for (int plane = 1; plane < planes; plane++){
+            decay |= (int) (getWordAt(plane * rows * wordsPerRow + index) >>> col & 1) << (plane - 1);
+        }
+        return decay == 0 ? 0 : decay + 1;
+    }
+
+    /**
+     * Returns the value of a single cell
+     * @param row The row of the cell
+     * @param col The column of the cell
+     * @return 1 if the cell is alive and 0 otherwise
+     */
+    public int get(int row, int col){
+        if (words == null)
+            return (int) (view.get(row * wordsPerRow + (col >>> 6)) >>> col) & 1;
+        return (int) (words[row * wordsPerRow + (col >>> 6)] >>> col) & 1;
+    }
+
+    /**
+     * Changes the state of a single cell. A dying cell stops dying.
+     * @param row The row of the cell
+     * @param col The column of the cell
+     * @param alive True if the cell should be alive and False otherwise
+     */
+    public void set(int row, int col, boolean alive){
+        checkWritable();
+        int index = row * wordsPerRow + (col >>> 6);
+        if (alive)
+            words[index] |= 1L << col;
+        else
+            words[index] &= ~(1L << col);
+        for (int plane = 1; plane < planes; plane++)
+            words[plane * rows * wordsPerRow + index] &= ~(1L << col);
+        haloFresh = false;
+        forgetStepHash();
+    }
+
+    /**
+     * Changes the state of every cell to dead
+     */
+    public void clear(){
+        checkWritable();
+        Arrays.fill(words, 0L);
+        haloFresh = false;
+        forgetStepHash();
+    }
+
+    /**
+     * Returns a packed word of 64 cells from a row. Bit i of word w holds column 64 * w + i.
+     * @param row The row of the word
+     * @param word The index of the word within the row
+     * @return The packed cell data
+     */
+    public long getWord(int row, int word){
+        if (words == null)
+            return view.get(row * wordsPerRow + word);
+        return words[row * wordsPerRow + word];
+    }
+
+    /**
+     * Replaces a packed word of 64 cells in a row
+     * @param row The row of the word
+     * @param word The index of the word within the row
+     * @param value The packed cell data
+     */
+    public void setWord(int row, int word, long value){
+        checkWritable();
+        words[row * wordsPerRow + word] = value;
+        haloFresh = false;
+    }
+
+    /**
+     * Counts the number of cells that are currently alive (dying cells are not counted)
+     * @return The number of alive cells
+     */
+    public int population(){
+        int sum = 0;
+        for (int i = 0; i < rows * wordsPerRow; i++)
+            sum += Long.bitCount(getWordAt(i));
+        return sum;
+    }
+
+    /**
+     * Checks whether every alive cell lies at least margin cells away from every edge of the board. A pattern grows by
+     * at most one cell per generation, so within margin generations it cannot reach an edge, and the board runs the
+     * same as it would on an unbounded plane whatever the topology is.
+     * @param margin The number of cells
+     * @return True if no alive cell lies within margin cells of an edge (or no cell is alive) and False otherwise
+     */
+    public boolean isInside(int margin){
+        int firstRow = -1;
+        int lastRow = -1;
+        long[] columns = new long[wordsPerRow];
+        for (int row = 0; row < rows; row++){
+            long any = 0;
+            for (int word = 0; word < wordsPerRow; word++){
+                long bits = getWord(row, word);
+                columns[word] |= bits;
+                any |= bits;
+            }
+            if (any != 0){
+                if (firstRow < 0)
+                    firstRow = row;
+                lastRow = row;
+            }
+        }
+        if (firstRow < 0)
+            return true;
+        int firstWord = 0;
+        while (columns[firstWord] == 0)
+            firstWord++;
+        int lastWord = wordsPerRow - 1;
+        while (columns[lastWord] == 0)
+            lastWord--;
+        long firstCol = 64L * firstWord + Long.numberOfTrailingZeros(columns[firstWord]);
+        long lastCol = 64L * lastWord + 63 - Long.numberOfLeadingZeros(columns[lastWord]);
+        return firstRow >= margin && rows - 1 - lastRow >= margin && firstCol >= margin && cols - 1 - lastCol >= margin;
+    }
+
+    /**
+     * Packs the number of births and deaths of a generation into a single long. Packed counts of separate bands can
+     * simply be added up, as long as the board has fewer than 2^32 cells.
+     * @param births The number of cells that came to life
+     * @param deaths The number of cells that died
+     * @return The packed counts
+     */
+    public static long packChanges(long births, long deaths){
+        return (births << 32) + deaths;
+    }
+
+    /**
+     * Returns the number of births from packed counts
+     * @param changes The packed counts (see packChanges)
+     * @return The number of cells that came to life
+     */
+    public static int getBirths(long changes){
+        return (int) (changes >>> 32);
+    }
+
+    /**
+     * Returns the number of deaths from packed counts
+     * @param changes The packed counts (see packChanges)
+     * @return The number of cells that died
+     */
+    public static int getDeaths(long changes){
+        return (int) changes;
+    }
+
+    /**
+     * Counts the live cells that were born and that died between two boards with the same dimensions
+     * @param before The earlier board
+     * @param after The later board
+     * @return The packed counts (see packChanges)
+     */
+    public static long countChanges(BitBoard before, BitBoard after){
+        long births = 0;
+        long deaths = 0;
+        for (int i = 0; i < before.rows * before.wordsPerRow; i++){
+            long old = before.getWordAt(i);
+            long value = after.getWordAt(i);
+            births += Long.bitCount(value & ~old);
+            deaths += Long.bitCount(old & ~value);
+        }
+        return packChanges(births, deaths);
+    }
+
+    /**
+     * Returns the value that a single word of cells adds to the Zobrist hash of a board, which is the XOR of the values
+     * of all of its words. Empty words add nothing, so an empty board hashes to 0.
+     * @param index The position of the word (see getWordAt)
+     * @param word The cells of the word
+     * @return The value of the word
+     */
+    public static long hashWord(int index, long word){
+        if (word == 0)
+            return 0;
+        /** SplitMix64 finalizer over the word mixed with a per-position key */
+        long z = word ^ (index * 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns the change of hash value of a single word
+     * @param index The position of the word (see getWordAt)
+     * @param old The old cells of the word
+     * @param value The new cells of the word
+     * @return The value to XOR into the hash of the board (0 if the word did not change)
+     */
+    static long hashChange(int index, long old, long value){
+        return old == value ? 0 : hashWord(index, old) ^ hashWord(index, value);
+    }
+
+    /**
+     * Starts collecting the hash changes of a generation that is about to be written into the board. Called by the
+     * steppers once per generation, before any band of it is computed.
+     */
+    void startStepHash(){
+        stepHash = 0;
+        stepHashKnown = true;
+    }
+
+    /**
+     * Adds the hash changes of a band of words that were written into the board. The bands of a generation may be
+     * computed on several threads at once, so this is the only part of the hash changes that is synchronized (the
+     * other methods see the hash changes the same way that they see the words, after the bands are joined).
+     * @param changes The XOR of hashChange for every word of the band
+     */
+    synchronized void mixStepHash(long changes){
+        stepHash ^= changes;
+    }
+
+    /**
+     * Forgets the hash changes after the cells were changed in any other way than by computing a generation
+     */
+    private void forgetStepHash(){
+        stepHashKnown = false;
+    }
+
+    /**
+     * Makes the steppers hash the words of this board at the positions that they have in a taller board, of which this
+     * board holds a slab of consecutive rows (see SlabWorker), so that getStepHash is the change of the hash of the
+     * taller board
+     * @param firstRow The row of the taller board that the first row of this board is
+     * @param boardRows The number of rows of the taller board
+     */
+    void setHashWindow(int firstRow, int boardRows){
+        hashOffset = firstRow * wordsPerRow;
+        hashPlaneGap = (boardRows - rows) * wordsPerRow;
+    }
+
+    /**
+     * Returns the position in the hashed board of the first word of this board, which the steppers add to the position
+     * of every word of the first plane that they hash (see setHashWindow)
+     * @return The offset in words (0 unless the board is a slab of a taller board)
+     */
+    int getHashOffset(){
+        return hashOffset;
+    }
+
+    /**
+     * Checks whether the board knows how its hash changed when it was last computed from the previous generation.
+     * Copies of such a board know it as well, but boards that were edited or computed in another way than by a stepper
+     * do not.
+     * @return True if getStepHash can be used and False otherwise
+     */
+    public boolean hasStepHash(){
+        return stepHashKnown;
+    }
+
+    /**
+     * Returns how the Zobrist hash changed when the board was last computed from the previous generation, so that the
+     * hash of this board is the hash of the previous board XOR this value (see hasStepHash)
+     * @return The XOR of hashChange of every word that was written
+     */
+    public long getStepHash(){
+        return stepHash;
+    }
+
+    /**
+     * Computes the next generation of every row of the board and places it in the next board
+     * @param next The board that receives the next generation (must have the same dimensions)
+     * @return The number of births and deaths, packed (see packChanges)
+     */
+    public long step(BitBoard next){
+        return stepRows(next, 0, rows);
+    }
+
+    /**
+     * Computes the next generation for a band of rows and places it in the next board. Only this board is read, so
+     * separate bands can safely be computed at the same time. The births and deaths are counted while the words are
+     * written, so the statistics of a tick never need a separate pass over the board.
+     * @param next The board that receives the next generation (must have the same dimensions)
+     * @param startRow The first row to compute (inclusive)
+     * @param endRow The last row to compute (exclusive)
+     * @return The number of births and deaths in the band, packed (see packChanges)
+     */
+    public long stepRows(BitBoard next, int startRow, int endRow){
+        if (words == null)
+            return new BitBoard(this).stepRows(next, startRow, endRow);
+        refreshHalo();
+        long[] out = next.words;
+        long births = 0;
+        long deaths = 0;
+        long hash = 0;
+        int hashOffset = next.hashOffset;
+        for (int row = startRow; row < endRow; row++){
+            int above = rowStart(row - 1);
+            int center = row * wordsPerRow;
+            int below = rowStart(row + 1);
+            for (int word = 0; word < wordsPerRow; word++){
+                long old = words[center + word];
+                long value = nextWord(above, center, below, word);
+                out[center + word] = value;
+                births += Long.bitCount(value & ~old);
+                deaths += Long.bitCount(old & ~value);
+                hash ^= hashChange(hashOffset + center + word, old, value);
+            }
+        }
+        next.mixStepHash(hash);
+        return packChanges(births, deaths);
+    }
+
+    /**
+     * Computes the next generation of every row of the board under any rule and places it in the next board
+     * @param next The board that receives the next generation (must have the same dimensions and planes)
+     * @param rule The rule of the game
+     * @return The number of births and deaths, packed (see packChanges)
+     */
+    public long step(BitBoard next, Rule rule){
+        return stepRows(next, 0, rows, rule);
+    }
+
+    /**
+     * Computes the next generation for a band of rows under any rule and places it in the next board. Conway's rule
+     * uses the same adders as stepRows(next, startRow, endRow). Other rules count the neighbors of 64 cells at once
+     * into four bit planes and pick out the counts of the rule, and the dying cells of a Generations rule are counted
+     * up with bitwise adders across the extra planes.
+     * @param next The board that receives the next generation (must have the same dimensions and planes)
+     * @param startRow The first row to compute (inclusive)
+     * @param endRow The last row to compute (exclusive)
+     * @param rule The rule of the game
+     * @return The number of births and deaths of live cells in the band, packed (see packChanges)
+     */
+    public long stepRows(BitBoard next, int startRow, int endRow, Rule rule){
+        if (planes == 1 && rule.isConway())
+            return stepRows(next, startRow, endRow);
+        if (words == null)
+            return new BitBoard(this).stepRows(next, startRow, endRow, rule);
+        refreshHalo();
+        long[] out = next.words;
+        long births = 0;
+        long deaths = 0;
+        long hash = 0;
+        int birthMask = rule.getBirthMask();
+        int survivalMask = rule.getSurvivalMask();
+        int planeWords = rows * wordsPerRow;
+        int hashOffset = next.hashOffset;
+        int hashPlaneWords = planeWords + next.hashPlaneGap;
+        /** Dying cells are counted from 1, and a cell is dead again once the count reaches states - 1 */
+        int deathCount = rule.getStates() - 1;
+        for (int row = startRow; row < endRow; row++){
+            int above = rowStart(row - 1);
+            int center = row * wordsPerRow;
+            int below = rowStart(row + 1);
+            for (int word = 0; word < wordsPerRow; word++){
+                int index = center + word;
+                long old = words[index];
+                long alive = nextWord(above, center, below, word, birthMask, survivalMask);
+                if (planes == 1){
+                    out[index] = alive;
+                    births += Long.bitCount(alive & ~old);
+                    deaths += Long.bitCount(old & ~alive);
+                    hash ^= hashChange(hashOffset + index, old, alive);
+                    continue;
+                }
+                long dying = 0;
+                for (int plane = 1; plane < planes; plane++)
+                    dying |= words[plane * planeWords + index];
+                /** Dying cells cannot be born into */
+                alive &= ~dying;
+                long carry = dying;
+                long atDeath = -1L;
+                for (int plane = 1; plane < planes; plane++){
+                    long bits = words[plane * planeWords + index];
+                    long counted = bits ^ carry;
+                    carry &= bits;
+                    out[plane * planeWords + index] = counted;
+                    atDeath &= (deathCount >>> (plane - 1) & 1) != 0 ? counted : ~counted;
+                }
+                /** A death count that does not fit in the planes is reached when the count overflows */
+                long dead = (deathCount >>> (planes - 1)) != 0 ? carry : atDeath & dying;
+                long startDying = words[index] & ~alive;
+                for (int plane = 1; plane < planes; plane++)
+                    out[plane * planeWords + index] &= ~dead;
+                out[planeWords + index] |= startDying;
+                out[index] = alive;
+                births += Long.bitCount(alive & ~old);
+                deaths += Long.bitCount(old & ~alive);
+                for (int plane = 0; plane < planes; plane++)
+                    hash ^= hashChange(hashOffset + plane * hashPlaneWords + index, words[plane * planeWords + index], out[plane * planeWords + index]);
+            }
+        }
+        next.mixStepHash(hash);
+        return packChanges(births, deaths);
+    }
+
+    /**
+     * Computes the next generation of a single word of the live cells under a rule without dying states
+     * @param row The row of the word
+     * @param word The index of the word within the row
+     * @param rule The rule of the game
+     * @return The packed cell data of the word in the next generation
+     */
+    public long nextWord(int row, int word, Rule rule){
+        if (rule.isConway())
+            return nextWord(row, word);
+        if (words == null)
+            return new BitBoard(this).nextWord(row, word, rule);
+        refreshHalo();
+        return nextWord(rowStart(row - 1), row * wordsPerRow, rowStart(row + 1), word, rule.getBirthMask(), rule.getSurvivalMask());
+    }
+
+    /**
+     * Computes the next generation of a single word of the board
+     * @param row The row of the word
+     * @param word The index of the word within the row
+     * @return The packed cell data of the word in the next generation
+     */
+    public long nextWord(int row, int word){
+        if (words == null)
+            return new BitBoard(this).nextWord(row, word);
+        refreshHalo();
+        return nextWord(rowStart(row - 1), row * wordsPerRow, rowStart(row + 1), word);
+    }
+
+    /**
+     * Computes the next generation of a single word by adding up the eight neighbors of all 64 cells at once
+     * @param above The index of the first word of the row above
+     * @param center The index of the first word of the row of the word
+     * @param below The index of the first word of the row below
+     * @param word The index of the word within the row
+     * @return The packed cell data of the word in the next generation
+     */
+    private long nextWord(int above, int center, int below, int word){
+        long a = words[above + word];
+        long aw = west(above, word);
+        long ae = east(above, word);
+        long c = words[center + word];
+        long cw = west(center, word);
+        long ce = east(center, word);
+        long b = words[below + word];
+        long bw = west(below, word);
+        long be = east(below, word);
+
+        long result = lifeWord(aw, a, ae, cw, c, ce, bw, b, be);
+        return word == wordsPerRow - 1 ? result & lastWordMask : result;
+    }
+
+    /**
+     * Computes the next generation of a single word of live cells under any birth and survival counts
+     * @param above The index of the first word of the row above
+     * @param center The index of the first word of the row of the word
+     * @param below The index of the first word of the row below
+     * @param word The index of the word within the row
+     * @param birthMask Bit n is set when a dead cell with n live neighbors comes to life
+     * @param survivalMask Bit n is set when a live cell with n live neighbors stays alive
+     * @return The packed cell data of the word in the next generation
+     */
+    private long nextWord(int above, int center, int below, int word, int birthMask, int survivalMask){
+        long result = ruleWord(west(above, word), words[above + word], east(above, word),
+                west(center, word), words[center + word], east(center, word),
+                west(below, word), words[below + word], east(below, word), birthMask, survivalMask);
+        return word == wordsPerRow - 1 ? result & lastWordMask : result;
+    }
+
+    /**
+     * Makes sure that the board is not a read-only view before its cells are changed
+     */
+    private void checkWritable(){
+        if (words == null)
+            throw new UnsupportedOperationException("The cells of a read-only board cannot be changed");
+    }
+
+    /**
+     * Applies the rules of the game to 64 cells at once. Each argument holds one of the neighbors (or the cell itself)
+     * for all 64 cells, and the eight neighbors are added up with bitwise full adders.
+     * @param aw The neighbors above and to the left
+     * @param a The neighbors above
+     * @param ae The neighbors above and to the right
+     * @param cw The neighbors to the left
+     * @param c The cells themselves
+     * @param ce The neighbors to the right
+     * @param bw The neighbors below and to the left
+     * @param b The neighbors below
+     * @param be The neighbors below and to the right
+     * @return The next state of the 64 cells
+     */
+    public static long lifeWord(long aw, long a, long ae, long cw, long c, long ce, long bw, long b, long be){
+        /** Add up the three rows separately (row above and below: 0-3, own row: 0-2) */
+        long a0 = aw ^ a ^ ae;
+        long a1 = (aw & a) | (ae & (aw ^ a));
+        long c0 = cw ^ ce;
+        long c1 = cw & ce;
+        long b0 = bw ^ b ^ be;
+        long b1 = (bw & b) | (be & (bw ^ b));
+
+        /** Combine the row sums into a three bit count (a count of 8 wraps to 0, which is still dead) */
+        long s0 = a0 ^ c0 ^ b0;
+        long carry = (a0 & c0) | (b0 & (a0 ^ c0));
+        long u = a1 ^ c1;
+        long v = b1 ^ carry;
+        long s1 = u ^ v;
+        long s2 = (a1 & c1) ^ (b1 & carry) ^ (u & v);
+
+        /** Alive with 3 neighbors, or with 2 neighbors when the cell was already alive */
+        return s1 & ~s2 & (s0 | c);
+    }
+
+    /**
+     * Applies any compiled rule to 64 cells at once. The eight neighbors are added up into a four bit count (0 to 8)
+     * with bitwise full adders, and the count then selects the outcome of the rule through a tree of bitwise
+     * multiplexers whose leaves are all ones or all zeros depending on the rule. The same fixed sequence of operations
+     * is run for every rule without any branches, and the leaves only depend on the rule, so they are computed once
+     * per loop instead of once per word.
+     * @param aw The neighbors above and to the left
+     * @param a The neighbors above
+     * @param ae The neighbors above and to the right
+     * @param cw The neighbors to the left
+     * @param c The cells themselves
+     * @param ce The neighbors to the right
+     * @param bw The neighbors below and to the left
+     * @param b The neighbors below
+     * @param be The neighbors below and to the right
+     * @param birthMask Bit n is set when a dead cell with n live neighbors comes to life
+     * @param survivalMask Bit n is set when a live cell with n live neighbors stays alive
+     * @return The next state of the 64 cells
+     */
+    public static long ruleWord(long aw, long a, long ae, long cw, long c, long ce, long bw, long b, long be, int birthMask, int survivalMask){
+        long a0 = aw ^ a ^ ae;
+        long a1 = (aw & a) | (ae & (aw ^ a));
+        long c0 = cw ^ ce;
+        long c1 = cw & ce;
+        long b0 = bw ^ b ^ be;
+        long b1 = (bw & b) | (be & (bw ^ b));
+
+        long s0 = a0 ^ c0 ^ b0;
+        long carry = (a0 & c0) | (b0 & (a0 ^ c0));
+        long u = a1 ^ c1;
+        long v = b1 ^ carry;
+        long s1 = u ^ v;
+        long s2 = (a1 & c1) ^ (b1 & carry) ^ (u & v);
+        /** Only a count of 8 carries into the fourth bit (and then the other three bits are 0) */
+        long s3 = a1 & c1 & b1 & carry;
+
+        /** The cell itself picks the birth or the survival outcome of every count */
+        long n0 = select(c, -(long) (birthMask & 1), -(long) (survivalMask & 1));
+        long n1 = select(c, -(long) (birthMask >>> 1 & 1), -(long) (survivalMask >>> 1 & 1));
+        long n2 = select(c, -(long) (birthMask >>> 2 & 1), -(long) (survivalMask >>> 2 & 1));
+        long n3 = select(c, -(long) (birthMask >>> 3 & 1), -(long) (survivalMask >>> 3 & 1));
+        long n4 = select(c, -(long) (birthMask >>> 4 & 1), -(long) (survivalMask >>> 4 & 1));
+        long n5 = select(c, -(long) (birthMask >>> 5 & 1), -(long) (survivalMask >>> 5 & 1));
+        long n6 = select(c, -(long) (birthMask >>> 6 & 1), -(long) (survivalMask >>> 6 & 1));
+        long n7 = select(c, -(long) (birthMask >>> 7 & 1), -(long) (survivalMask >>> 7 & 1));
+        long n8 = select(c, -(long) (birthMask >>> 8 & 1), -(long) (survivalMask >>> 8 & 1));
+
+        long low = select(s1, select(s0, n0, n1), select(s0, n2, n3));
+        long high = select(s1, select(s0, n4, n5), select(s0, n6, n7));
+        return select(s3, select(s2, low, high), n8);
+    }
+
+    /**
+     * Picks between two words bit by bit
+     * @param selector The bits that choose between the words
+     * @param whenClear The bits that are picked where the selector is 0
+     * @param whenSet The bits that are picked where the selector is 1
+     * @return The picked bits
+     */
+    private static long select(long selector, long whenClear, long whenSet){
+        return whenClear ^ ((whenClear ^ whenSet) & selector);
+    }
+
+    /**
+     * Returns a word of a row where every bit holds the cell to the left (the column before it), wrapping around
+     * from the first column to the last column if the topology joins them
+     * @param rowStart The index of the first word of the row
+     * @param word The index of the word within the row
+     * @return The shifted word
+     */
+    private long west(int rowStart, int word){
+        long shifted = words[rowStart + word] << 1;
+        if (word > 0)
+            shifted |= words[rowStart + word - 1] >>> 63;
+        else
+            shifted |= (words[rowStart + wordsPerRow - 1] >>> lastColBit) & columnWrap;
+        return shifted;
+    }
+
+    /**
+     * Returns a word of a row where every bit holds the cell to the right (the column after it), wrapping around
+     * from the last column to the first column if the topology joins them
+     * @param rowStart The index of the first word of the row
+     * @param word The index of the word within the row
+     * @return The shifted word
+     */
+    private long east(int rowStart, int word){
+        long shifted = words[rowStart + word] >>> 1;
+        if (word < wordsPerRow - 1)
+            shifted |= words[rowStart + word + 1] << 63;
+        else
+            shifted |= (words[rowStart] & columnWrap) << lastColBit;
+        return shifted;
+    }
+
+}
@@ -0,0 +1,111 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+/**
+ * Keeps the age of every cell: the number of ticks in a row that the cell has been alive for, up to the tick before.
+ * Ages are stored bit-sliced in a BitBoard with PLANES planes (plane p holds bit p of the age of every cell), so the
+ * ages of the next tick are computed 64 cells at a time with a ripple-carry increment instead of looking back through
+ * the history. Ages stop growing at MAX_AGE, which is already the darkest shade in the grid.
+ * The ages of a tick only depend on the ages and the board of the tick before, so ParallelStepper computes them band by
+ * band right after the band of the next generation (see advanceRows), while the words of the band are still cached.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class CellAges {
+
+    /** The largest age that is kept (older cells stay at this age) */
+    public static final int MAX_AGE = 8;
+    /** The number of bit planes that are needed to store an age up to MAX_AGE */
+    public static final int PLANES = 4;
+
+    /**
+     * Computes the ages of the next tick. Cells that are alive on the board get one tick older (up to MAX_AGE) and every
+     * other cell goes back to 0.
+     * @param ages The ages of the current tick (null if every age is 0)
+     * @param board The board of the current tick
+     * @return The ages of the next tick
+     */
+    public static BitBoard advance(BitBoard ages, BitBoard board){
+        return advance(ages, board, new BitBoard(board.getNumRows(), board.getNumCols(), PLANES));
+    }
+
+    /**
+     * Computes the ages of the next tick into a board that already exists, such as the ages of a tick that is no
+     * longer kept. Every word of the board is overwritten.
+     * @param ages The ages of the current tick (null if every age is 0, and never the same board as next)
+     * @param board The board of the current tick
+     * @param next The board that receives the ages of the next tick (with PLANES planes and the dimensions of board)
+     * @return The ages of the next tick (next itself)
+     */
+    public static BitBoard advance(BitBoard ages, BitBoard board, BitBoard next){
+        advanceRows(ages, board, next, 0, board.getNumRows());
+        return next;
+    }
+
+    /**
+     * Computes the ages of the next tick for a band of rows. Only the band of next is written, so separate bands can
+     * safely be computed at the same time.
+     * @param ages The ages of the current tick (null if every age is 0, and never the same board as next)
+     * @param board The board of the current tick
+     * @param next The board that receives the ages of the next tick (with PLANES planes and the dimensions of board)
+     * @param startRow The first row to compute (inclusive)
+     * @param endRow The last row to compute (exclusive)
+     */
+    public static void advanceRows(BitBoard ages, BitBoard board, BitBoard next, int startRow, int endRow){
+        int rows = board.getNumRows();
+        int cols = board.getNumCols();
+        int wordsPerRow = board.getWordsPerRow();
+        int planeWords = rows * wordsPerRow;
+        /** Ages that were kept for a board of other dimensions do not belong to this board */
+        boolean fresh = ages == null || ages.getNumRows() != rows || ages.getNumCols() != cols;
+        /** The ages are written straight into the array, since the words of other bands may be written at the same time */
+        next.invalidateHalo();
+        long[] out = next.getWords();
+        for (int index = startRow * wordsPerRow; index < endRow * wordsPerRow; index++){
+            long alive = board.getWordAt(index);
+            if (alive == 0){
+                for (int plane = 0; plane < PLANES; plane++)
+                    out[plane * planeWords + index] = 0L;
+                continue;
+            }
+            long bit0 = fresh ? 0 : ages.getWordAt(index);
+            long bit1 = fresh ? 0 : ages.getWordAt(planeWords + index);
+            long bit2 = fresh ? 0 : ages.getWordAt(2 * planeWords + index);
+            long bit3 = fresh ? 0 : ages.getWordAt(3 * planeWords + index);
+            /** MAX_AGE is the only age with bit 3 set, so those cells do not take the increment */
+            long carry = alive & ~bit3;
+            long next0 = bit0 ^ carry;
+            carry &= bit0;
+            long next1 = bit1 ^ carry;
+            carry &= bit1;
+            long next2 = bit2 ^ carry;
+            carry &= bit2;
+            long next3 = bit3 ^ carry;
+            out[index] = next0 & alive;
+            out[planeWords + index] = next1 & alive;
+            out[2 * planeWords + index] = next2 & alive;
+            out[3 * planeWords + index] = next3 & alive;
+        }
+    }
+
+    /**
+     * Returns the age of a single cell
+     * @param ages The ages of a tick (null if every age is 0)
+     * @param row The row of the cell
+     * @param col The column of the cell
+     * @return The number of ticks in a row that the cell has been alive for (up to MAX_AGE)
+     */
+    public static int get(BitBoard ages, int row, int col){
+        if (ages == null || row >= ages.getNumRows() || col >= ages.getNumCols())
+            return 0;
+        int planeWords = ages.getNumRows() * ages.getWordsPerRow();
+        int index = row * ages.getWordsPerRow() + (col >>> 6);
+        int age = 0;
+        for (int plane = 0; plane < PLANES; plane++){
+            age |= (int) (ages.getWordAt(plane * planeWords + index) >>> col & 1) << plane;
+        }
+        return age;
+    }
+
+}
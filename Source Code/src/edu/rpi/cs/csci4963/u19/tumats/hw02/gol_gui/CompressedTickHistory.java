@@ -0,0 +1,272 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Set;
+
+/**
+ * Stores the board of every tick in a compressed form. A full copy of the board (a keyframe) is kept every few ticks,
+ * and every other tick only keeps the words of the board that changed since the tick before it (XOR deltas). Boards
+ * are rebuilt from the closest keyframe when they are requested. The board of the latest tick is always kept as it
+ * was added, so stepping from it never needs a rebuild.
+ * Boards must not be changed after they are added, with the exception of keyframes (such as tick 0) which are stored
+ * as they are.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class CompressedTickHistory implements TickHistory {
+
+    /** The number of ticks between two keyframes */
+    private final int keyframeInterval;
+    /** The stored frame for every tick */
+    private HashMap<Integer, Frame> frames = new HashMap<>();
+    /** The tick that was added last */
+    private int latestTick = -1;
+    /** The board that was added last (exactly as it was added) */
+    private BitBoard latestBoard;
+    /** The tick that was rebuilt last */
+    private int cachedTick = -1;
+    /** The board that was rebuilt last */
+    private BitBoard cachedBoard;
+
+    /**
+     * Constructor for the CompressedTickHistory class
+     * @param keyframeInterval The number of ticks between two keyframes (1 stores every board in full)
+     */
+    public CompressedTickHistory(int keyframeInterval){
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+    }
+
+    /**
+     * Returns the number of ticks between two keyframes
+     * @return The keyframe interval
+     */
+    public int getKeyframeInterval(){
+        return keyframeInterval;
+    }
+
+    /**
+     * Stores the board of a tick. The board is stored as a delta when the tick before it is stored, the tick is not
+     * due for a keyframe and the delta is smaller than the board itself.
+     * @param tick The tick of the board
+     * @param board The board of the tick
+     */
+    @Override
+    public void put(int tick, BitBoard board){
+        Frame frame = null;
+        if (tick % keyframeInterval != 0 && frames.containsKey(tick - 1)){
+            BitBoard previous = get(tick - 1);
+            if (previous.getNumRows() == board.getNumRows() && previous.getNumCols() == board.getNumCols() && previous.getPlaneCount() == board.getPlaneCount())
+                frame = createDelta(tick - 1, previous, board);
+        }
+        if (frame == null)
+            frame = new Frame(board);
+        frames.put(tick, frame);
+        latestTick = tick;
+        latestBoard = board;
+        if (cachedTick == tick)
+            cachedTick = -1;
+    }
+
+    /**
+     * Returns the board of a tick, rebuilding it from the closest keyframe when needed
+     * @param tick The tick of the board
+     * @return The board of the tick, or null if the tick is not stored
+     */
+    @Override
+    public BitBoard get(int tick){
+        if (tick == latestTick)
+            return latestBoard;
+        if (tick == cachedTick)
+            return cachedBoard;
+        Frame frame = frames.get(tick);
+        if (frame == null)
+            return null;
+        if (frame.keyframe != null)
+            return frame.keyframe;
+        /** Walk back to a board that is available (a keyframe or a cached board), then replay the deltas forward */
+        ArrayList<Frame> deltas = new ArrayList<>();
+        BitBoard start = null;
+        int current = tick;
+        while (start == null){
+            Frame currentFrame = frames.get(current);
+            if (current == latestTick)
+                start = latestBoard;
+            else if (current == cachedTick)
+                start = cachedBoard;
+            else if (currentFrame.keyframe != null)
+                start = currentFrame.keyframe;
+            else {
+                deltas.add(currentFrame);
+                current = currentFrame.baseTick;
+            }
+        }
+        BitBoard board = new BitBoard(start);
+        for (int i = deltas.size() - 1; i >= 0; i--){
+            Frame delta = deltas.get(i);
+            for (int j = 0; j < delta.indices.length; j++){
+                int index = delta.indices[j];
+                board.setWordAt(index, board.getWordAt(index) ^ delta.changes[j]);
+            }
+        }
+        cachedTick = tick;
+        cachedBoard = board;
+        return board;
+    }
+
+    /**
+     * Checks whether the board of a tick is stored
+     * @param tick The tick
+     * @return True if the tick is stored and False otherwise
+     */
+    @Override
+    public boolean containsKey(int tick){
+        return frames.containsKey(tick);
+    }
+
+    /**
+     * Returns the number of ticks that are stored
+     * @return The number of ticks
+     */
+    @Override
+    public int size(){
+        return frames.size();
+    }
+
+    /**
+     * Returns all of the ticks that are stored
+     * @return The stored ticks
+     */
+    @Override
+    public Set<Integer> ticks(){
+        return frames.keySet();
+    }
+
+    /**
+     * Removes every tick after a given tick
+     * @param tick The last tick that is kept
+     */
+    @Override
+    public void removeAfter(int tick){
+        /** Deltas only refer to earlier ticks, so removing later ticks never breaks the ticks that are kept */
+        frames.keySet().removeIf(stored -> stored > tick);
+        if (latestTick > tick){
+            latestTick = -1;
+            latestBoard = null;
+        }
+        if (cachedTick > tick){
+            cachedTick = -1;
+            cachedBoard = null;
+        }
+    }
+
+    /**
+     * Removes every tick
+     */
+    @Override
+    public void clear(){
+        frames.clear();
+        latestTick = -1;
+        latestBoard = null;
+        cachedTick = -1;
+        cachedBoard = null;
+    }
+
+    /**
+     * Estimates the number of bytes that are used by the stored boards and deltas
+     * @return The estimated size in bytes
+     */
+    @Override
+    public long estimateBytes(){
+        long bytes = 0;
+        for (Frame frame : frames.values()){
+            if (frame.keyframe != null)
+                bytes += (long) frame.keyframe.getWordCount() * 8;
+            else
+                bytes += frame.indices.length * 12L;
+        }
+        return bytes;
+    }
+
+    /**
+     * Creates a delta frame holding the words that changed between two boards
+     * @param baseTick The tick of the earlier board
+     * @param previous The earlier board
+     * @param board The later board
+     * @return The delta frame, or null if storing the board in full would take less memory
+     */
+    private Frame createDelta(int baseTick, BitBoard previous, BitBoard board){
+        int totalWords = board.getWordCount();
+        /** A delta word takes 12 bytes (index and value), a full word takes 8 */
+        int limit = totalWords * 2 / 3;
+        int[] indices = new int[Math.min(64, limit)];
+        long[] changes = new long[indices.length];
+        int count = 0;
+        for (int index = 0; index < totalWords; index++){
+            long change = previous.getWordAt(index) ^ board.getWordAt(index);
+            if (change == 0)
+                continue;
+            if (count == limit)
+                return null;
+            if (count == indices.length){
+                int size = Math.min(indices.length * 2, limit);
+                int[] largerIndices = new int[size];
+                long[] largerChanges = new long[size];
+                System.arraycopy(indices, 0, largerIndices, 0, count);
+                System.arraycopy(changes, 0, largerChanges, 0, count);
+                indices = largerIndices;
+                changes = largerChanges;
+            }
+            indices[count] = index;
+            changes[count] = change;
+            count++;
+        }
+        int[] finalIndices = new int[count];
+        long[] finalChanges = new long[count];
+        System.arraycopy(indices, 0, finalIndices, 0, count);
+        System.arraycopy(changes, 0, finalChanges, 0, count);
+        return new Frame(baseTick, finalIndices, finalChanges);
+    }
+
+    /**
+     * The stored data for a single tick: either a full board (keyframe) or the words that changed since the tick before
+     */
+    private static class Frame {
+
+        /** The full board (null for a delta frame) */
+        final BitBoard keyframe;
+        /** The tick that the delta is relative to */
+        final int baseTick;
+        /** The indexes (row * wordsPerRow + word) of the words that changed */
+        final int[] indices;
+        /** The XOR of the old and new value of every changed word */
+        final long[] changes;
+
+        /**
+         * Constructor for a keyframe
+         * @param keyframe The full board
+         */
+        Frame(BitBoard keyframe){
+            this.keyframe = keyframe;
+            this.baseTick = -1;
+            this.indices = null;
+            this.changes = null;
+        }
+
+        /**
+         * Constructor for a delta frame
+         * @param baseTick The tick that the delta is relative to
+         * @param indices The indexes of the words that changed
+         * @param changes The XOR of the old and new value of every changed word
+         */
+        Frame(int baseTick, int[] indices, long[] changes){
+            this.keyframe = null;
+            this.baseTick = baseTick;
+            this.indices = indices;
+            this.changes = changes;
+        }
+    }
+
+}
@@ -2,6 +2,7 @@ package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
 
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
 import java.io.*;
@@ -53,6 +54,7 @@ public class ConfigHandler {
             tempFile.delete();
         StringBuilder sb = new StringBuilder();
         sb.append(folderPattern).append('\n').append(filePattern).append('\n').append(maxNumTicks).append('\n').append(rows).append('\n').append(cols).append('\n');
+        EngineSettings.append(sb);
         try {
             BufferedWriter bw = new BufferedWriter(new FileWriter("config.txt"));
             bw.write(sb.toString());
@@ -113,6 +115,10 @@ public class ConfigHandler {
             ConfigHandler.maxTicks = Integer.parseInt(configData[2]);
             ConfigHandler.defaultRows = Integer.parseInt(configData[3]);
             ConfigHandler.defaultCols = Integer.parseInt(configData[4]);
+            String line;
+            while ((line = br.readLine()) != null){
+                EngineSettings.read(line);
+            }
             validateConfig(configData);
         }
         catch (IOException ex){
@@ -130,10 +136,12 @@ public class ConfigHandler {
      * @param inputMaxNumTicks The max ticks that is in the configuration file
      * @param inputUserRows The number of rows that are in the configuration file
      * @param inputUserCols The number of columns that are in the configuration file
+     * @param inputHistoryBackend The history storage that is in the configuration file
+     * @param inputTopology The topology that is in the configuration file
      * @return true if there was a detected change and false otherwise
      */
-    public boolean detectConfigChange(TextField inputOutputFolderPattern, TextField inputOutputFilePattern, TextField inputMaxNumTicks, TextField inputUserRows, TextField inputUserCols){
-        return (!inputOutputFolderPattern.getText().equals(folderPattern) || !inputOutputFilePattern.getText().equals(filePattern) || !(Integer.parseInt(inputMaxNumTicks.getText()) == maxTicks) || !(Integer.parseInt(inputUserRows.getText()) == defaultRows) || !(Integer.parseInt(inputUserCols.getText()) == defaultCols));
+    public boolean detectConfigChange(TextField inputOutputFolderPattern, TextField inputOutputFilePattern, TextField inputMaxNumTicks, TextField inputUserRows, TextField inputUserCols, ChoiceBox<String> inputHistoryBackend, ChoiceBox<String> inputTopology){
+        return (!inputOutputFolderPattern.getText().equals(folderPattern) || !inputOutputFilePattern.getText().equals(filePattern) || !(Integer.parseInt(inputMaxNumTicks.getText()) == maxTicks) || !(Integer.parseInt(inputUserRows.getText()) == defaultRows) || !(Integer.parseInt(inputUserCols.getText()) == defaultCols) || !inputHistoryBackend.getValue().equals(EngineSettings.historyBackend) || !inputTopology.getValue().equals(EngineSettings.topology));
     }
 
     /**
@@ -143,8 +151,12 @@ public class ConfigHandler {
      * @param maxTicks The max ticks that is in the configuration file
      * @param userRows The number of rows that are in the configuration file
      * @param userCols The number of columns that are in the configuration file
+     * @param historyBackend The history storage that is in the configuration file
+     * @param topology The topology that is in the configuration file
      */
-    public void updateConfigChange(TextField folderPattern, TextField filePattern, TextField maxTicks, TextField userRows, TextField userCols){
+    public void updateConfigChange(TextField folderPattern, TextField filePattern, TextField maxTicks, TextField userRows, TextField userCols, ChoiceBox<String> historyBackend, ChoiceBox<String> topology){
+        EngineSettings.historyBackend = historyBackend.getValue();
+        EngineSettings.topology = topology.getValue();
         writeConfigFile(folderPattern.getText(), filePattern.getText(), Integer.parseInt(maxTicks.getText()), Integer.parseInt(userRows.getText()), Integer.parseInt(userCols.getText()));
         boolean dimensionChange = false;
         if (defaultRows != Integer.parseInt(userRows.getText()) || defaultCols != Integer.parseInt(userCols.getText()))
@@ -159,13 +171,15 @@ public class ConfigHandler {
 
     /**
      * Generates the Configuration Panel where the user is able to change various aspects of the program (number of rows/columns,
-     * maximum number of ticks, folder pattern, and file pattern)
+     * maximum number of ticks, history storage, topology, folder pattern, and file pattern)
      */
     public void generateConfigDialog(){
         GridPane gridPane = new GridPane();
         Label userOutputFolderPattern = new Label("Output Folder Pattern: ");
         Label userOutputFilePattern = new Label("Output File Pattern: ");
         Label userMaxNumTicks = new Label("Maximum Number of Ticks: ");
+        Label userHistoryBackend = new Label("History Storage: ");
+        Label userTopology = new Label("Topology: ");
         Label userRows = new Label("Number of Rows: ");
         Label userCols = new Label("Number of Columns: ");
         TextField inputOutputFolderPattern = new TextField(folderPattern);
@@ -179,6 +193,10 @@ public class ConfigHandler {
                 }
             }
         });
+        ChoiceBox<String> inputHistoryBackend = new ChoiceBox<>(FXCollections.observableArrayList("compressed", "mapped", "live"));
+        inputHistoryBackend.setValue(EngineSettings.historyBackend);
+        ChoiceBox<String> inputTopology = new ChoiceBox<>(FXCollections.observableArrayList("torus", "bounded", "cylinder", "klein"));
+        inputTopology.setValue(EngineSettings.topology);
         TextField inputUserRows = new TextField(Integer.toString(defaultRows));
         inputUserRows.textProperty().addListener(new ChangeListener<String>() {
             @Override
@@ -200,20 +218,24 @@ public class ConfigHandler {
         gridPane.add(userRows, 0, 0);
         gridPane.add(userCols, 0, 1);
         gridPane.add(userMaxNumTicks, 0, 2);
-        gridPane.add(userOutputFilePattern, 0 ,3);
-        gridPane.add(userOutputFolderPattern, 0, 4);
+        gridPane.add(userHistoryBackend, 0, 3);
+        gridPane.add(userTopology, 0, 4);
+        gridPane.add(userOutputFilePattern, 0 ,5);
+        gridPane.add(userOutputFolderPattern, 0, 6);
         gridPane.add(inputUserRows, 1, 0);
         gridPane.add(inputUserCols, 1, 1);
         gridPane.add(inputMaxNumTicks, 1, 2);
-        gridPane.add(inputOutputFilePattern, 1,3);
-        gridPane.add(inputOutputFolderPattern, 1, 4);
+        gridPane.add(inputHistoryBackend, 1, 3);
+        gridPane.add(inputTopology, 1, 4);
+        gridPane.add(inputOutputFilePattern, 1,5);
+        gridPane.add(inputOutputFolderPattern, 1, 6);
         Dialog<String[]> dialog = new Dialog<>();
         dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
         dialog.setTitle("Configuration Panel");
         dialog.getDialogPane().setContent(gridPane);
         dialog.showAndWait();
-        if (detectConfigChange(inputOutputFolderPattern, inputOutputFilePattern, inputMaxNumTicks, inputUserRows, inputUserCols)){
-            updateConfigChange(inputOutputFolderPattern, inputOutputFilePattern, inputMaxNumTicks, inputUserRows, inputUserCols);
+        if (detectConfigChange(inputOutputFolderPattern, inputOutputFilePattern, inputMaxNumTicks, inputUserRows, inputUserCols, inputHistoryBackend, inputTopology)){
+            updateConfigChange(inputOutputFolderPattern, inputOutputFilePattern, inputMaxNumTicks, inputUserRows, inputUserCols, inputHistoryBackend, inputTopology);
         }
     }
 }
@@ -0,0 +1,234 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+/**
+ * Detects when a run of consecutive ticks has died out, settled into a still life or started repeating. Every board is
+ * reduced to a 64-bit Zobrist hash (the XOR of a random-looking value for every word of cells and its position, see
+ * BitBoard.hashWord), which only has to be updated for the words that changed since the previous tick. The steppers
+ * collect those updates while they write the words of a generation (see BitBoard.getStepHash), so following a run
+ * costs nothing per tick; only the first board of a run and boards that were not computed by a stepper are hashed or
+ * compared word by word. The hashes of the last maxPeriod ticks are kept in a small ring, so a repeated board is found
+ * without storing or comparing whole boards.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class CycleDetector {
+
+    /** The longest period that is detected */
+    private final int maxPeriod;
+    /** The hashes of the most recent ticks (a ring indexed by tick % maxPeriod) */
+    private final long[] hashes;
+    /** The tick that every entry of hashes belongs to (-1 if the entry is unused) */
+    private final int[] ticks;
+    /** The last tick that was recorded (-1 if no tick has been recorded) */
+    private int lastTick = -1;
+    /** The board of the last tick that was recorded */
+    private BitBoard lastBoard;
+    /** The hash of the last tick that was recorded */
+    private long lastHash;
+    /** The tick at which a repeated board was first detected (-1 if none has been detected) */
+    private int detectedTick = -1;
+    /** The period of the repeated board (0 if none has been detected) */
+    private int period;
+    /** Whether every cell was dead when the repeated board was detected */
+    private boolean extinct;
+
+    /**
+     * Constructor for the CycleDetector class
+     * @param maxPeriod The longest period that is detected (1 only detects extinction and still lifes)
+     */
+    public CycleDetector(int maxPeriod){
+        this.maxPeriod = Math.max(1, maxPeriod);
+        this.hashes = new long[this.maxPeriod];
+        this.ticks = new int[this.maxPeriod];
+        reset();
+    }
+
+    /**
+     * Returns the longest period that is detected
+     * @return The longest period
+     */
+    public int getMaxPeriod(){
+        return maxPeriod;
+    }
+
+    /**
+     * Records the board of a tick and checks whether it repeats a board of one of the last maxPeriod ticks. Ticks must
+     * be recorded in order; a tick that does not directly follow the last recorded tick starts a new run (recording the
+     * last tick again with the same board has no effect). A board that a stepper computed must have been computed from
+     * the board of the previous tick, so that its hash changes apply to the last hash.
+     * @param tick The tick of the board
+     * @param board The board of the tick
+     * @param history The stored boards, used to rule out hash collisions (may be null)
+     * @return The period of the repeated board, or 0 if the board has not been seen in the last maxPeriod ticks
+     */
+    public int record(int tick, BitBoard board, TickHistory history){
+        if (tick == lastTick && board == lastBoard)
+            return period;
+        if (tick != lastTick + 1 || lastBoard == null || !sameShape(lastBoard, board)){
+            reset();
+            lastHash = hash(board);
+        }
+        else if (board.hasStepHash())
+            lastHash ^= board.getStepHash();
+        else
+            lastHash = updateHash(lastHash, lastBoard, board);
+        lastTick = tick;
+        lastBoard = board;
+        return check(tick, board, -1, history);
+    }
+
+    /**
+     * Records a tick whose board is not at hand, because the worker processes computed it (see SlabCoordinator), from
+     * how the hash of the board changed in its generation. The tick must directly follow the last recorded tick;
+     * otherwise nothing is recorded and detection starts over with the next tick that is recorded with its board. The
+     * board cannot be compared cell by cell, so a matching hash counts as a repeat.
+     * @param tick The tick
+     * @param hashChange How the hash changed from the board of the previous tick (see BitBoard.hashChange)
+     * @param population The number of alive cells at the tick
+     * @return The period of the repeated board, or 0 if the board has not been seen in the last maxPeriod ticks
+     */
+    public int record(int tick, long hashChange, int population){
+        if (tick == lastTick)
+            return period;
+        if (lastTick < 0 || tick != lastTick + 1){
+            reset();
+            return period;
+        }
+        lastHash ^= hashChange;
+        lastTick = tick;
+        lastBoard = null;
+        return check(tick, null, population, null);
+    }
+
+    /**
+     * Checks whether the hash of the last recorded tick repeats the hash of one of the last maxPeriod ticks, and keeps
+     * the hash in the ring
+     * @param tick The tick
+     * @param board The board of the tick (null if it is not at hand)
+     * @param population The number of alive cells at the tick (-1 to count them on the board, only when they matter)
+     * @param history The stored boards, used to rule out hash collisions (may be null)
+     * @return The period of the repeated board, or 0 if the board has not been seen in the last maxPeriod ticks
+     */
+    private int check(int tick, BitBoard board, int population, TickHistory history){
+        if (detectedTick >= 0)
+            return period;
+        /** An empty board stays empty, so extinction does not have to wait for the board to repeat */
+        if (lastHash == 0 && (population < 0 ? board.population() : population) == 0){
+            detectedTick = tick;
+            period = 1;
+            extinct = true;
+            return period;
+        }
+        /** The most recent matching tick gives the shortest period */
+        for (int i = 0; i < maxPeriod; i++){
+            if (ticks[i] < 0 || hashes[i] != lastHash || (period > 0 && tick - ticks[i] >= period))
+                continue;
+            BitBoard earlier = history == null ? null : history.get(ticks[i]);
+            if (earlier == null || sameCells(earlier, board)){
+                detectedTick = tick;
+                period = tick - ticks[i];
+                extinct = (population < 0 ? board.population() : population) == 0;
+            }
+        }
+        int slot = tick % maxPeriod;
+        hashes[slot] = lastHash;
+        ticks[slot] = tick;
+        return period;
+    }
+
+    /**
+     * Returns the period of the repeated board that was detected
+     * @return The period, or 0 if no repeated board has been detected
+     */
+    public int getPeriod(){
+        return period;
+    }
+
+    /**
+     * Returns the tick at which the repeated board was detected
+     * @return The tick, or -1 if no repeated board has been detected
+     */
+    public int getDetectedTick(){
+        return detectedTick;
+    }
+
+    /**
+     * Checks whether every cell was dead when the repeated board was detected
+     * @return True if the board died out and False otherwise
+     */
+    public boolean isExtinct(){
+        return extinct;
+    }
+
+    /**
+     * Forgets every recorded tick, so that the next recorded tick starts a new run
+     */
+    public void reset(){
+        for (int i = 0; i < maxPeriod; i++)
+            ticks[i] = -1;
+        lastTick = -1;
+        lastBoard = null;
+        detectedTick = -1;
+        period = 0;
+        extinct = false;
+    }
+
+    /**
+     * Computes the Zobrist hash of a whole board
+     * @param board The board that is hashed
+     * @return The hash of the board
+     */
+    public static long hash(BitBoard board){
+        long hash = 0;
+        for (int index = 0; index < board.getWordCount(); index++){
+            hash ^= BitBoard.hashWord(index, board.getWordAt(index));
+        }
+        return hash;
+    }
+
+    /**
+     * Updates the Zobrist hash of a board to the hash of the next board by only replacing the words that changed. Every
+     * word is compared, so this is only used for boards that do not know their hash changes.
+     * @param hash The hash of the previous board
+     * @param previous The previous board
+     * @param board The next board (with the same dimensions and planes as the previous board)
+     * @return The hash of the next board
+     */
+    private static long updateHash(long hash, BitBoard previous, BitBoard board){
+        for (int index = 0; index < board.getWordCount(); index++){
+            long oldWord = previous.getWordAt(index);
+            long newWord = board.getWordAt(index);
+            hash ^= BitBoard.hashChange(index, oldWord, newWord);
+        }
+        return hash;
+    }
+
+    /**
+     * Checks whether two boards have the same dimensions and number of planes
+     * @param first The first board
+     * @param second The second board
+     * @return True if the boards have the same shape and False otherwise
+     */
+    private static boolean sameShape(BitBoard first, BitBoard second){
+        return first.getNumRows() == second.getNumRows() && first.getNumCols() == second.getNumCols() && first.getPlaneCount() == second.getPlaneCount();
+    }
+
+    /**
+     * Checks whether two boards hold exactly the same cells (including the dying cells of every plane)
+     * @param first The first board
+     * @param second The second board
+     * @return True if every cell matches and False otherwise
+     */
+    static boolean sameCells(BitBoard first, BitBoard second){
+        if (!sameShape(first, second))
+            return false;
+        for (int index = 0; index < first.getWordCount(); index++){
+            if (first.getWordAt(index) != second.getWordAt(index))
+                return false;
+        }
+        return true;
+    }
+
+}
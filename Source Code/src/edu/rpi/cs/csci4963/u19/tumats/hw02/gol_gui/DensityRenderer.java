@@ -0,0 +1,310 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+/**
+ * Renders the grid while it is zoomed out below one pixel per cell, on a background thread. Every pixel of the view
+ * covers a square block of cells and is colored after the share of the block that is alive: an empty block is dead, a
+ * block with a single alive cell already has the color of an alive cell and fuller blocks get darker. Counting the
+ * cells of a whole board takes longer than a display refresh on large boards, so the thread copies the board that is
+ * handed to it before it renders, and the JavaFX Application Thread only draws the finished pixels (see GridView). The
+ * board that is handed over must not change until the thread has copied it (see isReleased and awaitRelease).
+ * The thread renders one board at a time. A board is only taken while the thread is idle, which means that it is not
+ * rendering and its last frame has been taken, so the frame is never written while it is being drawn.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class DensityRenderer implements Runnable {
+
+    /** The index in the palette of the color of pixels that lie outside of the board */
+    public static final int OUTSIDE = 0;
+    /** The index in the palette of the color of blocks without alive cells */
+    public static final int EMPTY = 1;
+    /** The number of colors for blocks with alive cells, which follow EMPTY in the palette from sparse to full */
+    public static final int LEVELS = 256;
+
+    /** Called on the render thread whenever a frame is finished */
+    private final Runnable listener;
+    /** The colors of the pixels (OUTSIDE, EMPTY and then LEVELS colors from sparse to full, packed as ARGB) */
+    private final int[] palette;
+    /** The frame that the thread renders into */
+    private final Frame frame = new Frame();
+    /** The board that was handed to the thread and has not been copied yet (null once it is copied) */
+    private BitBoard source;
+    /** The copy of the board that is rendered (only used by the render thread) */
+    private BitBoard board;
+    /** The offset in pixels of the left edge of the view from the left edge of the board */
+    private double originX;
+    /** The offset in pixels of the top edge of the view from the top edge of the board */
+    private double originY;
+    /** The size of a cell in pixels (1 / 2^k, so that every pixel covers 2^k by 2^k cells) */
+    private double cellSize;
+    /** The width of the view in pixels */
+    private int width;
+    /** The height of the view in pixels */
+    private int height;
+    /** Whether a board has been handed to the thread and is not rendered yet */
+    private boolean pending = false;
+    /** Whether the thread is rendering */
+    private boolean rendering = false;
+    /** Whether the last frame is finished but has not been taken yet */
+    private boolean untaken = false;
+    /** Whether the thread has been asked to end */
+    private boolean shutdown = false;
+    /** The render thread (created when the first board is handed to it) */
+    private Thread thread;
+
+    /**
+     * Constructor for the DensityRenderer class
+     * @param listener Called on the render thread whenever a frame is finished
+     * @param palette The colors of the pixels (OUTSIDE, EMPTY and then LEVELS colors from sparse to full, packed as ARGB)
+     */
+    public DensityRenderer(Runnable listener, int[] palette){
+        this.listener = listener;
+        this.palette = palette;
+    }
+
+    /**
+     * Checks whether the thread is idle: it is not rendering, no board is waiting and its last frame has been taken
+     * @return True if a board would be taken and False otherwise
+     */
+    public synchronized boolean isIdle(){
+        return !pending && !rendering && !untaken;
+    }
+
+    /**
+     * Checks whether the thread has copied the board that was last handed to it, so that the board may change
+     * @return True if the board has been copied (or the thread has ended) and False otherwise
+     */
+    public synchronized boolean isReleased(){
+        return source == null || shutdown;
+    }
+
+    /**
+     * Waits until the thread has copied the board that was last handed to it, so that the board may change. Copying
+     * takes a small part of the time of rendering, so the wait is short even when the thread has only just been handed
+     * the board.
+     */
+    public synchronized void awaitRelease(){
+        try {
+            while (!isReleased())
+                wait();
+        }
+        catch (InterruptedException ex){
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Hands a board to the thread to render a view of it, unless the thread is not idle. The board is copied on the
+     * thread, so the caller must not change it until the thread has released it (see isReleased).
+     * @param board The board
+     * @param originX The offset in pixels of the left edge of the view from the left edge of the board
+     * @param originY The offset in pixels of the top edge of the view from the top edge of the board
+     * @param cellSize The size of a cell in pixels (1 / 2^k)
+     * @param width The width of the view in pixels
+     * @param height The height of the view in pixels
+     * @return True if the board was taken and False if the thread is busy
+     */
+    public synchronized boolean submit(BitBoard board, double originX, double originY, double cellSize, int width, int height){
+        if (!isIdle() || shutdown)
+            return false;
+        source = board;
+        this.originX = originX;
+        this.originY = originY;
+        this.cellSize = cellSize;
+        this.width = width;
+        this.height = height;
+        pending = true;
+        if (thread == null){
+            thread = new Thread(this, "density");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * Takes the last finished frame. The frame may be read until the next board is handed to the thread.
+     * @return The frame, or null if no frame was finished since the last call
+     */
+    public synchronized Frame takeLatest(){
+        if (!untaken)
+            return null;
+        untaken = false;
+        return frame;
+    }
+
+    /**
+     * Ends the render thread
+     */
+    public synchronized void shutdown(){
+        shutdown = true;
+        notifyAll();
+    }
+
+    /**
+     * Renders every board that is handed to the thread and calls the listener after each frame
+     */
+    @Override
+    public void run(){
+        try {
+            while (true){
+                synchronized (this){
+                    while (!shutdown && !pending)
+                        wait();
+                    if (shutdown)
+                        return;
+                    pending = false;
+                    rendering = true;
+                }
+                board = BitBoard.copy(source, board);
+                synchronized (this){
+                    source = null;
+                    notifyAll();
+                }
+                frame.render(board, originX, originY, cellSize, width, height, palette);
+                synchronized (this){
+                    rendering = false;
+                    untaken = true;
+                }
+                listener.run();
+            }
+        }
+        catch (InterruptedException ex){
+            Thread.currentThread().interrupt();
+        }
+        catch (RuntimeException ex){
+            ex.printStackTrace();
+            synchronized (this){
+                rendering = false;
+                source = null;
+                thread = null;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Counts the alive cells of a row within a range of columns
+     * @param board The board
+     * @param row The row
+     * @param firstCol The first column of the range
+     * @param lastCol The column after the last column of the range
+     * @return The number of alive cells
+     */
+    private static int countRange(BitBoard board, int row, int firstCol, int lastCol){
+        int firstWord = firstCol >>> 6;
+        int lastWord = (lastCol - 1) >>> 6;
+        int count = 0;
+        for (int word = firstWord; word <= lastWord; word++){
+            long bits = board.getWord(row, word);
+            if (word == firstWord)
+                bits &= -1L << (firstCol & 63);
+            if (word == lastWord)
+                bits &= -1L >>> (63 - ((lastCol - 1) & 63));
+            count += Long.bitCount(bits);
+        }
+        return count;
+    }
+
+    /**
+     * A finished view of a board, one packed color (ARGB) per pixel, along with the view that it shows
+     */
+    public static class Frame {
+
+        /** The colors of the pixels row after row */
+        private int[] pixels = new int[0];
+        /** The offset in pixels of the left edge of the view from the left edge of the board */
+        private double originX;
+        /** The offset in pixels of the top edge of the view from the top edge of the board */
+        private double originY;
+        /** The size of a cell in pixels */
+        private double cellSize;
+        /** The width of the view in pixels */
+        private int width;
+        /** The height of the view in pixels */
+        private int height;
+
+        /**
+         * Colors every pixel of a view after the share of alive cells in the block of cells that it covers
+         * @param board The board
+         * @param originX The offset in pixels of the left edge of the view from the left edge of the board
+         * @param originY The offset in pixels of the top edge of the view from the top edge of the board
+         * @param cellSize The size of a cell in pixels (1 / 2^k)
+         * @param width The width of the view in pixels
+         * @param height The height of the view in pixels
+         * @param palette The colors of the pixels
+         */
+        private void render(BitBoard board, double originX, double originY, double cellSize, int width, int height, int[] palette){
+            this.originX = originX;
+            this.originY = originY;
+            this.cellSize = cellSize;
+            this.width = width;
+            this.height = height;
+            if (pixels.length < width * height)
+                pixels = new int[width * height];
+            long block = Math.round(1 / cellSize);
+            int numRows = board.getNumRows();
+            int numCols = board.getNumCols();
+            for (int y = 0; y < height; y++){
+                int firstRow = (int) Math.max(0, Math.min(numRows, ((long) originY + y) * block));
+                int lastRow = (int) Math.max(0, Math.min(numRows, ((long) originY + y + 1) * block));
+                for (int x = 0; x < width; x++){
+                    int firstCol = (int) Math.max(0, Math.min(numCols, ((long) originX + x) * block));
+                    int lastCol = (int) Math.max(0, Math.min(numCols, ((long) originX + x + 1) * block));
+                    if (firstRow >= lastRow || firstCol >= lastCol){
+                        pixels[y * width + x] = palette[OUTSIDE];
+                        continue;
+                    }
+                    int alive = 0;
+                    for (int row = firstRow; row < lastRow; row++)
+                        alive += countRange(board, row, firstCol, lastCol);
+                    long cells = (long) (lastRow - firstRow) * (lastCol - firstCol);
+                    pixels[y * width + x] = alive == 0 ? palette[EMPTY] : palette[EMPTY + 1 + (int) (alive * (LEVELS - 1L) / cells)];
+                }
+            }
+        }
+
+        /**
+         * Checks whether the frame shows a view
+         * @param originX The offset in pixels of the left edge of the view from the left edge of the board
+         * @param originY The offset in pixels of the top edge of the view from the top edge of the board
+         * @param cellSize The size of a cell in pixels
+         * @param width The width of the view in pixels
+         * @param height The height of the view in pixels
+         * @return True if the frame shows the view and False otherwise
+         */
+        public boolean shows(double originX, double originY, double cellSize, int width, int height){
+            return this.originX == originX && this.originY == originY && this.cellSize == cellSize
+                    && this.width == width && this.height == height;
+        }
+
+        /**
+         * Returns the colors of the pixels
+         * @return The packed colors (ARGB) row after row, width pixels per row
+         */
+        public int[] getPixels(){
+            return pixels;
+        }
+
+        /**
+         * Returns the width of the view
+         * @return The width in pixels
+         */
+        public int getWidth(){
+            return width;
+        }
+
+        /**
+         * Returns the height of the view
+         * @return The height in pixels
+         */
+        public int getHeight(){
+            return height;
+        }
+
+    }
+
+}
@@ -0,0 +1,182 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+/**
+ * Holds the settings that decide how the GameOfLife computes and stores its ticks (the rule, the topology, the kind of
+ * history, the kernel and so on). They are the advanced 'key=value' settings of the configuration file, kept apart
+ * from ConfigHandler so that the command line runner (see GameOfLifeCLI) can read them without JavaFX and step the
+ * board exactly like the GUI does.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class EngineSettings {
+
+    /** engine is the simulation engine ("reference" or the class name of another engine, see SimulationEngine.create) that program defaults to ("reference") */
+    protected static String engine = SimulationEngine.REFERENCE;
+    /** threadCount is the number of threads that are used to compute a generation that program defaults to (1) */
+    protected static int threadCount = 1;
+    /** minBandRows is the smallest band of rows handed to a single thread that program defaults to (64) */
+    protected static int minBandRows = 64;
+    /** workerCount is the number of worker processes that the board is stepped on that program defaults to (0 steps it in this process) */
+    protected static int workerCount = 0;
+    /** rule is the rulestring of the rule of the game that program defaults to ("B3/S23") */
+    protected static String rule = "B3/S23";
+    /** topology is the shape of the surface that the board is laid on ("torus", "bounded", "cylinder" or "klein") that program defaults to ("torus") */
+    protected static String topology = "torus";
+    /** kernel is the kernel that computes a generation ("swar", "lookup" or "vector") that program defaults to ("swar") */
+    protected static String kernel = "swar";
+    /** sparseStepping is whether only the active parts of the board are evaluated that program defaults to (false) */
+    protected static boolean sparseStepping = false;
+    /** sparseThreshold is the fraction of changing cells above which the whole board is evaluated that program defaults to (0.25) */
+    protected static double sparseThreshold = 0.25;
+    /** unbounded is whether the board is a window onto an unbounded universe that program defaults to (false) */
+    protected static boolean unbounded = false;
+    /** maxCyclePeriod is the longest cycle that ends Auto Play early that program defaults to (64, 0 turns detection off) */
+    protected static int maxCyclePeriod = 64;
+    /** historyBackend is where the tick history is stored ("compressed" in memory, "mapped" to a file or "live" for only the last few ticks) that program defaults to ("compressed") */
+    protected static String historyBackend = "compressed";
+    /** keyframeInterval is the number of ticks between full copies of the board in the history that program defaults to (32) */
+    protected static int keyframeInterval = 32;
+    /** checkpointInterval is the number of ticks between the ticks that Go to Tick stores on its way that program defaults to (1024) */
+    protected static int checkpointInterval = 1024;
+    /** lookahead is the number of generations that are computed ahead of the current tick while the board is idle that program defaults to (8, 0 turns it off) */
+    protected static int lookahead = 8;
+
+    /**
+     * Adds the settings to the configuration file data as 'key=value' lines
+     * @param sb The configuration file data that is being written
+     */
+    public static void append(StringBuilder sb){
+        sb.append("engine=").append(engine).append('\n');
+        sb.append("rule=").append(rule).append('\n');
+        sb.append("topology=").append(topology).append('\n');
+        sb.append("history=").append(historyBackend).append('\n');
+        sb.append("keyframeInterval=").append(keyframeInterval).append('\n');
+        sb.append("checkpointInterval=").append(checkpointInterval).append('\n');
+        sb.append("lookahead=").append(lookahead).append('\n');
+        sb.append("threads=").append(threadCount).append('\n');
+        sb.append("minBandRows=").append(minBandRows).append('\n');
+        sb.append("workers=").append(workerCount).append('\n');
+        sb.append("kernel=").append(kernel).append('\n');
+        sb.append("sparse=").append(sparseStepping).append('\n');
+        sb.append("sparseThreshold=").append(sparseThreshold).append('\n');
+        sb.append("unbounded=").append(unbounded).append('\n');
+        sb.append("maxCyclePeriod=").append(maxCyclePeriod).append('\n');
+    }
+
+    /**
+     * Changes a single setting
+     * @param key The name of the setting
+     * @param value The new value of the setting
+     * @return True if the setting was changed and False if there is no setting with the name
+     * @throws IllegalArgumentException If the value is not valid for the setting (a NumberFormatException if it is not
+     * a number or not one of the allowed names)
+     */
+    public static boolean set(String key, String value){
+        switch (key){
+            case "engine":
+                if (value.isEmpty())
+                    throw new NumberFormatException(value);
+                engine = value;
+                break;
+            case "rule":
+                rule = Rule.parse(value).toString();
+                break;
+            case "topology":
+                topology = Topology.parse(value).getName();
+                break;
+            case "history":
+                if (!value.equals("compressed") && !value.equals("mapped") && !value.equals("live"))
+                    throw new NumberFormatException(value);
+                historyBackend = value;
+                break;
+            case "keyframeInterval":
+                keyframeInterval = Math.max(1, Integer.parseInt(value));
+                break;
+            case "checkpointInterval":
+                checkpointInterval = Math.max(1, Integer.parseInt(value));
+                break;
+            case "lookahead":
+                lookahead = Math.max(0, Integer.parseInt(value));
+                break;
+            case "threads":
+                threadCount = Math.max(1, Integer.parseInt(value));
+                break;
+            case "minBandRows":
+                minBandRows = Math.max(1, Integer.parseInt(value));
+                break;
+            case "workers":
+                workerCount = Math.max(0, Integer.parseInt(value));
+                break;
+            case "kernel":
+                if (!value.equals("swar") && !value.equals("lookup") && !value.equals("vector"))
+                    throw new NumberFormatException(value);
+                kernel = value;
+                break;
+            case "sparse":
+                sparseStepping = Boolean.parseBoolean(value);
+                break;
+            case "sparseThreshold":
+                sparseThreshold = Double.parseDouble(value);
+                break;
+            case "unbounded":
+                unbounded = Boolean.parseBoolean(value);
+                break;
+            case "maxCyclePeriod":
+                maxCyclePeriod = Math.max(0, Integer.parseInt(value));
+                break;
+            default:
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads a single setting from the configuration file. The settings follow the five standard values of the file and
+     * are written as 'key=value' lines so that they can be given in any order (or left out to use the defaults).
+     * Unknown or invalid settings are reported and the default value is kept.
+     * @param line The line of the configuration file that contains the setting in the form 'key=value'
+     */
+    public static void read(String line){
+        if (line.trim().isEmpty())
+            return;
+        String[] values = line.split("=", 2);
+        if (values.length != 2){
+            System.out.println("Invalid setting found in Configuration File: " + line);
+            return;
+        }
+        String key = values[0].trim();
+        String value = values[1].trim();
+        try {
+            if (!set(key, value))
+                System.out.println("Unknown setting found in Configuration File: " + key);
+        }
+        catch (NumberFormatException ex){
+            System.out.println("Invalid value found in Configuration File for setting: " + key);
+        }
+        catch (IllegalArgumentException ex){
+            System.out.println(ex.getMessage() + " (found in Configuration File for setting: " + key + ")");
+        }
+    }
+
+    /**
+     * Passes the settings on to a simulation engine (the engine itself is created from the engine setting by
+     * SimulationEngine.create, so it only changes when the program is started)
+     * @param gol The engine that the settings are applied to
+     */
+    public static void apply(SimulationEngine gol){
+        gol.setHistoryBackend(historyBackend, keyframeInterval);
+        gol.setRule(Rule.parse(rule));
+        gol.setTopology(Topology.parse(topology));
+        gol.setParallelism(threadCount, minBandRows);
+        gol.setWorkers(workerCount);
+        gol.setKernel(kernel);
+        gol.setSparseStepping(sparseStepping, sparseThreshold);
+        gol.setUnbounded(unbounded);
+        gol.setMaxCyclePeriod(maxCyclePeriod);
+        gol.setCheckpointInterval(checkpointInterval);
+        gol.setLookahead(lookahead);
+    }
+
+}
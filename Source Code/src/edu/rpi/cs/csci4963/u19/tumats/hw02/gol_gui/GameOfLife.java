@@ -1,7 +1,9 @@
 package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
 
-import javafx.util.Pair;
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
 
 /**
  * Handles all data related operations for the program. Also stores all tick data for the entirety of the program.
@@ -10,53 +12,108 @@ import java.util.HashMap;
  * @version 1.1
  * @since 1.0
  */
-public class GameOfLife {
+public class GameOfLife implements SimulationEngine {
+
+    /** The number of ticks that the "live" history keeps (the current tick and the ticks that Previous Tick reaches) */
+    private static final int LIVE_TICKS = 8;
 
     /** the instance of the GameOfLife that will be used in the program */
     private static GameOfLife instance = new GameOfLife();
-    /** Stores tick data for every tick that is run by the program */
-    private HashMap<Integer, Integer[][]> tickData = new HashMap<>();
-    /** Stores state data for every tick that is run by the program */
-    private HashMap<Integer, Pair> stateData = new HashMap<>();
+    /** Stores tick data (keyframes and deltas of bit-packed boards) for every tick that is run by the program */
+    private TickHistory tickData = new CompressedTickHistory(32);
+    /** The kind of history that stores the tick data ("compressed" in memory, "mapped" to a file or "live") */
+    private String historyBackend = "compressed";
+    /** The number of ticks between two full copies of the board in the compressed history */
+    private int keyframeInterval = 32;
+    /** Stores the age of every cell (see CellAges) for every tick that is run by the program */
+    private TickHistory ageData = new CompressedTickHistory(32);
+    /** Stores the number of alive cells, births and deaths for every tick that is run by the program */
+    private TickStatistics statistics = new TickStatistics();
     /** The number of rows that the board must have */
     private int boardRows;
     /** The number of columns that the board must have */
     private int boardCols;
     /** The current tick of the program */
     private int currentTick = 0;
+    /** Computes generations on one or more threads (a single thread by default) */
+    private ParallelStepper stepper = new ParallelStepper(1, 64);
+    /** The rule of the game (Conway's B3/S23 by default) */
+    private Rule rule = Rule.CONWAY;
+    /** The kernel that computes generations ("swar" for BitBoard's bitwise adders, "lookup" for a lookup table or "vector" for SIMD adders) */
+    private String kernelName = "swar";
+    /** The shape of the surface that the board is laid on (a torus by default) */
+    private Topology topology = Topology.TORUS;
+    /** Only re-evaluates the active parts of the board (null when every cell is evaluated every tick) */
+    private SparseStepper sparseStepper;
+    /** Whether the board is a window onto an unbounded universe instead of wrapping around its edges */
+    private boolean unbounded = false;
+    /** The unbounded universe (only used when unbounded is true) */
+    private TiledUniverse universe;
+    /** The board that the unbounded universe was last copied to. Any other board is copied into a new universe first. */
+    private BitBoard universeBoard;
+    /** Steps the board on worker processes (null when the board is stepped in this process) */
+    private SlabCoordinator coordinator;
+    /** The tick that the workers hold (-1 if they hold none). Any other tick is loaded onto the workers first. */
+    private int coordinatorTick = -1;
+    /** Guards the workers that are started in the background (see setWorkers) */
+    private final Object workerLock = new Object();
+    /** The number of workers that were asked for last (0 if the board is stepped in this process) */
+    private int requestedWorkers = 0;
+    /** Counts the requests for workers, so that workers that were started for an earlier request are stopped again */
+    private int workerRequest = 0;
+    /** Whether workers are being started in the background */
+    private boolean workersStarting = false;
+    /** The workers that were started in the background and are taken into use on the next tick (null if there are none) */
+    private SlabCoordinator startedCoordinator;
+    /** Runs jumps, keeping its node cache and memoized results from one jump to the next (null until the first jump or after a rule change) */
+    private HashLife hashLife;
+    /** The board that HashLife last produced. Any other board is loaded into HashLife first. */
+    private BitBoard hashLifeBoard;
+    /** The packed number of births and deaths of the generation that was computed last by stepBoard */
+    private long stepChanges;
+    /** The number of ticks between two ticks that goToTick stores on its way to the target tick */
+    private int checkpointInterval = 1024;
+    /** Detects extinction, still lifes and cycles among the computed ticks (null when detection is turned off) */
+    private CycleDetector cycleDetector = new CycleDetector(64);
+    /** Computes the next generations ahead of the current tick in the background (null when speculative stepping is turned off) */
+    private SpeculativeStepper speculator;
+    /** Whether nothing is computed ahead for now, because the engine is not idle (see pauseSpeculation) */
+    private boolean speculationPaused = false;
+    /** The epoch of the chain that the speculator was started with last, which it checks before it hands out a generation */
+    private int speculationEpoch = -1;
+    /** A stepper on a single thread with its own kernel that the speculator computes with, so it never shares the threads of stepper */
+    private ParallelStepper speculativeStepper = new ParallelStepper(1, 64);
 
     /**
      * Returns the board for the current game tick
-     * @return A two dimensional array containing cell data for the current tick
+     * @return A bit-packed board containing cell data for the current tick
      */
-    public Integer[][] getCurrentBoard(){
+    @Override
+    public BitBoard getCurrentBoard(){
+        if (currentTick == coordinatorTick)
+            gatherDistributed();
         return tickData.get(currentTick);
     }
 
     /**
      * Returns the board for a determined game tick
      * @param i The game tick that we are gathering data for
-     * @return A two dimensional array containing cell data for the determined tick
+     * @return A bit-packed board containing cell data for the determined tick
      */
-    public Integer[][] getSpecificTickData(int i){
+    @Override
+    public BitBoard getSpecificTickData(int i){
+        if (i == coordinatorTick)
+            gatherDistributed();
         return tickData.get(i);
     }
 
     /**
-     * Populates the board when the values are initialized as null
+     * Populates the board when it has not been created yet. All cells of a new board are dead.
      */
+    @Override
     public void populateBoard(){
-        Integer[][] board = getCurrentBoard();
-        if (board == null){
-            board = new Integer[boardRows][boardCols];
-            tickData.put(0, board);
-        }
-        for (int row = 0; row < board.length; row++ ){
-            for (int col = 0; col < board[0].length; col++ ){
-                if (board[row][col] == null)
-                    board[row][col] = 0;
-            }
-        }
+        if (getCurrentBoard() == null)
+            tickData.put(0, new BitBoard(boardRows, boardCols, rule.getPlaneCount()));
     }
 
     /**
@@ -65,14 +122,16 @@ public class GameOfLife {
      * @param col The column for the cell which is being changed
      * @param state True if the cell is being changed to 1 and False of the cell is being changed to 0
      */
+    @Override
     public void setState(int row, int col, boolean state){
-        Integer[][] board = getCurrentBoard();
-        if (instance != null && row < board.length && col < board[0].length){
-            if (state)
-                board[row][col] = 1;
-            else
-                board[row][col] = 0;
+        BitBoard board = getEditableBoard();
+        resetCycleDetection();
+        forgetSteppedBoard();
+        if (instance != null && row < board.getNumRows() && col < board.getNumCols()){
+            board.set(row, col, state);
+            statistics.remove(currentTick);
         }
+        speculate();
     }
 
     /**
@@ -80,11 +139,12 @@ public class GameOfLife {
      * @param printBoard the Board that will be converted into a String
      * @return The String equivalent of the board
      */
-    public String boardToString(Integer[][] printBoard){
+    @Override
+    public String boardToString(BitBoard printBoard){
         StringBuilder sb = new StringBuilder();
-        for (int row = 0; row < printBoard.length; row++){
-            for(int column = 0; column < printBoard[0].length; column++){
-                sb.append(printBoard[row][column]).append(" ");
+        for (int row = 0; row < printBoard.getNumRows(); row++){
+            for(int column = 0; column < printBoard.getNumCols(); column++){
+                sb.append(printBoard.get(row, column)).append(" ");
             }
             sb.append('\n');
         }
@@ -92,18 +152,24 @@ public class GameOfLife {
     }
 
     /**
-     * Set the current game tick as long as the given number is greater than 0
+     * Set the current game tick as long as the given number is greater than 0. The generations that were computed
+     * ahead of the old tick are dropped.
      * @param currentTick the number that the tick should be set to
      */
+    @Override
     public void setCurrentTick(int currentTick){
-        if (currentTick >= 0)
-            this.currentTick = currentTick;
+        if (currentTick < 0 || currentTick == this.currentTick)
+            return;
+        this.currentTick = currentTick;
+        if (speculator != null)
+            speculator.cancel();
     }
 
     /**
      * Returns the current number of rows in the board
      * @return The number of rows
      */
+    @Override
     public int getNumRows(){
         return boardRows;
     }
@@ -112,6 +178,7 @@ public class GameOfLife {
      * Returns the current number of columns in the board
      * @return The number of columns
      */
+    @Override
     public int getNumCols(){
         return boardCols;
     }
@@ -120,78 +187,722 @@ public class GameOfLife {
      * Returns the current game tick
      * @return The tick
      */
+    @Override
     public int getCurrentTick(){
         return currentTick;
     }
 
+    /**
+     * Changes the number of threads that are used to compute a generation. The board is split into bands of rows and
+     * boards with fewer than two bands worth of rows are always computed on a single thread.
+     * @param threadCount The number of threads (1 computes every generation on the calling thread)
+     * @param minBandRows The smallest number of rows that is handed to a single thread
+     */
+    @Override
+    public void setParallelism(int threadCount, int minBandRows){
+        if (threadCount == stepper.getThreadCount() && minBandRows == stepper.getMinBandRows())
+            return;
+        rebuildStepper(threadCount, minBandRows);
+    }
+
+    /**
+     * Changes the kernel that computes the cells of a generation. The "swar" kernel adds up the neighbors of 64 cells
+     * at once with bitwise operations, and the "lookup" kernel looks up the next state of every cell in a 512 entry
+     * table indexed by its 3x3 neighborhood. The "vector" kernel runs the bitwise adders on several words at once with
+     * the Java Vector API, and falls back to "swar" when the JVM was started without the jdk.incubator.vector module.
+     * Generations rules always use the bitwise adders.
+     * @param kernelName The kernel ("swar", "lookup" or "vector")
+     */
+    @Override
+    public void setKernel(String kernelName){
+        if (kernelName.equals(this.kernelName))
+            return;
+        this.kernelName = kernelName;
+        rebuildStepper(stepper.getThreadCount(), stepper.getMinBandRows());
+    }
+
+    /**
+     * Changes the rule of the game. Ticks after the current tick were computed with the old rule, so they are removed,
+     * and the current board is converted when the new rule needs a different number of states.
+     * @param rule The rule of the game
+     */
+    @Override
+    public void setRule(Rule rule){
+        if (rule.equals(this.rule))
+            return;
+        this.rule = rule;
+        rebuildStepper(stepper.getThreadCount(), stepper.getMinBandRows());
+        universe = null;
+        universeBoard = null;
+        hashLife = null;
+        hashLifeBoard = null;
+        resetCycleDetection();
+        tickData.removeAfter(currentTick);
+        ageData.removeAfter(currentTick);
+        statistics.removeAfter(currentTick);
+        BitBoard board = getCurrentBoard();
+        if (board != null && board.getPlaneCount() != rule.getPlaneCount())
+            tickData.put(currentTick, board.withPlanes(rule.getPlaneCount()));
+    }
+
+    /**
+     * Returns the rule of the game
+     * @return The rule
+     */
+    public Rule getRule(){
+        return rule;
+    }
+
+    /**
+     * Changes the shape of the surface that the board is laid on, which decides what lies beyond the edges of the
+     * board. Ticks after the current tick were computed on the old topology, so they are removed. The unbounded
+     * universe has no edges, so the topology only applies while it is turned off.
+     * @param topology The topology
+     */
+    @Override
+    public void setTopology(Topology topology){
+        if (topology == this.topology)
+            return;
+        this.topology = topology;
+        rebuildStepper(stepper.getThreadCount(), stepper.getMinBandRows());
+        hashLifeBoard = null;
+        resetCycleDetection();
+        tickData.removeAfter(currentTick);
+        ageData.removeAfter(currentTick);
+        statistics.removeAfter(currentTick);
+    }
+
+    /**
+     * Returns the shape of the surface that the board is laid on
+     * @return The topology
+     */
+    public Topology getTopology(){
+        return topology;
+    }
+
+    /**
+     * Replaces the stepper with one that applies the current rule with the current kernel. The rule is compiled into
+     * the stepper once, so every tick runs the same code path no matter which rule is used.
+     * @param threadCount The number of threads (1 computes every generation on the calling thread)
+     * @param minBandRows The smallest number of rows that is handed to a single thread
+     */
+    private void rebuildStepper(int threadCount, int minBandRows){
+        StepKernel kernel = StepKernel.forName(kernelName, rule);
+        stepper.shutdown();
+        stepper = new ParallelStepper(threadCount, minBandRows, kernel, rule, topology);
+        speculativeStepper = new ParallelStepper(1, minBandRows, StepKernel.forName(kernelName, rule), rule, topology);
+        if (sparseStepper != null)
+            sparseStepper.reset();
+        /** The workers are loaded again with the new settings on the next tick */
+        forgetDistributedTick();
+    }
+
+    /**
+     * Turns sparse stepping on or off. With sparse stepping, only the cells around the cells that changed in the
+     * previous tick are evaluated, and the whole board is evaluated automatically whenever too much of it is changing.
+     * @param enabled True if sparse stepping should be used and False otherwise
+     * @param fullSweepRatio The fraction of the board that must be changing before the whole board is evaluated
+     */
+    @Override
+    public void setSparseStepping(boolean enabled, double fullSweepRatio){
+        if (!enabled)
+            sparseStepper = null;
+        else if (sparseStepper == null || sparseStepper.getFullSweepRatio() != fullSweepRatio)
+            sparseStepper = new SparseStepper(fullSweepRatio);
+    }
+
+    /**
+     * Turns the unbounded universe on or off. When it is on, the board is a window onto a universe that grows as far as
+     * the pattern travels, so cells that leave the board keep running instead of wrapping around to the other side.
+     * Rules with dying states or B0 cannot run on an unbounded universe, so their boards keep wrapping around.
+     * @param unbounded True if the board should be a window onto an unbounded universe and False otherwise
+     */
+    @Override
+    public void setUnbounded(boolean unbounded){
+        this.unbounded = unbounded;
+        if (!unbounded){
+            universe = null;
+            universeBoard = null;
+        }
+    }
+
+    /**
+     * Returns the number of cells that are alive in the whole unbounded universe, including cells outside of the board
+     * @return The number of alive cells, or the number of alive cells on the current board if the universe is not used
+     */
+    public long getUniversePopulation(){
+        if (universe != null && universeBoard == getCurrentBoard())
+            return universe.population();
+        return getCurrentBoard().population();
+    }
+
+    /**
+     * Changes the number of worker processes that the board is stepped on. Every worker is a separate JVM on this host
+     * that owns a slab of rows, so the board can use more heap and cores than this process has (see SlabCoordinator).
+     * Boards with fewer rows than workers are still stepped in this process. The workers are started in the background,
+     * so this returns right away: the board is stepped in this process until they have connected, and a failure to
+     * start them is only printed.
+     * @param workerCount The number of workers (0 steps the board in this process)
+     */
+    @Override
+    public void setWorkers(int workerCount){
+        synchronized (workerLock){
+            if (Math.max(0, workerCount) == requestedWorkers)
+                return;
+        }
+        shutdownWorkers();
+        if (workerCount <= 0)
+            return;
+        final int count = workerCount;
+        final int request;
+        synchronized (workerLock){
+            requestedWorkers = workerCount;
+            request = workerRequest;
+            workersStarting = true;
+        }
+        Thread starter = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                startWorkers(count, request);
+            }
+        }, "workers");
+        starter.setDaemon(true);
+        starter.start();
+    }
+
+    /**
+     * Starts the worker processes and hands them over to the next tick, unless other workers were asked for in the
+     * meantime. Runs on the thread that setWorkers starts, since starting the workers can take up to the timeout of
+     * SlabCoordinator.
+     * @param workerCount The number of workers
+     * @param request The request that the workers were started for (see workerRequest)
+     */
+    private void startWorkers(int workerCount, int request){
+        SlabCoordinator started = null;
+        try {
+            started = new SlabCoordinator(workerCount);
+        }
+        catch (IOException ex){
+            System.out.println("Unable to start " + workerCount + " workers, stepping the board in this process");
+            ex.printStackTrace();
+        }
+        synchronized (workerLock){
+            if (request == workerRequest){
+                startedCoordinator = started;
+                started = null;
+                workersStarting = false;
+                if (startedCoordinator == null)
+                    requestedWorkers = 0;
+                workerLock.notifyAll();
+            }
+        }
+        /** Workers that are no longer wanted are stopped again */
+        if (started != null)
+            started.close();
+    }
+
+    /**
+     * Waits until the workers that were asked for have been started (or have failed to start), so that a batch run
+     * steps every tick on them
+     */
+    @Override
+    public void awaitWorkers(){
+        synchronized (workerLock){
+            try {
+                while (workersStarting)
+                    workerLock.wait();
+            }
+            catch (InterruptedException ex){
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Stops the worker processes (if there are any), after gathering the tick that only they hold. Workers that are
+     * still being started are stopped as soon as they have connected.
+     */
+    @Override
+    public void shutdownWorkers(){
+        SlabCoordinator unused;
+        synchronized (workerLock){
+            workerRequest++;
+            requestedWorkers = 0;
+            workersStarting = false;
+            unused = startedCoordinator;
+            startedCoordinator = null;
+            workerLock.notifyAll();
+        }
+        if (unused != null)
+            unused.close();
+        if (coordinator != null){
+            gatherDistributed();
+            closeWorkers();
+        }
+    }
+
+    /**
+     * Stops the worker processes that are in use and forgets the tick that they hold
+     */
+    private void closeWorkers(){
+        if (coordinator != null)
+            coordinator.close();
+        coordinator = null;
+        coordinatorTick = -1;
+    }
+
+    /**
+     * Takes the workers that were started in the background since the last tick into use. Only called before a tick
+     * is computed, so that the stepper in use never changes while a tick is being computed.
+     */
+    private void takeStartedWorkers(){
+        SlabCoordinator started;
+        synchronized (workerLock){
+            started = startedCoordinator;
+            startedCoordinator = null;
+        }
+        if (started == null)
+            return;
+        forgetDistributedTick();
+        closeWorkers();
+        coordinator = started;
+        if (speculator != null)
+            speculator.cancel();
+    }
+
+    /**
+     * Checks whether the board is stepped on the worker processes. The unbounded universe goes first, and boards with
+     * fewer rows than workers are stepped in this process.
+     * @return True if the next tick is computed by the workers and False otherwise
+     */
+    private boolean isDistributed(){
+        if (unbounded && rule.isUnboundedSafe())
+            return false;
+        return coordinator != null && boardRows >= coordinator.getWorkerCount();
+    }
+
+    /**
+     * Computes the next tick on the worker processes. The workers keep their slabs and the ages of the cells from one
+     * tick to the next and only report the number of births and deaths and how the hash of the board changed, so the
+     * board of a tick is only gathered from them when it is needed (see gatherDistributed), and otherwise only every
+     * checkpointInterval-th tick is gathered and stored. If the workers cannot be reached anymore, they are stopped and
+     * the tick is computed in this process instead.
+     */
+    private void stepDistributed(){
+        int alive = getAliveCount(currentTick);
+        long changes;
+        try {
+            if (coordinatorTick != currentTick){
+                BitBoard board = getCurrentBoard();
+                coordinator.load(board, ageData.get(currentTick), rule, topology, kernelName);
+                coordinatorTick = currentTick;
+                detectCycle(currentTick, board);
+            }
+            changes = coordinator.step();
+        }
+        catch (IOException ex){
+            loseWorkers(ex);
+            updateTick();
+            return;
+        }
+        currentTick += 1;
+        coordinatorTick = currentTick;
+        int births = BitBoard.getBirths(changes);
+        int deaths = BitBoard.getDeaths(changes);
+        statistics.put(currentTick, alive + births - deaths, births, deaths);
+        if (historyBackend.equals("live"))
+            statistics.removeBefore(currentTick - LIVE_TICKS);
+        if (cycleDetector != null)
+            cycleDetector.record(currentTick, coordinator.getLastHashChange(), alive + births - deaths);
+        if (currentTick % checkpointInterval == 0)
+            gatherDistributed();
+    }
+
+    /**
+     * Gathers the tick that the workers hold into a board and stores it with the ages of its cells, unless it is
+     * stored already. If the workers cannot be reached anymore, they are stopped instead (see loseWorkers).
+     */
+    private void gatherDistributed(){
+        if (coordinatorTick < 0 || tickData.containsKey(coordinatorTick))
+            return;
+        try {
+            BitBoard board = coordinator.snapshot();
+            BitBoard ages = coordinator.snapshotAges();
+            tickData.put(coordinatorTick, board);
+            ageData.put(coordinatorTick, ages);
+        }
+        catch (IOException ex){
+            loseWorkers(ex);
+        }
+    }
+
+    /**
+     * Gathers the tick that the workers hold (see gatherDistributed), after which they are loaded again on the next
+     * tick. Called whenever the workers no longer match the engine, such as after a change of the settings or an edit.
+     */
+    private void forgetDistributedTick(){
+        gatherDistributed();
+        coordinatorTick = -1;
+    }
+
+    /**
+     * Stops the workers after the connection to them was lost. If they held the current tick and it is not stored, it
+     * is computed again in this process from the closest earlier stored tick.
+     * @param ex The failure
+     */
+    private void loseWorkers(IOException ex){
+        System.out.println("Lost the connection to the workers, stepping the board in this process");
+        ex.printStackTrace();
+        int lostTick = coordinatorTick;
+        closeWorkers();
+        synchronized (workerLock){
+            requestedWorkers = 0;
+        }
+        if (lostTick == currentTick && !tickData.containsKey(lostTick))
+            goToTick(lostTick);
+    }
+
+    /**
+     * Computes the next generation in the unbounded universe and copies the part that falls within the board
+     * @param board The board that holds the current generation
+     * @return A new board with the part of the next generation that falls within the board
+     */
+    private BitBoard stepUniverse(BitBoard board){
+        /** The universe only matches the board if the board is the last one that was copied from it */
+        if (universe == null || universeBoard != board)
+            universe = new TiledUniverse(board, rule);
+        universe.step();
+        BitBoard next = new BitBoard(boardRows, boardCols);
+        universe.copyTo(next);
+        universeBoard = next;
+        return next;
+    }
+
     /**
      * Resets all data structures and sets the tick to 0. This allows the GameOfLife to essentially 'restart'.
      */
+    @Override
     public void resetData(){
         tickData.clear();
-        stateData.clear();
+        ageData.clear();
+        statistics.clear();
         currentTick = 0;
+        if (sparseStepper != null)
+            sparseStepper.reset();
+        universe = null;
+        universeBoard = null;
+        coordinatorTick = -1;
+        hashLife = null;
+        hashLifeBoard = null;
+        if (speculator != null)
+            speculator.cancel();
+        resetCycleDetection();
     }
 
     /**
-     * Resets all data structures for all ticks (except tick 0).
+     * Resets all data structures for all ticks (except tick 0). The generations that were computed ahead came from the
+     * old tick 0, so they are dropped as well.
      */
+    @Override
     public void resetFutureTickData(){
-        int size = tickData.size();
-        for (int i = 0; i < size; i++){
-            if (i == 0)
-                continue;
-            tickData.remove(i);
+        tickData.removeAfter(0);
+        ageData.removeAfter(0);
+        statistics.removeAfter(0);
+        if (coordinatorTick > 0)
+            coordinatorTick = -1;
+        if (speculator != null)
+            speculator.cancel();
+        resetCycleDetection();
+    }
+
+    /**
+     * Changes the longest period of the cycles that are detected. Extinction and still lifes are detected as long as
+     * the period is at least 1.
+     * @param maxPeriod The longest period that is detected (0 turns detection off)
+     */
+    @Override
+    public void setMaxCyclePeriod(int maxPeriod){
+        if (maxPeriod <= 0)
+            cycleDetector = null;
+        else if (cycleDetector == null || cycleDetector.getMaxPeriod() != maxPeriod)
+            cycleDetector = new CycleDetector(maxPeriod);
+    }
+
+    /**
+     * Returns the period of the cycle that the board has settled into by the current tick. A period of 1 is a still
+     * life (or an empty board, see isExtinct).
+     * @return The period, or 0 if the board has not settled by the current tick
+     */
+    @Override
+    public int getDetectedPeriod(){
+        if (cycleDetector == null || cycleDetector.getDetectedTick() < 0 || currentTick < cycleDetector.getDetectedTick())
+            return 0;
+        return cycleDetector.getPeriod();
+    }
+
+    /**
+     * Checks whether every cell has died by the current tick
+     * @return True if the board is empty and stays empty and False otherwise
+     */
+    @Override
+    public boolean isExtinct(){
+        return getDetectedPeriod() > 0 && cycleDetector.isExtinct();
+    }
+
+    /**
+     * Forgets the ticks that were recorded for cycle detection, so that detection starts over from the next tick
+     */
+    private void resetCycleDetection(){
+        if (cycleDetector != null)
+            cycleDetector.reset();
+    }
+
+    /**
+     * Records a newly computed tick for cycle detection. In the unbounded universe, the board is only a window, so a
+     * repeated window only counts when nothing is alive outside of it.
+     * @param tick The tick that was computed
+     * @param board The board of the tick
+     */
+    private void detectCycle(int tick, BitBoard board){
+        if (cycleDetector == null)
+            return;
+        if (unbounded && universe != null && universe.population() != board.population()){
+            cycleDetector.reset();
+            return;
+        }
+        cycleDetector.record(tick, board, tickData);
+    }
+
+    /**
+     * Finds the closest tick before a given tick that has board data. Ticks that were skipped over by a jump have no
+     * board data, so this is not always the tick right before it.
+     * @param tick The tick that we are looking before
+     * @return The closest earlier tick with board data, or -1 if there is none
+     */
+    @Override
+    public int getStoredTickBefore(int tick){
+        return tickData.getStoredTickBefore(tick);
+    }
+
+    /**
+     * Returns the latest tick that has board data
+     * @return The latest tick
+     */
+    @Override
+    public int getLastStoredTick(){
+        return Math.max(0, tickData.getLastTick());
+    }
+
+    /**
+     * Returns the number of ticks that currently have board data
+     * @return The number of stored ticks
+     */
+    @Override
+    public int getNumStoredTicks(){
+        return tickData.size();
+    }
+
+    /**
+     * Changes where the tick history is stored. The "compressed" history keeps a full copy of the board every
+     * keyframeInterval ticks in memory and only stores the cells that changed in between. The "mapped" history writes
+     * every tick to a memory-mapped file so that it is not limited by the size of the heap. Ticks that are already
+     * stored (and the cell ages that are kept next to them) are moved to the new history. The "live" history only keeps
+     * the last LIVE_TICKS ticks and computes every tick into the board of the tick that it drops, so running the game
+     * allocates nothing per tick, and Previous Tick only goes back as far as the ticks that are kept. Switching to it
+     * drops the ticks after the current tick.
+     * @param backend The kind of history ("compressed", "mapped" or "live")
+     * @param keyframeInterval The number of ticks between two full copies of the board in the compressed history
+     */
+    @Override
+    public void setHistoryBackend(String backend, int keyframeInterval){
+        if (backend.equals(historyBackend) && (!backend.equals("compressed") || keyframeInterval == this.keyframeInterval))
+            return;
+        if (backend.equals("live")){
+            /** The ring keeps the latest ticks, so the current tick has to be the latest one to stay in it */
+            tickData.removeAfter(currentTick);
+            ageData.removeAfter(currentTick);
+            statistics.removeAfter(currentTick);
+            resetCycleDetection();
+        }
+        tickData = moveHistory(tickData, backend, keyframeInterval);
+        ageData = moveHistory(ageData, backend, keyframeInterval);
+        /** A mapped history that could not be created fell back to the compressed history */
+        historyBackend = backend.equals("mapped") && !(tickData instanceof MappedTickHistory) ? "compressed" : backend;
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    /**
+     * Moves every stored tick of a history to a new history of the given kind and closes the old history. When the
+     * file of a mapped history cannot be created, the ticks are moved to a compressed history instead.
+     * @param from The history that the ticks are moved from
+     * @param backend The kind of the new history ("compressed", "mapped" or "live")
+     * @param keyframeInterval The number of ticks between two full copies of the board in the compressed history
+     * @return The new history
+     */
+    private static TickHistory moveHistory(TickHistory from, String backend, int keyframeInterval){
+        TickHistory history = null;
+        if (backend.equals("mapped")){
+            try {
+                history = new MappedTickHistory();
+            }
+            catch (UncheckedIOException ex){
+                System.out.println("History file unable to be created! The history is kept in memory instead.");
+                ex.printStackTrace();
+            }
         }
+        else if (backend.equals("live"))
+            history = new RingTickHistory(LIVE_TICKS);
+        if (history == null)
+            history = new CompressedTickHistory(keyframeInterval);
+        ArrayList<Integer> ticks = new ArrayList<>(from.ticks());
+        Collections.sort(ticks);
+        for (int tick : ticks){
+            BitBoard board = from.get(tick);
+            history.put(tick, board.isReadOnly() ? new BitBoard(board) : board);
+        }
+        from.close();
+        return history;
+    }
+
+    /**
+     * Makes the sparse stepper, the unbounded universe, the workers and HashLife start over from the current board on
+     * the next tick. They recognize the board that they computed last by identity, which no longer tells them about its cells
+     * once the board is edited in place.
+     */
+    private void forgetSteppedBoard(){
+        if (sparseStepper != null)
+            sparseStepper.reset();
+        if (speculator != null)
+            speculator.cancel();
+        universeBoard = null;
+        forgetDistributedTick();
+        hashLifeBoard = null;
     }
 
     /**
-     * Returns a HashMap containing all tick data with the tick being the key and the board data being the value
-     * @return All tick data
+     * Returns the board of the current tick in a form that can be changed. Boards that are read-only views (such as
+     * boards served from a memory-mapped history) are copied and stored again first.
+     * @return The board for the current tick
      */
-    public HashMap getTotalTickData(){
-        return this.tickData;
+    private BitBoard getEditableBoard(){
+        BitBoard board = getCurrentBoard();
+        if (board.isReadOnly()){
+            board = new BitBoard(board);
+            tickData.put(currentTick, board);
+        }
+        return board;
     }
 
     /**
-     * Adds up the number of cells that are currently alive and currently dead.
+     * Returns the number of cells that are alive and dead at a tick. The counts are kept up to date while the ticks are
+     * computed, so the board only has to be counted for ticks whose statistics were dropped by an edit.
      * @param tick The specific game tick for which we are totaling the number of dead/alive cells
      * @return A Pair with the key as the number of cells that are alive and the value as the number of cells that are dead
      */
+    @Override
     public Pair<Integer, Integer> getTickSumStates(int tick){
-        Integer[][] board = tickData.get(tick);
-        int totalAliveCells = 0;
-        int totalDeadCells = 0;
-            for (int row = 0; row < board.length; row++){
-                for(int column = 0; column < board[0].length; column++){
-                    if (board[row][column] == 1)
-                        totalAliveCells += 1;
-                    else
-                        totalDeadCells += 1;
-                }
-            }
+        int totalAliveCells = getAliveCount(tick);
+        /** Ticks that only the workers computed have no board, but every board has the same size */
+        int totalDeadCells = boardRows * boardCols - totalAliveCells;
         return new Pair<>(totalAliveCells, totalDeadCells);
     }
 
+    /**
+     * Returns the number of cells that came to life at a tick (since the closest earlier tick with board data)
+     * @param tick The game tick
+     * @return The number of births
+     */
+    @Override
+    public int getBirths(int tick){
+        getAliveCount(tick);
+        return statistics.getBirths(tick);
+    }
+
+    /**
+     * Returns the number of cells that died at a tick (since the closest earlier tick with board data)
+     * @param tick The game tick
+     * @return The number of deaths
+     */
+    @Override
+    public int getDeaths(int tick){
+        getAliveCount(tick);
+        return statistics.getDeaths(tick);
+    }
+
+    /**
+     * Returns the number of alive cells at a tick, counting the board (and comparing it with the closest earlier
+     * stored board) only if the statistics of the tick are not stored
+     * @param tick The game tick
+     * @return The number of alive cells
+     */
+    private int getAliveCount(int tick){
+        if (!statistics.contains(tick)){
+            BitBoard board = tickData.get(tick);
+            int previousTick = tickData.getStoredTickBefore(tick);
+            long changes = previousTick < 0 ? 0 : BitBoard.countChanges(tickData.get(previousTick), board);
+            statistics.put(tick, board.population(), BitBoard.getBirths(changes), BitBoard.getDeaths(changes));
+        }
+        return statistics.getAlive(tick);
+    }
+
     /**
      * Provides the value of a certain cell in the current board
      * @param row The desired row of the cell
      * @param col The desired column of the cell
      * @return 1 if the cell is alive and 0 otherwise
      */
+    @Override
     public int getCellVal(int row, int col){
-        Integer[][] board = getCurrentBoard();
-        return board[row][col];
+        BitBoard board = getCurrentBoard();
+        return board.get(row, col);
+    }
+
+    /**
+     * Provides the state of a certain cell in the current board
+     * @param row The desired row of the cell
+     * @param col The desired column of the cell
+     * @return 0 if the cell is dead, 1 if it is alive and 2 or more if it is dying (Generations rules only)
+     */
+    @Override
+    public int getCellState(int row, int col){
+        return getCurrentBoard().getState(row, col);
+    }
+
+    /**
+     * Provides the age of a certain cell in the current board: the number of ticks in a row that the cell was alive
+     * for, up to the tick before the current tick. Ages are kept for every tick while it is computed, so this does not
+     * depend on how many ticks are stored.
+     * @param row The desired row of the cell
+     * @param col The desired column of the cell
+     * @return The age of the cell (up to CellAges.MAX_AGE)
+     */
+    @Override
+    public int getCellAge(int row, int col){
+        return CellAges.get(getCurrentAges(), row, col);
+    }
+
+    /**
+     * Returns the ages of the cells of the current board (see CellAges)
+     * @return The bit-sliced ages
+     */
+    @Override
+    public BitBoard getCurrentAges(){
+        if (currentTick == coordinatorTick)
+            gatherDistributed();
+        return ageData.get(currentTick);
     }
 
     /**
      * Initializes the board by setting it to the proper dimensions
      * @param dimensions The number rows in the key and the number of columns in the value
      */
+    @Override
     public void initializeBoard(Pair<Integer, Integer> dimensions){
         boardRows = dimensions.getKey();
         boardCols = dimensions.getValue();
-        tickData.put(0, new Integer[boardRows][boardCols]);
+        tickData.put(0, new BitBoard(boardRows, boardCols, rule.getPlaneCount()));
+        if (speculator != null)
+            speculator.cancel();
     }
 
     /**
@@ -200,9 +911,10 @@ public class GameOfLife {
      * @param column The column of the cell in question
      * @return true if the cell is within bounds and false otherwise
      */
+    @Override
     public boolean checkBounds(int row, int column){
-        Integer[][] board = getCurrentBoard();
-        return (board.length - 1 >= row && row >= 0 && column >= 0 && board[0].length - 1 >= column);
+        BitBoard board = getCurrentBoard();
+        return (board.getNumRows() - 1 >= row && row >= 0 && column >= 0 && board.getNumCols() - 1 >= column);
     }
 
     /**
@@ -210,180 +922,309 @@ public class GameOfLife {
      * @param rowData An Integer array containing values (of 1 or 0) for the cells of a certain row
      * @param row The desired row for which the data should be placed in
      */
+    @Override
     public void setRow(Integer[] rowData, int row){
-        Integer[][] board = getCurrentBoard();
+        BitBoard board = getEditableBoard();
+        resetCycleDetection();
+        forgetSteppedBoard();
         for (int count = 0; count < rowData.length; count++){
-            board[row][count] = rowData[count];
+            board.set(row, count, rowData[count] != 0);
         }
+        statistics.remove(currentTick);
     }
 
     /**
-     * This method performs the appropriate action by checking the current status of the cell and the number of live
-     * neighbors surrounding it. It uses the following rules to determine the state of the cell. The cell is kept alive
-     * if it has 2 or 3 cells (1). Any cell with fewer than two neighbors or more than three neighbors dies (0). Any cell
-     * that is currently dead and has 3 neighboring cells that are alive also becomes alive (1).
-     * @param row The specific row of the desired cell in which we are updating
-     * @param column The specific column of the desired cell in which we are updating
-     * @param liveNeighbors The number of live neighbors that the cell currently has
-     */
-    public void updateCell(int row, int column, int liveNeighbors){
-        Integer[][] board = this.getSpecificTickData(currentTick - 1);
-        if (liveNeighbors == 3 || (liveNeighbors == 2 && board[row][column] == 1))
-            getCurrentBoard()[row][column] = 1;
-        else
-            getCurrentBoard()[row][column] = 0;
-    }
-
-    /**
-     * Performs all necessary operations needed to update the game tick. Stores updated board with cell data and state data.
+     * Performs all necessary operations needed to update the game tick. The next generation is computed from the
+     * bit-packed board of the current tick, 64 cells at a time, with the rule that was compiled into the stepper.
+     * Stores updated board with cell data and state data. The births and deaths are counted by the stepper while it
+     * writes the next board, so the number of alive cells follows from the previous tick without counting the board.
      */
+    @Override
     public void updateTick(){
-        if (tickData.containsKey(currentTick + 1)){
+        takeStartedWorkers();
+        if (tickData.containsKey(currentTick + 1) || coordinatorTick == currentTick + 1){
             currentTick += 1;
         }
+        else if (isDistributed())
+            stepDistributed();
         else{
-            if (currentTick == 0){
-                stateData.put(currentTick, getTickSumStates(currentTick));
-            }
-            int liveNeighbors;
-            Integer[][] board = getCurrentBoard();
-            currentTick += 1;
-            tickData.put(currentTick, new Integer[boardRows][boardCols]);
-            for (int row = 0; row < boardRows; row++){
-                for(int column = 0; column < boardCols; column++){
-                    liveNeighbors = checkNeighbors(row, column, board);
-                    updateCell(row, column, liveNeighbors);
+            int alive = getAliveCount(currentTick);
+            BitBoard board = getCurrentBoard();
+            detectCycle(currentTick, board);
+            /** Views onto a history file are copied once, instead of every time part of them is read */
+            if (board.isReadOnly())
+                board = new BitBoard(board);
+            BitBoard next = speculator != null && stepsInPlace()
+                    ? speculator.take(currentTick + 1, speculationEpoch, board, ageData.get(currentTick), speculativeStepper) : null;
+            long changes;
+            if (next != null){
+                changes = speculator.getTakenChanges();
+                /** The live history hands the boards of the tick that it drops to the speculator, which computes into them */
+                if (historyBackend.equals("live")){
+                    speculator.recycle(tickData.reuse(currentTick + 1, boardRows, boardCols, rule.getPlaneCount()),
+                            ageData.reuse(currentTick + 1, boardRows, boardCols, CellAges.PLANES));
                 }
+                ageData.put(currentTick + 1, speculator.getTakenAges());
+            }
+            else{
+                /** The live history hands back the board of a tick that it drops, so nothing is allocated */
+                next = stepsInPlace() ? tickData.reuse(currentTick + 1, boardRows, boardCols, rule.getPlaneCount()) : null;
+                BitBoard ages = ageData.reuse(currentTick + 1, boardRows, boardCols, CellAges.PLANES);
+                next = stepBoard(board, next, ageData.get(currentTick), ages);
+                changes = stepChanges;
+                ageData.put(currentTick + 1, ages);
             }
-            stateData.put(currentTick, getTickSumStates(currentTick));
+            currentTick += 1;
+            tickData.put(currentTick, next);
+            int births = BitBoard.getBirths(changes);
+            int deaths = BitBoard.getDeaths(changes);
+            statistics.put(currentTick, alive + births - deaths, births, deaths);
+            if (historyBackend.equals("live"))
+                statistics.removeBefore(currentTick - LIVE_TICKS);
+            detectCycle(currentTick, next);
         }
+        speculate();
     }
 
     /**
-     * This method confirms that each cell in the board checks 8 neighboring cells and wraps around the board
-     * when necessary.
-     * @param row The specific row which is being checked
-     * @param column The specific column which is being checked
-     * @param board the two dimensional array that is being currently being checked
-     * @return the number of neighbors to the source cell that are currently alive
+     * Starts computing the generations after the current tick in the background, unless they are stored already or are
+     * being computed or speculation is paused. Only generations that the stepper computes into a board are computed
+     * ahead (see stepsInPlace).
      */
-    public int checkNeighbors(int row, int column, Integer[][] board){
-        int sum = 0;
-        if (checkBounds(row, column + 1))
-            sum += board[row][column + 1];
-        else{
-            sum += board[row][0];
-        }
+    private void speculate(){
+        if (speculator == null || speculationPaused || !stepsInPlace() || tickData.containsKey(currentTick + 1))
+            return;
+        if (speculator.isFollowing(currentTick, speculativeStepper))
+            return;
+        BitBoard board = getCurrentBoard();
+        if (board != null)
+            speculationEpoch = speculator.restart(currentTick, board, ageData.get(currentTick), speculativeStepper);
+    }
 
-        if (checkBounds(row - 1, column))
-            sum += board[row - 1][column];
-        else{
-            sum += board[board.length - 1][column];
-        }
+    /**
+     * Changes the number of generations that are computed ahead of the current tick on a low-priority background
+     * thread while the engine is idle. Next Tick then only has to store a generation that is ready, which is checked
+     * against the current board and cell ages first.
+     * @param generations The number of generations (0 turns speculative stepping off)
+     */
+    @Override
+    public void setLookahead(int generations){
+        if (generations == (speculator == null ? 0 : speculator.getLookahead()))
+            return;
+        if (speculator != null)
+            speculator.shutdown();
+        speculator = generations > 0 ? new SpeculativeStepper(generations) : null;
+        speculate();
+    }
 
-        if (checkBounds(row + 1, column))
-            sum += board[row + 1][column];
-        else{
-            sum += board[0][column];
-        }
+    /**
+     * Stops computing generations ahead of the current tick until resumeSpeculation is called. Auto Play steps the
+     * engine as fast as it can, so the background thread would only compete with it for the processor and memory.
+     */
+    @Override
+    public void pauseSpeculation(){
+        speculationPaused = true;
+        if (speculator != null)
+            speculator.cancel();
+    }
 
-        if (checkBounds(row, column - 1))
-            sum += board[row][column - 1];
-        else{
-            sum += board[row][board[0].length - 1];
-        }
+    /**
+     * Computes generations ahead of the current tick again after pauseSpeculation
+     */
+    @Override
+    public void resumeSpeculation(){
+        speculationPaused = false;
+        speculate();
+    }
 
-        /** Top 4 are cardinal directions N S W E and should be all good */
+    /**
+     * Checks whether the next generation is computed by the stepper into a board that is handed to it, instead of by
+     * the unbounded universe, the workers or the sparse stepper (which hand back a new board)
+     * @return True if the stepper computes the next generation and False otherwise
+     */
+    private boolean stepsInPlace(){
+        if (unbounded && rule.isUnboundedSafe())
+            return false;
+        if (isDistributed())
+            return false;
+        /** Dying cells change every tick, so only rules without them can skip the quiet parts of the board */
+        return sparseStepper == null || rule.isGenerations();
+    }
 
-        if (checkBounds(row + 1, column + 1))
-            sum += board[row + 1][column + 1];
-        else{
-            /** First case is when point is on bottom row */
-            if (board.length - 1 == row){
-                /** Check if point is not the bottom right corner*/
-                if (board[0].length - 1 > column)
-                    sum += board[0][column + 1];
-                /** Switch to 0,0 if bottom right corner point*/
-                else
-                    sum += board[0][0];
-            }
-            /** Second case is when point is on last column */
-            else if (board[0].length - 1 == column){
-                sum += board[row + 1][0];
-            }
+    /**
+     * Computes the next generation of a board with whichever stepper is in use and keeps its packed number of births
+     * and deaths in stepChanges. The cell ages of the next tick are computed in the same pass when the stepper computes
+     * into a board, and in a pass of their own otherwise.
+     * @param board The board that holds the current generation
+     * @param next The board that the next generation is computed into if stepsInPlace (unused otherwise)
+     * @param ages The ages of the current tick (null if every age is 0)
+     * @param nextAges The board that receives the ages of the next tick (null to leave the ages alone)
+     * @return The board that holds the next generation
+     */
+    private BitBoard stepBoard(BitBoard board, BitBoard next, BitBoard ages, BitBoard nextAges){
+        if (stepsInPlace()){
+            stepChanges = stepper.step(board, next, ages, nextAges);
+            return next;
+        }
+        if (nextAges != null)
+            CellAges.advance(ages, board, nextAges);
+        if (unbounded && rule.isUnboundedSafe()){
+            next = stepUniverse(board);
+            stepChanges = BitBoard.countChanges(board, next);
         }
-
-
-        if (checkBounds(row - 1, column + 1))
-            sum += board[row - 1][column + 1];
         else{
-            /** First case is when point is on top row*/
-            if (row == 0){
-                /** Make sure we aren't dealing with top right point */
-                if (board[0].length - 1 > column)
-                    sum += board[board.length - 1][column + 1];
-                else
-                    sum += board[board.length - 1][0];
-            }
-
-            /** Second case is when we are dealing with last column */
+            next = sparseStepper.step(board, stepper);
+            stepChanges = sparseStepper.getLastChanges();
+        }
+        return next;
+    }
 
-            else if (board[0].length - 1 == column){
-                sum += board[row - 1][0];
+    /**
+     * Moves straight to a tick. A tick that is stored is simply shown. Otherwise the generations are computed from the
+     * closest earlier stored tick in a tight loop on two boards that take turns, and only every checkpointInterval-th
+     * tick and the last LIVE_TICKS ticks up to the target tick are stored (with their statistics), so Previous Tick
+     * still works after the jump. Cell ages only depend on the last MAX_AGE ticks, so they are only kept up for the
+     * ticks right before a stored tick. Ticks before the earliest stored tick cannot be reached.
+     * @param targetTick The tick to move to
+     */
+    @Override
+    public void goToTick(int targetTick){
+        if (tickData.containsKey(targetTick)){
+            currentTick = targetTick;
+            return;
+        }
+        int startTick = tickData.getStoredTickBefore(targetTick);
+        if (startTick < 0)
+            return;
+        takeStartedWorkers();
+        if (isDistributed()){
+            /** The workers keep the board from one tick to the next, so the ticks are simply stepped up to the target */
+            if (coordinatorTick < startTick || coordinatorTick > targetTick)
+                currentTick = startTick;
+            else
+                currentTick = coordinatorTick;
+            while (currentTick < targetTick && coordinator != null)
+                updateTick();
+            if (currentTick == targetTick)
+                return;
+            startTick = tickData.getStoredTickBefore(targetTick);
+        }
+        BitBoard board = tickData.get(startTick);
+        /** Views onto a history file are copied once, instead of every time part of them is read */
+        if (board.isReadOnly())
+            board = new BitBoard(board);
+        /** The board of the start tick belongs to the history, so it is never computed into */
+        BitBoard startBoard = board;
+        BitBoard spare = new BitBoard(boardRows, boardCols, rule.getPlaneCount());
+        BitBoard ages = ageData.get(startTick);
+        int alive = getAliveCount(startTick);
+        int births = 0;
+        int deaths = 0;
+        int firstLastTick = Math.max(startTick + 1, targetTick - LIVE_TICKS + 1);
+        for (int tick = startTick + 1; tick <= targetTick; tick++){
+            long checkpoint = ((long) tick + checkpointInterval - 1) / checkpointInterval * checkpointInterval;
+            long storedTick = Math.min(checkpoint, Math.max(tick, firstLastTick));
+            BitBoard nextAges = storedTick - tick < CellAges.MAX_AGE ? new BitBoard(boardRows, boardCols, CellAges.PLANES) : null;
+            BitBoard next = stepBoard(board, spare, ages, nextAges);
+            ages = nextAges;
+            if (next == spare)
+                spare = board != startBoard ? board : new BitBoard(boardRows, boardCols, rule.getPlaneCount());
+            board = next;
+            births = BitBoard.getBirths(stepChanges);
+            deaths = BitBoard.getDeaths(stepChanges);
+            alive += births - deaths;
+            if (tick == storedTick && tick != targetTick){
+                tickData.put(tick, new BitBoard(board));
+                ageData.put(tick, ages);
+                statistics.put(tick, alive, births, deaths);
             }
         }
+        tickData.put(targetTick, board);
+        ageData.put(targetTick, ages);
+        statistics.put(targetTick, alive, births, deaths);
+        if (historyBackend.equals("live"))
+            statistics.removeBefore(targetTick - LIVE_TICKS);
+        resetCycleDetection();
+        currentTick = targetTick;
+        speculate();
+    }
 
-        /** Top left */
-        if (checkBounds(row - 1, column - 1))
-            sum += board[row - 1][column - 1];
-        else{
-            /** First case is when point is on top row*/
-            if (row == 0){
+    /**
+     * Changes how often goToTick stores a tick on its way to the target tick
+     * @param interval The number of ticks between two stored ticks
+     */
+    @Override
+    public void setCheckpointInterval(int interval){
+        checkpointInterval = Math.max(1, interval);
+    }
 
-                /** make sure its not the top left point */
-                if (column != 0){
-                    sum += board[board.length - 1][column - 1];
+    /**
+     * Advances the board by 2^power generations in a single call using HashLife. Only the board for the target tick is
+     * stored, so the ticks in between have no board data. HashLife runs the pattern on an unbounded plane, which only
+     * gives the same board as stepping when the pattern cannot reach an edge during the jump (whatever the topology,
+     * an edge either wraps cells around or drops them), so it is only used while every alive cell lies at least 2^power
+     * cells away from every edge. Other boards, and rules that HashLife cannot run (rules with dying states or B0), are
+     * stepped one generation at a time instead. HashLife is kept from one jump to the next, so regions that an earlier
+     * jump already advanced are not computed again.
+     * @param power The power of two of the number of generations to advance
+     */
+    @Override
+    public void jumpGenerations(int power){
+        int targetTick = currentTick + (1 << power);
+        if (!tickData.containsKey(targetTick)){
+            BitBoard result;
+            if (rule.isUnboundedSafe() && getCurrentBoard().isInside(1 << power)){
+                if (hashLife == null)
+                    hashLife = new HashLife(getCurrentBoard(), HashLife.DEFAULT_MAX_NODES, rule);
+                else if (hashLifeBoard != getCurrentBoard())
+                    hashLife.setBoard(getCurrentBoard());
+                else{
+                    /** The universe goes on from the last jump, whose result lay within the board */
+                    hashLife.clip(boardRows, boardCols);
                 }
-                /** correct point for the top left point*/
-                else
-                    sum += board[board.length - 1][board[0].length - 1];
-
+                hashLife.advance(power);
+                result = new BitBoard(boardRows, boardCols);
+                hashLife.copyTo(result);
+                hashLifeBoard = result;
             }
-            /** Second case is for first column */
-            else if (column == 0)
-                sum += board[row - 1][board[0].length - 1];
-
-        }
-        /** Bottom left */
-        if (checkBounds(row + 1, column - 1))
-            sum += board[row + 1][column - 1];
-        else{
-            /** First case is first column*/
-            if (column == 0){
-                /** confirm not bottom left point */
-                if (row != board.length - 1){
-                    sum += board[row + 1][board[0].length - 1];
+            else{
+                /** The two boards take turns holding the current generation */
+                result = new BitBoard(getCurrentBoard());
+                BitBoard next = new BitBoard(boardRows, boardCols, rule.getPlaneCount());
+                for (int count = 0; count < (1 << power); count++){
+                    stepper.step(result, next);
+                    BitBoard previous = result;
+                    result = next;
+                    next = previous;
                 }
-                else
-                    sum += board[0][board[0].length - 1];
             }
-            /** Second case is last row*/
-            else if (board.length - 1 == row)
-                sum += board[0][column - 1];
-
+            long changes = BitBoard.countChanges(getCurrentBoard(), result);
+            /** The ticks in between are not stored, so only a single generation keeps the ages going */
+            if (power == 0)
+                ageData.put(targetTick, CellAges.advance(ageData.get(currentTick), getCurrentBoard()));
+            else
+                ageData.put(targetTick, new BitBoard(boardRows, boardCols, CellAges.PLANES));
+            tickData.put(targetTick, result);
+            statistics.put(targetTick, result.population(), BitBoard.getBirths(changes), BitBoard.getDeaths(changes));
+            resetCycleDetection();
         }
-        return sum;
+        currentTick = targetTick;
+        speculate();
     }
 
     /**
-     * Writes the board data for the desired number of ticks
+     * Writes the board data for the desired number of ticks. Ticks without board data (skipped over by a jump) are not written.
      * @param start The starting tick to print data for (inclusive)
      * @param end The ending tick to print data for (inclusive)
      * @param filePattern The file pattern for the output files
      * @param folderPattern The folder pattern for the folder where the output files are placed
      */
+    @Override
     public void writeData(int start, int end, String filePattern, String folderPattern){
+        gatherDistributed();
         for (int count = start; count <= end; count++){
+            if (!tickData.containsKey(count))
+                continue;
             WriteData.writeFile(this.boardToString(this.getSpecificTickData(count)), filePattern, folderPattern  , count);
         }
     }
@@ -0,0 +1,200 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+
+/**
+ * Runs the GameOfLife from the command line without a display (and without JavaFX). The board is loaded from an input
+ * file with ParseData, stepped for a number of generations with the same engine settings as the GUI (see
+ * EngineSettings) and then summarized. Selected ticks are written with WriteData as they are computed, so they are
+ * written even when the history does not keep them.
+ * Usage: GameOfLifeCLI &lt;input file&gt; &lt;generations&gt; [key=value ...]
+ * Besides the settings of the configuration file (such as rule=B36/S23 or history=live), the following settings are
+ * understood: config (a configuration file to read the settings from), write (the ticks to write, as 'first-last' or
+ * 'all'), folderPattern and filePattern (where the ticks are written), report (print the statistics every that many
+ * ticks) and stopOnCycle (stop early when the board repeats, like Auto Play). Settings are applied in order, so later
+ * settings replace earlier ones. A batch run is never idle, so nothing is computed ahead unless lookahead is given.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class GameOfLifeCLI {
+
+    /** The first tick that is written (-1 if no tick is written) */
+    private int firstWrittenTick = -1;
+    /** The last tick that is written */
+    private int lastWrittenTick = -1;
+    /** The folder pattern for the written ticks */
+    private String folderPattern = "output";
+    /** The file pattern for the written ticks */
+    private String filePattern = "tick";
+    /** The number of ticks between two printed statistics (0 only prints the summary) */
+    private int reportInterval = 0;
+    /** Whether the run ends early once a repeating board is detected */
+    private boolean stopOnCycle = false;
+
+    /**
+     * Runs the command line version of the program
+     * @param args The input file, the number of generations and any number of settings in the form 'key=value'
+     */
+    public static void main(String[] args){
+        if (args.length < 2){
+            System.out.println("Usage: GameOfLifeCLI <input file> <generations> [key=value ...]");
+            System.exit(1);
+        }
+        int generations = 0;
+        try {
+            generations = Integer.parseInt(args[1]);
+        }
+        catch (NumberFormatException ex){
+            System.out.println("Invalid number of generations: " + args[1]);
+            System.exit(1);
+        }
+        GameOfLifeCLI cli = new GameOfLifeCLI();
+        EngineSettings.lookahead = 0;
+        for (int i = 2; i < args.length; i++)
+            cli.readSetting(args[i]);
+        SimulationEngine gol = SimulationEngine.create(EngineSettings.engine);
+        EngineSettings.apply(gol);
+        ParseData.readFile(args[0], gol);
+        /** The workers start while the input file is read, and a batch run only steps once they are there */
+        gol.awaitWorkers();
+        cli.run(gol, generations);
+        gol.shutdownWorkers();
+    }
+
+    /**
+     * Reads a single setting from the command line. Invalid settings end the program, since a batch run with the wrong
+     * settings would only produce the wrong results.
+     * @param argument The setting in the form 'key=value'
+     */
+    public void readSetting(String argument){
+        String[] values = argument.split("=", 2);
+        if (values.length != 2){
+            System.out.println("Invalid setting (expected key=value): " + argument);
+            System.exit(1);
+        }
+        String key = values[0].trim();
+        String value = values[1].trim();
+        try {
+            switch (key){
+                case "config":
+                    readConfigFile(value);
+                    break;
+                case "write":
+                    readTickRange(value);
+                    break;
+                case "folderPattern":
+                    folderPattern = value;
+                    break;
+                case "filePattern":
+                    filePattern = value;
+                    break;
+                case "report":
+                    reportInterval = Math.max(0, Integer.parseInt(value));
+                    break;
+                case "stopOnCycle":
+                    stopOnCycle = Boolean.parseBoolean(value);
+                    break;
+                default:
+                    if (!EngineSettings.set(key, value)){
+                        System.out.println("Unknown setting: " + key);
+                        System.exit(1);
+                    }
+            }
+        }
+        catch (NumberFormatException ex){
+            System.out.println("Invalid value for setting: " + key);
+            System.exit(1);
+        }
+        catch (IllegalArgumentException ex){
+            System.out.println(ex.getMessage() + " (for setting: " + key + ")");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads the engine settings of a configuration file that was written by the GUI, so that a batch run steps the
+     * board exactly like the GUI does. The five standard values at the top of the file only matter to the GUI.
+     * @param filename The configuration file
+     */
+    private static void readConfigFile(String filename){
+        try (BufferedReader br = new BufferedReader(new FileReader(filename))){
+            for (int i = 0; i < 5; i++)
+                br.readLine();
+            String line;
+            while ((line = br.readLine()) != null)
+                EngineSettings.read(line);
+        }
+        catch (IOException ex){
+            System.out.println("Configuration file unable to be read/found: " + filename);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads the range of ticks that are written
+     * @param value The range in the form 'first-last' (inclusive), a single tick, or 'all'
+     */
+    private void readTickRange(String value){
+        if (value.equals("all")){
+            firstWrittenTick = 0;
+            lastWrittenTick = Integer.MAX_VALUE;
+            return;
+        }
+        String[] bounds = value.split("-", 2);
+        firstWrittenTick = Integer.parseInt(bounds[0].trim());
+        lastWrittenTick = bounds.length == 2 ? Integer.parseInt(bounds[1].trim()) : firstWrittenTick;
+        if (firstWrittenTick < 0 || lastWrittenTick < firstWrittenTick)
+            throw new NumberFormatException(value);
+    }
+
+    /**
+     * Steps the board for a number of generations, writes the selected ticks and prints the statistics
+     * @param gol The GameOfLife with the loaded board
+     * @param generations The number of generations to compute
+     */
+    public void run(SimulationEngine gol, int generations){
+        long start = System.nanoTime();
+        writeTick(gol);
+        report(gol, false);
+        int computed = 0;
+        while (computed < generations && !(stopOnCycle && gol.getDetectedPeriod() != 0)){
+            gol.updateTick();
+            computed += 1;
+            writeTick(gol);
+            report(gol, false);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        report(gol, true);
+        if (gol.getDetectedPeriod() != 0)
+            System.out.println(gol.isExtinct() ? "Extinct" : "Cycle of period: " + gol.getDetectedPeriod());
+        System.out.printf("Computed %d generations in %.3f s (%.0f generations/s)%n", computed, seconds, computed / Math.max(seconds, 1e-9));
+    }
+
+    /**
+     * Writes the board of the current tick if it is one of the selected ticks
+     * @param gol The GameOfLife
+     */
+    private void writeTick(SimulationEngine gol){
+        int tick = gol.getCurrentTick();
+        if (tick >= firstWrittenTick && tick <= lastWrittenTick && firstWrittenTick >= 0)
+            WriteData.writeFile(gol.boardToString(gol.getCurrentBoard()), filePattern, folderPattern, tick);
+    }
+
+    /**
+     * Prints the statistics of the current tick
+     * @param gol The GameOfLife
+     * @param summary True to always print them and False to only print them every reportInterval ticks
+     */
+    private void report(SimulationEngine gol, boolean summary){
+        int tick = gol.getCurrentTick();
+        if (!summary && (reportInterval == 0 || tick % reportInterval != 0))
+            return;
+        Pair<Integer, Integer> states = gol.getTickSumStates(tick);
+        System.out.println("Tick: " + tick + " Alive: " + states.getKey() + " Dead: " + states.getValue() + " Births: " + gol.getBirths(tick) + " Deaths: " + gol.getDeaths(tick));
+    }
+
+}
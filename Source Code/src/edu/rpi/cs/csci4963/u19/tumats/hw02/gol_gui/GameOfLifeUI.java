@@ -1,10 +1,10 @@
 package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.scene.Scene;
 import javafx.scene.layout.BorderPane;
 import javafx.stage.Stage;
-import javafx.util.Pair;
 
 /**
  * Main Class for the GUI. It contains all parts of the GUI and also houses 'central' methods that require a number of
@@ -20,8 +20,8 @@ public class GameOfLifeUI extends Application {
     private int maxTicks;
     /** configHandler represents the instance of ConfigHandler that handles all operations related to the Configuration File */
     private ConfigHandler configHandler;
-    /** gol is the GameOfLife object where all data related operations occur */
-    private GameOfLife gol = new GameOfLife();
+    /** gol is the simulation engine where all data related operations occur */
+    private SimulationEngine gol;
     /** borderPane is the main GUI component that connects the various parts of the GUI */
     private BorderPane borderPane;
     /** gridView represents the instance of the GridView which generates the grid viewable by the user for the lifetime of the program */
@@ -34,14 +34,43 @@ public class GameOfLifeUI extends Application {
     private UserMenu menuBar;
     /** toolbar is the Toolbar that is displayed to the user at the bottom of the GUI */
     private UserToolbar toolbar;
+    /** statisticsFrame holds the statistics of the current tick while they are shown */
+    private SimulationFrame statisticsFrame = new SimulationFrame();
+    /** runner steps the engine on the simulation thread during Auto Play (null when Auto Play is not running) */
+    private SimulationRunner runner;
+    /** renderTimer shows the newest frame of the runner once per display refresh during Auto Play */
+    private AnimationTimer renderTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            /** The frame that the grid shows stays held by the runner until the density renderer has copied its board */
+            if (!gridView.isBoardReleased())
+                return;
+            SimulationFrame frame = runner.takeLatest();
+            if (frame != null){
+                gridView.updateGrid(frame);
+                showStatistics(frame);
+            }
+            else if (runner.isFinished())
+                stopAutoPlay();
+        }
+    };
 
     /**
      * assignDefaultVals is run to initialize the program and get the maximum number of ticks from the configuration file
-     * (if it exists) and sets it to 50 otherwise.
+     * (if it exists) and sets it to 50 otherwise. The simulation engine is created here from the engine setting.
      */
     public void assignDefaultVals(){
         String[] configData = ConfigHandler.readConfigFile();
         maxTicks = Integer.parseInt(configData[2]);
+        gol = SimulationEngine.create(EngineSettings.engine);
+        applyEngineSettings();
+    }
+
+    /**
+     * Passes the engine related values of the configuration file (such as the number of threads) on to the engine
+     */
+    public void applyEngineSettings(){
+        EngineSettings.apply(gol);
     }
 
     /**
@@ -49,11 +78,13 @@ public class GameOfLifeUI extends Application {
      * @param filename the name of the data file (determined by user)
      */
     public void loadFile(String filename){
+        stopAutoPlay();
         gol.resetData();
         userStatistics.resetStatistics();
         userStatistics.setCurrentAliveVal(0);
         ParseData.readFile(filename, gol);
         userStatistics.setCurrentDeadVal(gol.getNumCols() * gol.getNumRows());
+        gridView.shutdown();
         gridView = new GridView(gol, this, userStatistics);
         gridView.loadGrid();
         borderPane.setCenter(gridView.getGridView());
@@ -65,7 +96,9 @@ public class GameOfLifeUI extends Application {
      * @param dimensionChange true if the user changed the default row/column values and false otherwise
      */
     public void updateDefaultVals(boolean dimensionChange){
+        stopAutoPlay();
         this.maxTicks = ConfigHandler.maxTicks;
+        applyEngineSettings();
         if (dimensionChange) {
             resetData();
             userStatistics.setCurrentDeadVal(gol.getNumCols() * gol.getNumRows());
@@ -90,7 +123,9 @@ public class GameOfLifeUI extends Application {
      * Allows the program to reset and also account for any changes in the dimensions of the grid
      */
     public void resetData(){
+        stopAutoPlay();
         gol.resetData();
+        gridView.shutdown();
         gridView = new GridView(gol, this, userStatistics);
         gridView.generateGrid(ConfigHandler.defaultRows, ConfigHandler.defaultCols);
         borderPane.setCenter(gridView.getGridView());
@@ -104,21 +139,119 @@ public class GameOfLifeUI extends Application {
      * Performs all necessary operations in order to update the current tick
      */
     public void updateGOLSTick(){
+        stopAutoPlay();
         if (gridView.isPopulated() && gol.getCurrentTick() < maxTicks){
 //            if (gol.getCurrentTick() == 0)
 //            gol.populateBoard();
             gol.updateTick();
-            userStatistics.incrementTick();
-            Pair<Integer, Integer> totalStates = gol.getTickSumStates(gol.getCurrentTick());
-            userStatistics.setCurrentAliveVal(totalStates.getKey());
-            userStatistics.setCurrentDeadVal(totalStates.getValue());
-            if (gol.getCurrentTick() > 0){
-                Pair<Integer, Integer> previousStates = gol.getTickSumStates(gol.getCurrentTick() - 1);
-                userStatistics.setPreviousAliveVal(previousStates.getKey());
-                userStatistics.setPreviousDeadVal(previousStates.getValue());
-            }
+            refreshStatistics();
+            gridView.updateGrid();
+        }
+    }
+
+    /**
+     * Advances the board by 2^power generations in a single jump (as long as the jump stays within the maximum number
+     * of ticks) and displays the resulting tick
+     * @param power The power of two of the number of generations to advance
+     */
+    public void jumpAhead(int power){
+        stopAutoPlay();
+        if (gridView.isPopulated() && gol.getCurrentTick() + (1L << power) <= maxTicks){
+            gol.jumpGenerations(power);
+            refreshStatistics();
+            gridView.updateGrid();
+        }
+    }
+
+    /**
+     * Moves straight to a tick (as long as it is within the maximum number of ticks) without storing or displaying the
+     * ticks in between, and displays the resulting tick
+     * @param tick The tick to move to
+     */
+    public void goToTick(int tick){
+        stopAutoPlay();
+        if (gridView.isPopulated() && tick <= maxTicks){
+            gol.goToTick(tick);
+            refreshStatistics();
+            gridView.updateGrid();
+        }
+    }
+
+    /**
+     * Updates the statistics to show the current tick of the GameOfLife and the tick before it
+     */
+    public void refreshStatistics(){
+        showStatistics(statisticsFrame.readStatistics(gol));
+    }
+
+    /**
+     * Shows the statistics of a frame
+     * @param frame The frame with the statistics of a tick
+     */
+    private void showStatistics(SimulationFrame frame){
+        userStatistics.setCurrentTickVal(frame.getTick());
+        userStatistics.setCurrentAliveVal(frame.getAlive());
+        userStatistics.setCurrentDeadVal(frame.getDead());
+        userStatistics.setPreviousAliveVal(frame.getPreviousAlive());
+        userStatistics.setPreviousDeadVal(frame.getPreviousDead());
+        userStatistics.setBirthsVal(frame.getBirths());
+        userStatistics.setDeathsVal(frame.getDeaths());
+        userStatistics.setDetectedPeriodVal(frame.getDetectedPeriod(), frame.isExtinct());
+    }
+
+    /**
+     * Starts Auto Play: the engine is stepped on the simulation thread until the maximum number of ticks is reached or
+     * the board has died out, settled or started repeating, while the grid shows the newest tick once per display
+     * refresh. Nothing is computed ahead of the current tick until Auto Play stops. A paused Auto Play is resumed instead.
+     * @param ticksPerSecond The target number of ticks per second (0 steps as fast as possible)
+     */
+    public void startAutoPlay(double ticksPerSecond){
+        if (runner != null){
+            runner.setTicksPerSecond(ticksPerSecond);
+            runner.resume();
+            return;
+        }
+        if (!gridView.isPopulated())
+            return;
+        gridView.releaseBoard();
+        gol.pauseSpeculation();
+        runner = new SimulationRunner(gol, maxTicks, ticksPerSecond);
+        runner.start();
+        renderTimer.start();
+    }
+
+    /**
+     * Pauses Auto Play (if it is running)
+     */
+    public void pauseAutoPlay(){
+        if (runner != null)
+            runner.pause();
+    }
+
+    /**
+     * Changes the target number of ticks per second of Auto Play (if it is running)
+     * @param ticksPerSecond The target number of ticks per second (0 steps as fast as possible)
+     */
+    public void setAutoPlaySpeed(double ticksPerSecond){
+        if (runner != null)
+            runner.setTicksPerSecond(ticksPerSecond);
+    }
+
+    /**
+     * Stops Auto Play (if it is running) and shows the tick that it stopped on. This is called before anything else
+     * uses the engine, since the engine must only be used by a single thread at a time, and it also waits until the
+     * grid no longer reads the board of the engine, since the board may change afterwards.
+     */
+    public void stopAutoPlay(){
+        if (runner != null){
+            runner.stop();
+            renderTimer.stop();
+            runner = null;
+            gol.resumeSpeculation();
+            refreshStatistics();
             gridView.updateGrid();
         }
+        gridView.releaseBoard();
     }
 
     /**
@@ -1,90 +1,267 @@
 package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
 
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.event.EventHandler;
-import javafx.scene.Node;
+import javafx.geometry.Orientation;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.ScrollBar;
 import javafx.scene.control.Tooltip;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.layout.GridPane;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
-import javafx.util.Pair;
-import java.util.HashMap;
 
 /**
  * Handles all operations relating to the Grid that is visible to the user. Additionally, event handlers are added
  * to the grid to make it responsive.
+ * The grid is a viewport onto the board: a Canvas the size of the window that only draws the cells that are visible.
+ * The mouse wheel zooms in and out around the mouse, dragging or the scroll bars move the view, and a click toggles the
+ * cell under the mouse. The view is kept in whole pixels (the offset of the view from the corner of the board and a
+ * whole number of pixels per cell), so every cell starts on a pixel.
+ * At one pixel per cell or more, the visible cells are painted into an image with one pixel per cell, straight from
+ * the packed words of the board and its cell ages, and the image is drawn scaled up to the size of a cell. The grid
+ * keeps the words that it shows and only repaints the bands of cells whose words changed, so drawing a tick costs
+ * about as much as the activity in the view. Zoomed out further, every pixel covers a block of cells and shows how
+ * full the block is, which is worked out on a background thread (see DensityRenderer). Either way the work on the
+ * JavaFX Application Thread depends on the size of the view and not on the size of the board.
  *
  * @author Srikanth Tumati
  * @version 1.0
  * @since 1.0
  */
-public class GridView extends GridPane {
+public class GridView {
 
-    /** gridPane is the GridPane where all cells are added */
-    private GridPane gridPane = new GridPane();
-    /** gol is the GameOfLife object where all data related operations occur */
-    private GameOfLife gol;
+    /** The size in pixels of a cell on boards that are small enough to show every cell at full size */
+    private static final double DEFAULT_CELL_SIZE = 30;
+    /** The largest size in pixels of a cell when zooming in */
+    private static final double MAX_CELL_SIZE = 64;
+    /** How much a single step of the mouse wheel zooms in or out (at one pixel per cell or more) */
+    private static final double ZOOM_FACTOR = 1.25;
+    /** The smallest size in pixels of a cell at which the grid lines are drawn */
+    private static final double MIN_GRID_LINE_CELL_SIZE = 4;
+    /** The largest width in pixels that the grid asks the window for (larger boards are scrolled or zoomed out) */
+    private static final double MAX_VIEWPORT_WIDTH = 1200;
+    /** The largest height in pixels that the grid asks the window for (larger boards are scrolled or zoomed out) */
+    private static final double MAX_VIEWPORT_HEIGHT = 800;
+    /** The number of rows in a band of cells that is repainted as a whole when any of its words changed */
+    private static final int BAND_ROWS = 16;
+
+    /** gridPane holds the viewport and its scroll bars */
+    private BorderPane gridPane = new BorderPane();
+    /** viewport is the Pane that the canvas fills */
+    private Pane viewport = new Pane();
+    /** canvas is the Canvas that the visible part of the board is drawn onto */
+    private Canvas canvas = new Canvas();
+    /** horizontalBar scrolls the view across the columns */
+    private ScrollBar horizontalBar = new ScrollBar();
+    /** verticalBar scrolls the view across the rows */
+    private ScrollBar verticalBar = new ScrollBar();
+    /** updatingBars is whether the scroll bars are being moved to the view (instead of by the user) */
+    private boolean updatingBars = false;
+    /** numRows is the number of rows of the board (0 until the grid is generated) */
+    private int numRows = 0;
+    /** numCols is the number of columns of the board (0 until the grid is generated) */
+    private int numCols = 0;
+    /** cellSize is the size of a cell in pixels (a whole number, or 1 / 2^k when zoomed out below a pixel per cell) */
+    private double cellSize = DEFAULT_CELL_SIZE;
+    /** originX is the offset in whole pixels of the left edge of the view from the left edge of the board */
+    private double originX = 0;
+    /** originY is the offset in whole pixels of the top edge of the view from the top edge of the board */
+    private double originY = 0;
+    /** fitted is whether the zoom has been fitted to the board once the viewport got its size */
+    private boolean fitted = false;
+    /** pressX is the x coordinate of the last mouse press */
+    private double pressX;
+    /** pressY is the y coordinate of the last mouse press */
+    private double pressY;
+    /** pressOriginX is originX at the last mouse press */
+    private double pressOriginX;
+    /** pressOriginY is originY at the last mouse press */
+    private double pressOriginY;
+    /** board is the board that the grid shows (null until a board is shown) */
+    private BitBoard board;
+    /** ages are the ages of the cells of board (null if every cell is young) */
+    private BitBoard ages;
+    /** image holds one pixel for every visible cell (null until cells are drawn) */
+    private WritableImage image;
+    /** pixels holds the colors of the visible cells row after row before they are written into the image */
+    private int[] pixels = new int[0];
+    /** imageStride is the number of pixels in a row of pixels (64 for every visible word) */
+    private int imageStride;
+    /** shownWords holds the words of every plane of the board and the ages that the visible cells were painted from */
+    private long[] shownWords = new long[0];
+    /** shownValid is whether the canvas shows the cells of shownWords with the current view */
+    private boolean shownValid = false;
+    /** shownFirstRow is the first row of the visible cells */
+    private int shownFirstRow;
+    /** shownFirstWord is the first visible word of a row */
+    private int shownFirstWord;
+    /** shownRowCount is the number of visible rows */
+    private int shownRowCount;
+    /** shownWordCount is the number of visible words in a row */
+    private int shownWordCount;
+    /** shownPlanes is the number of planes of the board that the visible cells were painted from */
+    private int shownPlanes;
+    /** densityRenderer works out the pixels of the view when zoomed out below a pixel per cell (null until then) */
+    private DensityRenderer densityRenderer;
+    /** densityImage holds the pixels of the last density frame */
+    private WritableImage densityImage;
+    /** densityDirty is whether the board or the view changed since the last board was handed to densityRenderer */
+    private boolean densityDirty = false;
+    /** lockedTooltip tells the user that the cells cannot be changed after the initial tick */
+    private Tooltip lockedTooltip = new Tooltip("State locked after initial tick");
+    /** tooltipInstalled is whether lockedTooltip is installed on the canvas */
+    private boolean tooltipInstalled = false;
+    /** gol is the simulation engine where all data related operations occur */
+    private SimulationEngine gol;
     /** golui is an instance of the GameOfLifeUI and allows the UserMenu to call various 'central methods' */
     private GameOfLifeUI golui;
     /** userStatistics represents the instance of UserStatistics that is used to display data about the current tick to the user */
     private UserStatistics userStatistics;
-    /** gridData is a HashMap that stores all Rectangles that are present in the grid */
-    private HashMap<Pair<Integer, Integer>, Rectangle> gridData = new HashMap<>();
 
     /** Default color of a dead cell rgb(255, 255, 255) */
     private static Color defaultDeadColor = Color.rgb(255, 255, 255);
     /** Default color of an alive cell rgb(211, 211, 211) */
     private static Color defaultAliveColor = Color.rgb(211, 211, 211);
+    /** Default color of a dying cell (Generations rules only) rgb(235, 235, 235) */
+    private static Color defaultDyingColor = Color.rgb(235, 235, 235);
+    /** Color of the grid lines rgb(160, 160, 160) */
+    private static Color gridLineColor = Color.rgb(160, 160, 160);
+    /** Color of the part of the view that lies outside of the board rgb(120, 120, 120) */
+    private static Color outsideColor = Color.rgb(120, 120, 120);
+    /** The packed color (ARGB) of a dead cell */
+    private static final int DEAD_PIXEL = toArgb(defaultDeadColor);
+    /** The packed color (ARGB) of a dying cell */
+    private static final int DYING_PIXEL = toArgb(defaultDyingColor);
+    /** The packed colors (ARGB) of alive cells, indexed by their age */
+    private static final int[] ALIVE_PIXELS = new int[CellAges.MAX_AGE + 1];
+    /** The packed colors (ARGB) of blocks of cells when zoomed out (see DensityRenderer), from the color of an alive cell to the oldest shade */
+    private static final int[] DENSITY_PIXELS = new int[DensityRenderer.EMPTY + 1 + DensityRenderer.LEVELS];
+
+    static {
+        for (int age = 0; age <= CellAges.MAX_AGE; age++)
+            ALIVE_PIXELS[age] = toArgb(calculateShade(age));
+        Color oldest = calculateShade(CellAges.MAX_AGE);
+        DENSITY_PIXELS[DensityRenderer.OUTSIDE] = toArgb(outsideColor);
+        DENSITY_PIXELS[DensityRenderer.EMPTY] = DEAD_PIXEL;
+        for (int level = 0; level < DensityRenderer.LEVELS; level++){
+            double fill = level / (DensityRenderer.LEVELS - 1.0);
+            DENSITY_PIXELS[DensityRenderer.EMPTY + 1 + level] = toArgb(defaultAliveColor.interpolate(oldest, fill));
+        }
+    }
 
     /**
      * Constructor for the GridView class
-     * @param gol The GameOfLife object that is currently being used in the program
+     * @param gol The simulation engine that is currently being used in the program
      * @param golui The GameOfLifeUI object that is currently being used in the program
      * @param userStatistics the UserStatistics object that is currently being used in the program
      */
-    public GridView(GameOfLife gol, GameOfLifeUI golui, UserStatistics userStatistics){
+    public GridView(SimulationEngine gol, GameOfLifeUI golui, UserStatistics userStatistics){
         this.gol = gol;
         this.golui = golui;
         this.userStatistics = userStatistics;
+        canvas.widthProperty().bind(viewport.widthProperty());
+        canvas.heightProperty().bind(viewport.heightProperty());
+        ChangeListener<Number> resized = new ChangeListener<Number>() {
+            @Override
+            public void changed(ObservableValue<? extends Number> observableValue, Number oldSize, Number newSize) {
+                moveView(originX, originY);
+            }
+        };
+        canvas.widthProperty().addListener(resized);
+        canvas.heightProperty().addListener(resized);
+        viewport.getChildren().add(canvas);
+        viewport.setMinSize(0, 0);
+        horizontalBar.setOrientation(Orientation.HORIZONTAL);
+        verticalBar.setOrientation(Orientation.VERTICAL);
+        horizontalBar.valueProperty().addListener(new ChangeListener<Number>() {
+            @Override
+            public void changed(ObservableValue<? extends Number> observableValue, Number oldValue, Number newValue) {
+                if (!updatingBars)
+                    moveView(Math.round(newValue.doubleValue()), originY);
+            }
+        });
+        verticalBar.valueProperty().addListener(new ChangeListener<Number>() {
+            @Override
+            public void changed(ObservableValue<? extends Number> observableValue, Number oldValue, Number newValue) {
+                if (!updatingBars)
+                    moveView(originX, Math.round(newValue.doubleValue()));
+            }
+        });
+        canvas.addEventFilter(MouseEvent.MOUSE_CLICKED, updateCell());
+        canvas.addEventFilter(MouseEvent.MOUSE_PRESSED, new EventHandler<MouseEvent>() {
+            @Override
+            public void handle(MouseEvent mouseEvent) {
+                pressX = mouseEvent.getX();
+                pressY = mouseEvent.getY();
+                pressOriginX = originX;
+                pressOriginY = originY;
+            }
+        });
+        canvas.addEventFilter(MouseEvent.MOUSE_DRAGGED, new EventHandler<MouseEvent>() {
+            @Override
+            public void handle(MouseEvent mouseEvent) {
+                moveView(Math.round(pressOriginX - (mouseEvent.getX() - pressX)), Math.round(pressOriginY - (mouseEvent.getY() - pressY)));
+            }
+        });
+        canvas.addEventFilter(ScrollEvent.SCROLL, new EventHandler<ScrollEvent>() {
+            @Override
+            public void handle(ScrollEvent scrollEvent) {
+                if (scrollEvent.getDeltaY() != 0)
+                    zoom(scrollEvent.getDeltaY() > 0, scrollEvent.getX(), scrollEvent.getY());
+                scrollEvent.consume();
+            }
+        });
+        gridPane.setCenter(viewport);
+        gridPane.setBottom(horizontalBar);
+        gridPane.setRight(verticalBar);
     }
 
     /**
-     * Retrieves the GridPane (does not have to be populated)
-     * @return The GridPane to be displayed in the GUI
+     * Retrieves the node that shows the grid (does not have to be populated)
+     * @return The BorderPane holding the grid and its scroll bars to be displayed in the GUI
      */
-    public GridPane getGridView(){
-        gridPane.setGridLinesVisible(true);
+    public BorderPane getGridView(){
         return gridPane;
     }
 
     /**
-     * Actions that run by the Rectangles on the grid when clicked on by the user
-     * @param rectangle The rectangle that is currently being clicked on
+     * Actions that run when the user clicks on the grid. The cell under the mouse is toggled, unless the mouse was
+     * dragged to move the view or the grid is zoomed out too far to show single cells.
      * @return the EventHandler processing the interaction
      */
-    public EventHandler updateRectangle(Rectangle rectangle){
+    public EventHandler<MouseEvent> updateCell(){
         EventHandler<MouseEvent> eventHandler = new EventHandler<MouseEvent>() {
             @Override
             public void handle(MouseEvent mouseEvent) {
-                if (gol.getCurrentTick() != 0 && gol.getTotalTickData().keySet().size() > 1)
+                if (!mouseEvent.isStillSincePress() || cellSize < 1)
                     return;
-                if (gol.getTotalTickData().keySet().size() > 1 && gol.getCurrentTick() == 0)
+                golui.stopAutoPlay();
+                if (gol.getCurrentTick() != 0 && gol.getNumStoredTicks() > 1)
+                    return;
+                int row = (int) Math.floor((originY + mouseEvent.getY()) / cellSize);
+                int col = (int) Math.floor((originX + mouseEvent.getX()) / cellSize);
+                if (!gol.checkBounds(row, col))
+                    return;
+                if (gol.getNumStoredTicks() > 1 && gol.getCurrentTick() == 0)
                     gol.resetFutureTickData();
-                Node source = (Node)mouseEvent.getSource();
-                int row = GridPane.getRowIndex(source);
-                int col = GridPane.getColumnIndex(source);
-                if (rectangle.getFill().equals(defaultDeadColor)){
-                    rectangle.setFill(defaultAliveColor);
+                if (gol.getCellState(row, col) == 0){
                     userStatistics.incrementAliveCell();
                     userStatistics.decrementDeadCell();
                     gol.setState(row, col, true);
                 }
                 else{
-                    rectangle.setFill(defaultDeadColor);
                     userStatistics.decrementAliveCell();
                     userStatistics.incrementDeadCell();
                     gol.setState(row, col, false);
                 }
+                updateGrid();
             }
         };
         return eventHandler;
@@ -98,96 +275,389 @@ public class GridView extends GridPane {
     public void generateGrid(int defaultRows, int defaultCols){
         Pair<Integer, Integer> dimensions = new Pair<>(defaultRows, defaultCols);
         gol.initializeBoard(dimensions);
-        for (int row = 0; row < defaultRows; row++ ){
-            for (int col = 0; col < defaultCols; col++ ){
-                Rectangle rectangle = new Rectangle();
-                rectangle.setWidth(30);
-                rectangle.setHeight(30);
-                rectangle.setFill(defaultDeadColor);
-                rectangle.addEventFilter(javafx.scene.input.MouseEvent.MOUSE_CLICKED, updateRectangle(rectangle));
-                gridPane.add(rectangle, col, row);
-                gridData.put(new Pair<>(row, col), rectangle);
-            }
-        }
-        gridPane.setGridLinesVisible(true);
+        setBoardSize(defaultRows, defaultCols);
+        updateGrid();
     }
 
     /**
-     * Creates the grid based on the loaded data file. Also adds EventHandlers to all Rectangles being added.
+     * Creates the grid based on the loaded data file
      */
     public void loadGrid(){
-        int numRows = gol.getNumRows();
-        int numCols = gol.getNumCols();
-        for (int row = 0; row < numRows; row++ ){
-            for (int col = 0; col < numCols; col++ ){
-                Rectangle rectangle = new Rectangle();
-                rectangle.setWidth(30);
-                rectangle.setHeight(30);
-                if (gol.getCellVal(row, col) == 0)
-                    rectangle.setFill(defaultDeadColor);
-                else
-                    rectangle.setFill(defaultAliveColor);
-                rectangle.addEventFilter(javafx.scene.input.MouseEvent.MOUSE_CLICKED, updateRectangle(rectangle));
-                gridPane.add(rectangle, col, row);
-                gridData.put(new Pair<>(row, col), rectangle);
-            }
-        }
-        gridPane.setGridLinesVisible(true);
+        setBoardSize(gol.getNumRows(), gol.getNumCols());
+        updateGrid();
+    }
+
+    /**
+     * Prepares the viewport for a board. The viewport asks the window for room to show the board at DEFAULT_CELL_SIZE,
+     * up to MAX_VIEWPORT_WIDTH by MAX_VIEWPORT_HEIGHT, and the zoom is fitted to the board once the viewport has its size.
+     * @param rows The number of rows of the board
+     * @param cols The number of columns of the board
+     */
+    private void setBoardSize(int rows, int cols){
+        numRows = rows;
+        numCols = cols;
+        fitted = false;
+        shownValid = false;
+        viewport.setPrefSize(Math.min(cols * DEFAULT_CELL_SIZE, MAX_VIEWPORT_WIDTH), Math.min(rows * DEFAULT_CELL_SIZE, MAX_VIEWPORT_HEIGHT));
     }
 
     /**
      * Updates the cells in the grid being displayed to the user by either changing the state of the cell (alive or dead)
-     * or by changing the shade of the cell based on the lifespan of the cell
+     * or by changing the shade of the cell based on the lifespan of the cell. The lifespan of every cell is kept by the
+     * GameOfLife as the ticks are computed, so this does not get slower as more ticks are stored.
      */
     public void updateGrid(){
-        for (int row = 0; row < gol.getNumRows(); row++ ){
-            for (int col = 0; col < gol.getNumCols(); col++ ){
-                if (gol.getCellVal(row, col ) == 1){
-                    Rectangle temp = gridData.get(new Pair(row, col));
-                    Color shade = calculateShade(row, col);
-                    temp.setFill(shade);
-                }
-                else{
-                    Rectangle temp = gridData.get(new Pair(row, col));
-                    temp.setFill(defaultDeadColor);
-                }
+        showBoard(gol.getCurrentBoard(), gol.getCurrentAges(), gol.getCurrentTick());
+    }
+
+    /**
+     * Updates the cells in the grid to show a frame that was published by the simulation thread (see SimulationRunner),
+     * without reading the engine
+     * @param frame The frame to show
+     */
+    public void updateGrid(SimulationFrame frame){
+        showBoard(frame.getBoard(), frame.getAges(), frame.getTick());
+    }
+
+    /**
+     * Shows a board and the ages of its cells, and keeps them to draw the view again when it moves
+     * @param board The board to show
+     * @param ages The ages of the cells of the board (null if every cell is young)
+     * @param tick The tick of the board
+     */
+    private void showBoard(BitBoard board, BitBoard ages, int tick){
+        if (board == null || board.getNumRows() != numRows || board.getNumCols() != numCols)
+            return;
+        this.board = board;
+        this.ages = ages != null && ages.getNumRows() == numRows && ages.getNumCols() == numCols ? ages : null;
+        draw();
+        if (tick > 0 && !tooltipInstalled)
+            Tooltip.install(canvas, lockedTooltip);
+        else if (tick == 0 && tooltipInstalled)
+            Tooltip.uninstall(canvas, lockedTooltip);
+        tooltipInstalled = tick > 0;
+    }
+
+    /**
+     * Draws the view of the board that is shown, with the cells or with the density of blocks of cells depending on
+     * the zoom
+     */
+    private void draw(){
+        if (board == null || canvas.getWidth() < 1 || canvas.getHeight() < 1)
+            return;
+        if (!fitted){
+            fitted = true;
+            fitZoom();
+            return;
+        }
+        if (cellSize >= 1)
+            drawCells();
+        else
+            requestDensity();
+    }
+
+    /**
+     * Zooms so that the whole board fits into the view (with cells of at most DEFAULT_CELL_SIZE pixels)
+     */
+    private void fitZoom(){
+        double fit = Math.min(DEFAULT_CELL_SIZE, Math.min(canvas.getWidth() / Math.max(1, numCols), canvas.getHeight() / Math.max(1, numRows)));
+        cellSize = fit >= 1 ? Math.floor(fit) : getMinCellSize();
+        moveView(0, 0);
+    }
+
+    /**
+     * Returns the smallest cell size that zooming out goes to: the largest 1 / 2^k at which the whole board fits into
+     * the view, or a pixel per cell if the board fits at that size
+     * @return The smallest cell size
+     */
+    private double getMinCellSize(){
+        double minCellSize = 1;
+        while (numCols * minCellSize > canvas.getWidth() || numRows * minCellSize > canvas.getHeight())
+            minCellSize /= 2;
+        return minCellSize;
+    }
+
+    /**
+     * Zooms in or out by a step around a point of the view, which stays over the same cell
+     * @param zoomIn True to zoom in and False to zoom out
+     * @param x The x coordinate of the point in the view
+     * @param y The y coordinate of the point in the view
+     */
+    private void zoom(boolean zoomIn, double x, double y){
+        double next;
+        if (zoomIn)
+            next = cellSize < 1 ? cellSize * 2 : Math.min(MAX_CELL_SIZE, Math.max(cellSize + 1, Math.round(cellSize * ZOOM_FACTOR)));
+        else if (cellSize > 1)
+            next = Math.max(1, Math.min(cellSize - 1, Math.round(cellSize / ZOOM_FACTOR)));
+        else
+            next = Math.max(getMinCellSize(), cellSize / 2);
+        if (next == cellSize)
+            return;
+        double cellX = (originX + x) / cellSize;
+        double cellY = (originY + y) / cellSize;
+        cellSize = next;
+        moveView(Math.round(cellX * cellSize - x), Math.round(cellY * cellSize - y));
+    }
+
+    /**
+     * Moves the view and draws it again. A board that is narrower or shorter than the view is centered in it, and
+     * otherwise the view is kept on the board.
+     * @param x The offset in whole pixels of the left edge of the view from the left edge of the board
+     * @param y The offset in whole pixels of the top edge of the view from the top edge of the board
+     */
+    private void moveView(double x, double y){
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        double boardWidth = numCols * cellSize;
+        double boardHeight = numRows * cellSize;
+        originX = boardWidth <= width ? -Math.floor((width - boardWidth) / 2) : Math.max(0, Math.min(x, Math.floor(boardWidth - width)));
+        originY = boardHeight <= height ? -Math.floor((height - boardHeight) / 2) : Math.max(0, Math.min(y, Math.floor(boardHeight - height)));
+        updatingBars = true;
+        horizontalBar.setMax(Math.max(0, boardWidth - width));
+        horizontalBar.setVisibleAmount(boardWidth <= width ? 0 : horizontalBar.getMax() * width / boardWidth);
+        horizontalBar.setBlockIncrement(width * 0.9);
+        horizontalBar.setUnitIncrement(Math.max(1, cellSize));
+        horizontalBar.setValue(Math.max(0, originX));
+        horizontalBar.setDisable(boardWidth <= width);
+        verticalBar.setMax(Math.max(0, boardHeight - height));
+        verticalBar.setVisibleAmount(boardHeight <= height ? 0 : verticalBar.getMax() * height / boardHeight);
+        verticalBar.setBlockIncrement(height * 0.9);
+        verticalBar.setUnitIncrement(Math.max(1, cellSize));
+        verticalBar.setValue(Math.max(0, originY));
+        verticalBar.setDisable(boardHeight <= height);
+        updatingBars = false;
+        shownValid = false;
+        draw();
+    }
 
+    /**
+     * Draws the visible cells. When the view has not moved since the last time, the words of every band of BAND_ROWS
+     * rows are compared with the words that are shown, and only runs of words that changed (in any plane of the board
+     * or the ages) are painted, written into the image and drawn.
+     */
+    private void drawCells(){
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        int firstRow = (int) Math.max(0, Math.floor(originY / cellSize));
+        int lastRow = (int) Math.min(numRows, Math.ceil((originY + height) / cellSize));
+        int firstCol = (int) Math.max(0, Math.floor(originX / cellSize));
+        int lastCol = (int) Math.min(numCols, Math.ceil((originX + width) / cellSize));
+        int firstWord = firstCol >>> 6;
+        int lastWord = (lastCol + 63) >>> 6;
+        int planes = board.getPlaneCount();
+        if (!shownValid || firstRow != shownFirstRow || lastRow - firstRow != shownRowCount || firstWord != shownFirstWord
+                || lastWord - firstWord != shownWordCount || planes != shownPlanes){
+            GraphicsContext gc = canvas.getGraphicsContext2D();
+            gc.setFill(outsideColor);
+            gc.fillRect(0, 0, width, height);
+            if (firstRow >= lastRow || firstCol >= lastCol)
+                return;
+            shownFirstRow = firstRow;
+            shownRowCount = lastRow - firstRow;
+            shownFirstWord = firstWord;
+            shownWordCount = lastWord - firstWord;
+            shownPlanes = planes;
+            imageStride = shownWordCount << 6;
+            if (image == null || image.getWidth() < imageStride || image.getHeight() < shownRowCount)
+                image = new WritableImage(Math.max(imageStride, image == null ? 0 : (int) image.getWidth()), Math.max(shownRowCount, image == null ? 0 : (int) image.getHeight()));
+            if (pixels.length < imageStride * shownRowCount)
+                pixels = new int[imageStride * shownRowCount];
+            if (shownWords.length < shownRowCount * shownWordCount * (planes + CellAges.PLANES))
+                shownWords = new long[shownRowCount * shownWordCount * (planes + CellAges.PLANES)];
+            for (int row = firstRow; row < lastRow; row++){
+                for (int word = firstWord; word < lastWord; word++){
+                    refreshWord(row, word);
+                    paintWord(row, word);
+                }
             }
+            drawRegion(firstRow, lastRow, firstWord << 6, Math.min(numCols, lastWord << 6));
+            shownValid = true;
+            return;
         }
-        if (gol.getCurrentTick() > 0){
-            for(Pair pair: gridData.keySet()){
-                Tooltip tooltip = new Tooltip("State locked after initial tick");
-                Tooltip.install(gridData.get(pair), tooltip);
+        for (int bandRow = firstRow; bandRow < lastRow; bandRow += BAND_ROWS){
+            int bandEnd = Math.min(lastRow, bandRow + BAND_ROWS);
+            int runStart = -1;
+            for (int word = firstWord; word <= lastWord; word++){
+                boolean changed = false;
+                for (int row = bandRow; row < bandEnd && word < lastWord; row++)
+                    changed |= refreshWord(row, word);
+                if (changed){
+                    for (int row = bandRow; row < bandEnd; row++)
+                        paintWord(row, word);
+                    if (runStart < 0)
+                        runStart = word;
+                }
+                else if (runStart >= 0){
+                    drawRegion(bandRow, bandEnd, runStart << 6, Math.min(numCols, word << 6));
+                    runStart = -1;
+                }
             }
         }
-        else{
-            for(Pair pair: gridData.keySet()){
-                Tooltip tooltip = new Tooltip("State locked after initial tick");
-                Tooltip.uninstall(gridData.get(pair), tooltip);
+    }
+
+    /**
+     * Compares a visible word of every plane of the board and the ages with the word that is shown and keeps the new words
+     * @param row The row of the word
+     * @param word The index of the word within the row
+     * @return True if any cell of the word changed its color and False otherwise
+     */
+    private boolean refreshWord(int row, int word){
+        int planeWords = numRows * board.getWordsPerRow();
+        int index = row * board.getWordsPerRow() + word;
+        int stride = shownPlanes + CellAges.PLANES;
+        int shown = ((row - shownFirstRow) * shownWordCount + word - shownFirstWord) * stride;
+        boolean changed = false;
+        for (int plane = 0; plane < stride; plane++){
+            long value;
+            if (plane < shownPlanes)
+                value = board.getWordAt(plane * planeWords + index);
+            else
+                value = ages == null ? 0 : ages.getWordAt((plane - shownPlanes) * planeWords + index);
+            changed |= shownWords[shown + plane] != value;
+            shownWords[shown + plane] = value;
+        }
+        return changed;
+    }
+
+    /**
+     * Works out the colors of the 64 cells of a visible word from the words that are shown and puts them into pixels
+     * @param row The row of the word
+     * @param word The index of the word within the row
+     */
+    private void paintWord(int row, int word){
+        int stride = shownPlanes + CellAges.PLANES;
+        int shown = ((row - shownFirstRow) * shownWordCount + word - shownFirstWord) * stride;
+        long live = shownWords[shown];
+        long dying = 0;
+        for (int plane = 1; plane < shownPlanes; plane++)
+            dying |= shownWords[shown + plane];
+        int start = (row - shownFirstRow) * imageStride + ((word - shownFirstWord) << 6);
+        int count = Math.min(64, numCols - (word << 6));
+        for (int bit = 0; bit < count; bit++){
+            if ((live >>> bit & 1) != 0){
+                int age = 0;
+                for (int plane = 0; plane < CellAges.PLANES; plane++)
+                    age |= (int) (shownWords[shown + shownPlanes + plane] >>> bit & 1) << plane;
+                pixels[start + bit] = ALIVE_PIXELS[Math.min(age, CellAges.MAX_AGE)];
             }
+            else
+                pixels[start + bit] = (dying >>> bit & 1) != 0 ? DYING_PIXEL : DEAD_PIXEL;
         }
     }
 
+    /**
+     * Writes the pixels of a region of visible cells into the image and draws them onto the canvas, with every pixel
+     * scaled up to a cell and the grid lines of the region on top
+     * @param firstRow The first row of the region
+     * @param lastRow The row after the last row of the region
+     * @param firstCol The first column of the region
+     * @param lastCol The column after the last column of the region
+     */
+    private void drawRegion(int firstRow, int lastRow, int firstCol, int lastCol){
+        int imageX = firstCol - (shownFirstWord << 6);
+        int imageY = firstRow - shownFirstRow;
+        image.getPixelWriter().setPixels(imageX, imageY, lastCol - firstCol, lastRow - firstRow,
+                PixelFormat.getIntArgbInstance(), pixels, imageY * imageStride + imageX, imageStride);
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        double left = firstCol * cellSize - originX;
+        double right = lastCol * cellSize - originX;
+        double top = firstRow * cellSize - originY;
+        double bottom = lastRow * cellSize - originY;
+        gc.setImageSmoothing(false);
+        gc.drawImage(image, imageX, imageY, lastCol - firstCol, lastRow - firstRow, left, top, right - left, bottom - top);
+        if (cellSize < MIN_GRID_LINE_CELL_SIZE)
+            return;
+        gc.setStroke(gridLineColor);
+        gc.setLineWidth(1);
+        /** Cells start on whole pixels, so lines through the middle of a pixel stay one pixel wide */
+        for (int row = firstRow; row <= lastRow; row++){
+            double y = row * cellSize - originY + 0.5;
+            gc.strokeLine(left, y, right, y);
+        }
+        for (int col = firstCol; col <= lastCol; col++){
+            double x = col * cellSize - originX + 0.5;
+            gc.strokeLine(x, top, x, bottom);
+        }
+    }
+
+    /**
+     * Hands the board and the view to the density renderer if it is idle. Otherwise the view is handed to it again as
+     * soon as its current frame has been shown.
+     */
+    private void requestDensity(){
+        if (densityRenderer == null){
+            densityRenderer = new DensityRenderer(new Runnable() {
+                @Override
+                public void run() {
+                    Platform.runLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            showDensity();
+                        }
+                    });
+                }
+            }, DENSITY_PIXELS);
+        }
+        densityDirty = !densityRenderer.submit(board, originX, originY, cellSize, (int) canvas.getWidth(), (int) canvas.getHeight());
+    }
+
+    /**
+     * Draws the last frame of the density renderer if it still shows the current view, and hands the board to the
+     * renderer again if the board or the view changed in the meantime
+     */
+    private void showDensity(){
+        DensityRenderer.Frame frame = densityRenderer.takeLatest();
+        if (frame == null)
+            return;
+        int width = (int) canvas.getWidth();
+        int height = (int) canvas.getHeight();
+        if (cellSize < 1 && frame.shows(originX, originY, cellSize, width, height)){
+            if (densityImage == null || densityImage.getWidth() < width || densityImage.getHeight() < height)
+                densityImage = new WritableImage(width, height);
+            densityImage.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), frame.getPixels(), 0, width);
+            canvas.getGraphicsContext2D().drawImage(densityImage, 0, 0, width, height, 0, 0, width, height);
+        }
+        else
+            densityDirty = true;
+        if (densityDirty && cellSize < 1 && board != null)
+            requestDensity();
+    }
+
+    /**
+     * Checks whether the board that was last shown may change, because the density renderer is not copying it
+     * @return True if the board may change and False otherwise
+     */
+    public boolean isBoardReleased(){
+        return densityRenderer == null || densityRenderer.isReleased();
+    }
+
+    /**
+     * Waits until the density renderer has copied the board that was last shown (if it is copying it), so that the
+     * board may change
+     */
+    public void releaseBoard(){
+        if (densityRenderer != null)
+            densityRenderer.awaitRelease();
+    }
+
+    /**
+     * Ends the background thread of the grid (if it has one). The grid is not used afterwards.
+     */
+    public void shutdown(){
+        if (densityRenderer != null)
+            densityRenderer.shutdown();
+    }
+
     /**
      * Determines the shade of the cell based on its lifespan
-     * @param row The row of the cell that is being considered
-     * @param col The column of the cell that is being considered
+     * @param sum The number of ticks in a row that the cell has been alive for
      * @return the Color of the cell after calculating its lifespan
      */
-    private Color calculateShade(int row, int col){
+    private static Color calculateShade(int sum){
         int defaultRed =  (int) Math.round(defaultAliveColor.getRed() * 255);
         int defaultGreen = (int) Math.round(defaultAliveColor.getGreen() * 255);
         int defaultBlue = (int) Math.round(defaultAliveColor.getBlue() * 255);
         int shadeDarken = 30;
-        int sum = 0;
-        HashMap<Integer, Integer[][]> tickData = gol.getTotalTickData();
-        for (int i = 0; i < gol.getCurrentTick(); i++){
-            Integer[][] tickBoard = tickData.get(i);
-            if (tickBoard[row][col] == 1)
-                sum += 1;
-            else
-                sum = 0;
-        }
 
         if (sum == 0)
             return defaultAliveColor;
@@ -197,12 +667,24 @@ public class GridView extends GridPane {
         }
     }
 
+    /**
+     * Packs an opaque color into an int in the ARGB format of the image
+     * @param color The color
+     * @return The packed color
+     */
+    private static int toArgb(Color color){
+        int red = (int) Math.round(color.getRed() * 255);
+        int green = (int) Math.round(color.getGreen() * 255);
+        int blue = (int) Math.round(color.getBlue() * 255);
+        return 0xFF000000 | red << 16 | green << 8 | blue;
+    }
+
     /**
      * Determines whether the grid is populated or not
      * @return True if the grid is currently populated and False otherwise
      */
     public boolean isPopulated(){
-        return gridData.size() > 0;
+        return numRows > 0 && numCols > 0;
     }
 
 }
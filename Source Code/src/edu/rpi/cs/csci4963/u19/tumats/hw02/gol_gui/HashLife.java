@@ -0,0 +1,499 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+/**
+ * Runs the Game of Life with the HashLife algorithm. The universe is stored as a quadtree where identical regions
+ * share a single canonical node, and the result of advancing a node is memoized inside the node. Repeating patterns
+ * are therefore only ever computed once, which allows jumps of millions of generations in a single call.
+ * The HashLife universe is an unbounded plane: the board is placed with its top left cell at the origin, and cells
+ * that travel outside of the board are only dropped when the result is copied back into a BitBoard.
+ * Any rule without dying states can be used, as long as dead cells without neighbors stay dead (no B0).
+ * The node cache is bounded: once it grows past its bound, even in the middle of a single advance, every memoized
+ * result is dropped and the nodes that are still in use are shared again afterwards. A new board can be loaded into
+ * the same instance, so the cache and its memoized results carry over from one board to the next.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class HashLife {
+
+    /** The default number of canonical nodes that are kept before the node cache is garbage collected */
+    public static final int DEFAULT_MAX_NODES = 1 << 22;
+
+    /** The dead cell (the only level 0 node besides ALIVE) */
+    private static final Node DEAD = new Node(0);
+    /** The alive cell (the only level 0 node besides DEAD) */
+    private static final Node ALIVE = new Node(1);
+
+    /** Maps every canonical node to itself so that equal nodes can be looked up and shared */
+    private HashMap<Node, Node> nodes = new HashMap<>();
+    /** Canonical empty nodes for every level (index is the level) */
+    private Node[] emptyNodes = new Node[64];
+    /** The number of canonical nodes that are kept before the node cache is garbage collected */
+    private final int maxNodes;
+    /** The root of the universe. The center of the root is always the origin. */
+    private Node root;
+    /** The rule of the game */
+    private final Rule rule;
+    /** Whether the node cache was flushed during the current advance, so the root has to be shared again afterwards */
+    private boolean flushed = false;
+
+    /**
+     * Constructor for the HashLife class
+     * @param board The board that the universe starts out with
+     * @param maxNodes The number of canonical nodes that are kept before the node cache is garbage collected
+     */
+    public HashLife(BitBoard board, int maxNodes){
+        this(board, maxNodes, Rule.CONWAY);
+    }
+
+    /**
+     * Constructor for the HashLife class that runs any rule
+     * @param board The board that the universe starts out with
+     * @param maxNodes The number of canonical nodes that are kept before the node cache is garbage collected
+     * @param rule The rule of the game (without dying states or B0)
+     */
+    public HashLife(BitBoard board, int maxNodes, Rule rule){
+        if (!rule.isUnboundedSafe())
+            throw new IllegalArgumentException("Rule " + rule + " cannot run on an unbounded universe");
+        this.maxNodes = maxNodes;
+        this.rule = rule;
+        emptyNodes[0] = DEAD;
+        setBoard(board);
+    }
+
+    /**
+     * Constructor for the HashLife class that uses the default node cache size
+     * @param board The board that the universe starts out with
+     */
+    public HashLife(BitBoard board){
+        this(board, DEFAULT_MAX_NODES);
+    }
+
+    /**
+     * Advances the universe by 2^power generations in a single call
+     * @param power The power of two of the number of generations (0 advances a single generation)
+     */
+    public void advance(int power){
+        if (nodes.size() > maxNodes)
+            collectGarbage();
+        /** Pad the universe until the pattern is in its center and the root is large enough for the step size */
+        while (root.level < power + 3 || !isPadded(root))
+            root = expand(root);
+        root = successor(root, power);
+        if (flushed)
+            collectGarbage();
+    }
+
+    /**
+     * Replaces the universe with a board (the top left cell of the board is placed at the origin). The node cache and
+     * its memoized results are kept, so regions that were already advanced before are not computed again.
+     * @param board The board that the universe is made of
+     */
+    public void setBoard(BitBoard board){
+        int level = 1;
+        while ((1 << (level - 1)) < Math.max(board.getNumRows(), board.getNumCols()))
+            level++;
+        level = Math.max(level, 3);
+        root = build(board, level, -(1 << (level - 1)), -(1 << (level - 1)));
+    }
+
+    /**
+     * Drops every live cell that lies outside of a board whose top left cell is the origin, so that the universe holds
+     * exactly what copyTo copies into a board of that size
+     * @param rows The number of rows of the board
+     * @param cols The number of columns of the board
+     */
+    public void clip(int rows, int cols){
+        long half = 1L << (root.level - 1);
+        root = clip(root, -half, -half, rows, cols);
+    }
+
+    /**
+     * Returns the number of cells that are alive anywhere in the universe
+     * @return The number of alive cells
+     */
+    public long population(){
+        return root.population;
+    }
+
+    /**
+     * Returns the number of canonical nodes that are currently cached
+     * @return The size of the node cache
+     */
+    public int getNodeCount(){
+        return nodes.size();
+    }
+
+    /**
+     * Copies the cells of the universe that fall within a board back into the board (the top left cell of the board
+     * is the origin of the universe)
+     * @param board The board that receives the cells. All cells outside of the universe's live cells are cleared.
+     */
+    public void copyTo(BitBoard board){
+        board.clear();
+        long half = 1L << (root.level - 1);
+        extract(root, -half, -half, board);
+    }
+
+    /**
+     * Drops every cached node that is not part of the current universe and clears all memoized results, so that the
+     * node cache stays within its bound
+     */
+    public void collectGarbage(){
+        flushCache();
+        flushed = false;
+        root = intern(root, new IdentityHashMap<>());
+    }
+
+    /**
+     * Drops every cached node and clears all memoized results. Nodes that are still referenced stay valid, but they
+     * are no longer shared with nodes that are created afterwards until the root is interned again.
+     */
+    private void flushCache(){
+        for (Node node : nodes.values())
+            node.result = null;
+        nodes = new HashMap<>();
+        emptyNodes = new Node[64];
+        emptyNodes[0] = DEAD;
+        flushed = true;
+    }
+
+    /**
+     * Re-adds a node (and all of the nodes below it) to the node cache. Every node is only visited once, no matter how
+     * often it is shared within the tree.
+     * @param node The node that is being added
+     * @param interned Maps every node that was already added to its canonical version
+     * @return The canonical version of the node
+     */
+    private Node intern(Node node, IdentityHashMap<Node, Node> interned){
+        if (node.level == 0)
+            return node;
+        if (node.population == 0)
+            return empty(node.level);
+        Node canonical = interned.get(node);
+        if (canonical == null){
+            canonical = join(intern(node.nw, interned), intern(node.ne, interned), intern(node.sw, interned), intern(node.se, interned));
+            interned.put(node, canonical);
+        }
+        return canonical;
+    }
+
+    /**
+     * Drops the live cells of a node that lie outside of a board
+     * @param node The node that is being clipped
+     * @param x The column of the top left cell of the node (relative to the board)
+     * @param y The row of the top left cell of the node (relative to the board)
+     * @param rows The number of rows of the board
+     * @param cols The number of columns of the board
+     * @return The node without the cells outside of the board
+     */
+    private Node clip(Node node, long x, long y, int rows, int cols){
+        long size = 1L << node.level;
+        if (node.population == 0 || (x >= 0 && y >= 0 && x + size <= cols && y + size <= rows))
+            return node;
+        if (x >= cols || y >= rows || x + size <= 0 || y + size <= 0)
+            return empty(node.level);
+        long half = size >> 1;
+        return join(clip(node.nw, x, y, rows, cols), clip(node.ne, x + half, y, rows, cols),
+                clip(node.sw, x, y + half, rows, cols), clip(node.se, x + half, y + half, rows, cols));
+    }
+
+    /**
+     * Builds the quadtree for the part of a board that is covered by a node
+     * @param board The board that is being converted
+     * @param level The level of the node that is being built
+     * @param x The column of the top left cell of the node (relative to the board)
+     * @param y The row of the top left cell of the node (relative to the board)
+     * @return The canonical node that covers the region
+     */
+    private Node build(BitBoard board, int level, int x, int y){
+        int size = 1 << level;
+        if (x >= board.getNumCols() || y >= board.getNumRows() || x + size <= 0 || y + size <= 0)
+            return empty(level);
+        if (level == 0)
+            return board.get(y, x) == 1 ? ALIVE : DEAD;
+        int half = size >> 1;
+        return join(build(board, level - 1, x, y), build(board, level - 1, x + half, y),
+                build(board, level - 1, x, y + half), build(board, level - 1, x + half, y + half));
+    }
+
+    /**
+     * Copies the live cells of a node into a board
+     * @param node The node that is being copied
+     * @param x The column of the top left cell of the node (relative to the board)
+     * @param y The row of the top left cell of the node (relative to the board)
+     * @param board The board that receives the cells
+     */
+    private void extract(Node node, long x, long y, BitBoard board){
+        long size = 1L << node.level;
+        if (node.population == 0 || x >= board.getNumCols() || y >= board.getNumRows() || x + size <= 0 || y + size <= 0)
+            return;
+        if (node.level == 0){
+            board.set((int) y, (int) x, true);
+            return;
+        }
+        long half = size >> 1;
+        extract(node.nw, x, y, board);
+        extract(node.ne, x + half, y, board);
+        extract(node.sw, x, y + half, board);
+        extract(node.se, x + half, y + half, board);
+    }
+
+    /**
+     * Returns the canonical node with the given children, creating it if it does not exist yet
+     * @param nw The north west child
+     * @param ne The north east child
+     * @param sw The south west child
+     * @param se The south east child
+     * @return The canonical node
+     */
+    private Node join(Node nw, Node ne, Node sw, Node se){
+        Node node = new Node(nw, ne, sw, se);
+        Node canonical = nodes.get(node);
+        if (canonical != null)
+            return canonical;
+        nodes.put(node, node);
+        return node;
+    }
+
+    /**
+     * Returns the canonical empty node of a level
+     * @param level The level of the node
+     * @return The empty node
+     */
+    private Node empty(int level){
+        if (emptyNodes[level] == null){
+            Node child = empty(level - 1);
+            emptyNodes[level] = join(child, child, child, child);
+        }
+        return emptyNodes[level];
+    }
+
+    /**
+     * Surrounds a node with empty space, returning a node of the next level that has the original node in its center
+     * @param node The node that is being expanded
+     * @return The expanded node
+     */
+    private Node expand(Node node){
+        Node border = empty(node.level - 1);
+        return join(join(border, border, border, node.nw), join(border, border, node.ne, border),
+                join(border, node.sw, border, border), join(node.se, border, border, border));
+    }
+
+    /**
+     * Checks whether every live cell of a node is within the center of the node, far enough from the edges that
+     * nothing can escape while the node is advanced
+     * @param node The node that is being checked
+     * @return True if the node is padded enough and False otherwise
+     */
+    private boolean isPadded(Node node){
+        return node.nw.population == node.nw.se.se.population && node.ne.population == node.ne.sw.sw.population
+                && node.sw.population == node.sw.ne.ne.population && node.se.population == node.se.nw.nw.population;
+    }
+
+    /**
+     * Returns the center of a node (half its size) after advancing it by 2^step generations. Results are memoized in the
+     * node, so computing the same region for the same step size a second time is free.
+     * @param node The node that is being advanced (level 2 or higher)
+     * @param step The power of two of the number of generations (at most the level of the node minus 2)
+     * @return The center of the node after advancing it
+     */
+    private Node successor(Node node, int step){
+        if (node.population == 0)
+            return empty(node.level - 1);
+        if (node.result != null && node.resultStep == step)
+            return node.result;
+        /** The bound is checked on every call, so that a single large advance cannot grow the cache without limit */
+        if (nodes.size() > maxNodes)
+            flushCache();
+        Node result;
+        if (node.level == 2){
+            result = lifeFourByFour(node);
+        }
+        else {
+            Node n00 = node.nw, n01 = centerHorizontal(node.nw, node.ne), n02 = node.ne;
+            Node n10 = centerVertical(node.nw, node.sw), n11 = centerCenter(node), n12 = centerVertical(node.ne, node.se);
+            Node n20 = node.sw, n21 = centerHorizontal(node.sw, node.se), n22 = node.se;
+            if (step < node.level - 2){
+                /** Only part of the time is spent, so the nine sub results are cut down without advancing them again */
+                result = join(
+                        centerOf(successor(n00, step), successor(n01, step), successor(n10, step), successor(n11, step)),
+                        centerOf(successor(n01, step), successor(n02, step), successor(n11, step), successor(n12, step)),
+                        centerOf(successor(n10, step), successor(n11, step), successor(n20, step), successor(n21, step)),
+                        centerOf(successor(n11, step), successor(n12, step), successor(n21, step), successor(n22, step)));
+            }
+            else {
+                Node c00 = successor(n00, step - 1), c01 = successor(n01, step - 1), c02 = successor(n02, step - 1);
+                Node c10 = successor(n10, step - 1), c11 = successor(n11, step - 1), c12 = successor(n12, step - 1);
+                Node c20 = successor(n20, step - 1), c21 = successor(n21, step - 1), c22 = successor(n22, step - 1);
+                result = join(successor(join(c00, c01, c10, c11), step - 1), successor(join(c01, c02, c11, c12), step - 1),
+                        successor(join(c10, c11, c20, c21), step - 1), successor(join(c11, c12, c21, c22), step - 1));
+            }
+        }
+        node.result = result;
+        node.resultStep = step;
+        return result;
+    }
+
+    /**
+     * Returns the node made up of the centers of four touching nodes
+     * @param nw The north west node
+     * @param ne The north east node
+     * @param sw The south west node
+     * @param se The south east node
+     * @return The node made up of the inner quadrants of the four nodes
+     */
+    private Node centerOf(Node nw, Node ne, Node sw, Node se){
+        return join(nw.se, ne.sw, sw.ne, se.nw);
+    }
+
+    /**
+     * Returns the node that sits between two side by side nodes
+     * @param west The node on the left
+     * @param east The node on the right
+     * @return The node straddling the border of the two nodes
+     */
+    private Node centerHorizontal(Node west, Node east){
+        return join(west.ne, east.nw, west.se, east.sw);
+    }
+
+    /**
+     * Returns the node that sits between two stacked nodes
+     * @param north The node on top
+     * @param south The node below
+     * @return The node straddling the border of the two nodes
+     */
+    private Node centerVertical(Node north, Node south){
+        return join(north.sw, north.se, south.nw, south.ne);
+    }
+
+    /**
+     * Returns the center of a node (half its size) without advancing it
+     * @param node The node
+     * @return The center of the node
+     */
+    private Node centerCenter(Node node){
+        return join(node.nw.se, node.ne.sw, node.sw.ne, node.se.nw);
+    }
+
+    /**
+     * Computes a single generation of the center 2x2 cells of a 4x4 node
+     * @param node The level 2 node
+     * @return The level 1 node holding the next generation of the center cells
+     */
+    private Node lifeFourByFour(Node node){
+        int bits = 0;
+        for (int y = 0; y < 4; y++)
+            for (int x = 0; x < 4; x++)
+                bits |= cellOf(node, x, y) << (y * 4 + x);
+        return join(nextCell(bits, 1, 1), nextCell(bits, 2, 1), nextCell(bits, 1, 2), nextCell(bits, 2, 2));
+    }
+
+    /**
+     * Returns a single cell of a 4x4 node
+     * @param node The level 2 node
+     * @param x The column of the cell (0-3)
+     * @param y The row of the cell (0-3)
+     * @return 1 if the cell is alive and 0 otherwise
+     */
+    private int cellOf(Node node, int x, int y){
+        Node quadrant = y < 2 ? (x < 2 ? node.nw : node.ne) : (x < 2 ? node.sw : node.se);
+        Node cell = (y & 1) == 0 ? ((x & 1) == 0 ? quadrant.nw : quadrant.ne) : ((x & 1) == 0 ? quadrant.sw : quadrant.se);
+        return (int) cell.population;
+    }
+
+    /**
+     * Applies the rules of the game to one of the center cells of a 4x4 block
+     * @param bits The 4x4 block with bit (4 * y + x) holding the cell at column x and row y
+     * @param x The column of the cell (1 or 2)
+     * @param y The row of the cell (1 or 2)
+     * @return The next state of the cell
+     */
+    private Node nextCell(int bits, int x, int y){
+        int sum = 0;
+        for (int dy = -1; dy <= 1; dy++)
+            for (int dx = -1; dx <= 1; dx++)
+                if (dx != 0 || dy != 0)
+                    sum += (bits >>> ((y + dy) * 4 + x + dx)) & 1;
+        boolean alive = ((bits >>> (y * 4 + x)) & 1) == 1;
+        return rule.nextState(alive, sum) ? ALIVE : DEAD;
+    }
+
+    /**
+     * A square region of the universe with a side of 2^level cells. Nodes are immutable (apart from the memoized result)
+     * and two nodes are equal when they have the same (canonical) children.
+     */
+    private static final class Node {
+
+        /** The north west child */
+        final Node nw;
+        /** The north east child */
+        final Node ne;
+        /** The south west child */
+        final Node sw;
+        /** The south east child */
+        final Node se;
+        /** The level of the node (the node covers 2^level by 2^level cells) */
+        final int level;
+        /** The number of live cells in the node */
+        final long population;
+        /** The hash code of the node, computed from the identities of its children */
+        final int hash;
+        /** The memoized center of the node after advancing it by 2^resultStep generations */
+        Node result;
+        /** The step size that the memoized result was computed for */
+        int resultStep;
+
+        /**
+         * Constructor for a single cell
+         * @param alive 1 if the cell is alive and 0 otherwise
+         */
+        Node(int alive){
+            this.nw = this.ne = this.sw = this.se = null;
+            this.level = 0;
+            this.population = alive;
+            this.hash = alive;
+        }
+
+        /**
+         * Constructor for a node made up of four children
+         * @param nw The north west child
+         * @param ne The north east child
+         * @param sw The south west child
+         * @param se The south east child
+         */
+        Node(Node nw, Node ne, Node sw, Node se){
+            this.nw = nw;
+            this.ne = ne;
+            this.sw = sw;
+            this.se = se;
+            this.level = nw.level + 1;
+            this.population = nw.population + ne.population + sw.population + se.population;
+            int h = System.identityHashCode(nw);
+            h = h * 31 + System.identityHashCode(ne);
+            h = h * 31 + System.identityHashCode(sw);
+            h = h * 31 + System.identityHashCode(se);
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode(){
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other){
+            if (this == other)
+                return true;
+            if (!(other instanceof Node))
+                return false;
+            Node node = (Node) other;
+            return nw == node.nw && ne == node.ne && sw == node.sw && se == node.se;
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+/**
+ * Computes generations with a precomputed table instead of counting neighbors. The 3x3 neighborhood of a cell is
+ * packed into a 9 bit index (one column of three cells after another) and the table holds the next state of the cell
+ * for every one of the 512 possible neighborhoods. While a row is scanned, the index slides one column to the right by
+ * shifting out the oldest column and shifting in the next one, so every cell costs three bit reads and a table lookup
+ * without any neighbor counting or bounds checks. The rows above and below the board come from the halo of the board
+ * and the columns beyond its edges follow its topology, just like BitBoard.step.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class LookupKernel implements StepKernel {
+
+    /** Neighbor counts (as bits) that bring a dead cell to life in Conway's rules (3) */
+    public static final int CONWAY_BIRTH = 1 << 3;
+    /** Neighbor counts (as bits) that keep a live cell alive in Conway's rules (2 or 3) */
+    public static final int CONWAY_SURVIVAL = (1 << 2) | (1 << 3);
+
+    /** The next state of the center cell for every 3x3 neighborhood */
+    private final boolean[] table = new boolean[512];
+    /** Bit n is set when a dead cell with n live neighbors comes to life */
+    private final int birthMask;
+    /** Bit n is set when a live cell with n live neighbors stays alive */
+    private final int survivalMask;
+
+    /**
+     * Constructor for the LookupKernel class that uses Conway's rules
+     */
+    public LookupKernel(){
+        this(CONWAY_BIRTH, CONWAY_SURVIVAL);
+    }
+
+    /**
+     * Constructor for the LookupKernel class
+     * @param birthMask Bit n is set when a dead cell with n live neighbors comes to life
+     * @param survivalMask Bit n is set when a live cell with n live neighbors stays alive
+     */
+    public LookupKernel(int birthMask, int survivalMask){
+        this.birthMask = birthMask;
+        this.survivalMask = survivalMask;
+        for (int index = 0; index < 512; index++){
+            boolean alive = ((index >>> 4) & 1) != 0;
+            int neighbors = Integer.bitCount(index) - (alive ? 1 : 0);
+            table[index] = ((alive ? survivalMask : birthMask) >>> neighbors & 1) != 0;
+        }
+    }
+
+    /**
+     * Returns the neighbor counts that bring a dead cell to life
+     * @return Bit n is set when a dead cell with n live neighbors comes to life
+     */
+    public int getBirthMask(){
+        return birthMask;
+    }
+
+    /**
+     * Returns the neighbor counts that keep a live cell alive
+     * @return Bit n is set when a live cell with n live neighbors stays alive
+     */
+    public int getSurvivalMask(){
+        return survivalMask;
+    }
+
+    /**
+     * Computes the next generation of every row of a board and places it in the next board
+     * @param board The board that holds the current generation
+     * @param next The board that receives the next generation (must have the same dimensions)
+     * @return The number of births and deaths, packed (see BitBoard.packChanges)
+     */
+    @Override
+    public long step(BitBoard board, BitBoard next){
+        return stepRows(board, next, 0, board.getNumRows());
+    }
+
+    /**
+     * Computes the next generation for a band of rows and places it in the next board. Only the current board is read,
+     * so separate bands can safely be computed at the same time.
+     * @param board The board that holds the current generation
+     * @param next The board that receives the next generation (must have the same dimensions)
+     * @param startRow The first row to compute (inclusive)
+     * @param endRow The last row to compute (exclusive)
+     * @return The number of births and deaths in the band, packed (see BitBoard.packChanges)
+     */
+    @Override
+    public long stepRows(BitBoard board, BitBoard next, int startRow, int endRow){
+        if (board.isReadOnly())
+            return stepRows(new BitBoard(board), next, startRow, endRow);
+        board.refreshHalo();
+        int wordsPerRow = board.getWordsPerRow();
+        long[] words = board.getWords();
+        int cols = board.getNumCols();
+        boolean wrapsColumns = board.getColumnWrap() != 0;
+        long births = 0;
+        long deaths = 0;
+        long hash = 0;
+        int hashOffset = next.getHashOffset();
+        for (int row = startRow; row < endRow; row++){
+            int above = board.rowStart(row - 1);
+            int center = board.rowStart(row);
+            int below = board.rowStart(row + 1);
+            for (int word = 0; word < wordsPerRow; word++){
+                long old = words[center + word];
+                long value = nextWord(words, above, center, below, cols, wrapsColumns, word);
+                next.setWord(row, word, value);
+                births += Long.bitCount(value & ~old);
+                deaths += Long.bitCount(old & ~value);
+                hash ^= BitBoard.hashChange(hashOffset + center + word, old, value);
+            }
+        }
+        next.mixStepHash(hash);
+        return BitBoard.packChanges(births, deaths);
+    }
+
+    /**
+     * Computes the next generation of a single word of a board
+     * @param board The board that holds the current generation
+     * @param row The row of the word
+     * @param word The index of the word within the row
+     * @return The packed cell data of the word in the next generation
+     */
+    @Override
+    public long nextWord(BitBoard board, int row, int word){
+        if (board.isReadOnly())
+            return nextWord(new BitBoard(board), row, word);
+        board.refreshHalo();
+        return nextWord(board.getWords(), board.rowStart(row - 1), board.rowStart(row), board.rowStart(row + 1),
+                board.getNumCols(), board.getColumnWrap() != 0, word);
+    }
+
+    /**
+     * Computes the next generation of a single word by sliding the neighborhood index across its 64 cells. The rows
+     * are read in place from the words of the board (the rows above and below may lie in the halo), so nothing is
+     * copied per word or per row.
+     * @param words The words of the board
+     * @param above The index of the first word of the row above
+     * @param center The index of the first word of the row of the word
+     * @param below The index of the first word of the row below
+     * @param cols The number of columns in the board
+     * @param wrapsColumns Whether the first and last column are neighbors (otherwise the cells beyond them are dead)
+     * @param word The index of the word within the row
+     * @return The packed cell data of the word in the next generation
+     */
+    private long nextWord(long[] words, int above, int center, int below, int cols, boolean wrapsColumns, int word){
+        int first = word << 6;
+        int last = Math.min(cols, first + 64);
+        /** The column beyond an edge is either the column on the other side or three dead cells */
+        int edgeMask = wrapsColumns ? 7 : 0;
+        /** Start with the column before the first cell and the first cell itself */
+        int west = first == 0 ? column(words, above, center, below, cols - 1) & edgeMask
+                : column(words, above, center, below, first - 1);
+        int index = (west << 3) | column(words, above, center, below, first);
+        long result = 0;
+        for (int col = first; col < last; col++){
+            int east = col + 1 == cols ? column(words, above, center, below, 0) & edgeMask
+                    : column(words, above, center, below, col + 1);
+            index = ((index << 3) | east) & 511;
+            if (table[index])
+                result |= 1L << col;
+        }
+        return result;
+    }
+
+    /**
+     * Packs a single column of the neighborhood into three bits (above, center, below from high to low)
+     * @param words The words of the board
+     * @param above The index of the first word of the row above
+     * @param center The index of the first word of the row in the middle
+     * @param below The index of the first word of the row below
+     * @param col The column
+     * @return The three packed cells
+     */
+    private static int column(long[] words, int above, int center, int below, int col){
+        int word = col >>> 6;
+        return (int) ((words[above + word] >>> col) & 1) << 2 | (int) ((words[center + word] >>> col) & 1) << 1
+                | (int) ((words[below + word] >>> col) & 1);
+    }
+
+}
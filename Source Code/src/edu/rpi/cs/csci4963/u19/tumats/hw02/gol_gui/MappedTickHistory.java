@@ -0,0 +1,253 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Stores the board of every tick in a memory-mapped file, so that the history can grow far beyond the size of the
+ * heap. Every tick takes a fixed-size record in the file and an index maps every tick to its record. Boards that are
+ * requested are read-only views onto the mapped file, so they are served through the page cache of the operating
+ * system without being copied onto the heap. The board of the latest tick is kept on the heap (and written to the
+ * file once a later tick is added) so that it can still be changed and stepped from.
+ * A mapped file is never shrunk, because a view that is still reachable would then point past the end of the file and
+ * crash the virtual machine when it is read. When the boards change their dimensions, the history moves to a new file
+ * instead and the old file is only deleted (its pages stay valid for as long as a view maps them).
+ * Failures of the file are thrown as an UncheckedIOException.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class MappedTickHistory implements TickHistory {
+
+    /** The preferred number of bytes in a single mapped region of the file */
+    private static final long REGION_BYTES = 1L << 26;
+
+    /** The file that holds the records */
+    private File file;
+    /** The channel of the file */
+    private FileChannel channel;
+    /** The mapped regions of the file, each holding recordsPerRegion records */
+    private ArrayList<MappedByteBuffer> regions = new ArrayList<>();
+    /** Maps every tick that was written to the file to its record */
+    private HashMap<Integer, Integer> index = new HashMap<>();
+    /** Records that were freed by removeAfter and can be used again */
+    private ArrayDeque<Integer> freeRecords = new ArrayDeque<>();
+    /** The number of records that have been handed out */
+    private int recordCount;
+    /** The number of rows of the stored boards (every record has the same size) */
+    private int rows = -1;
+    /** The number of columns of the stored boards */
+    private int cols = -1;
+    /** The number of bit planes of the stored boards */
+    private int planes = -1;
+    /** The number of longs in a single record */
+    private int recordLongs;
+    /** The number of records in a single mapped region */
+    private int recordsPerRegion;
+    /** The tick that was added last (not written to the file yet) */
+    private int latestTick = -1;
+    /** The board that was added last */
+    private BitBoard latestBoard;
+
+    /**
+     * Constructor for the MappedTickHistory class. The records are kept in a temporary file that is deleted when the
+     * history is closed or the program exits.
+     * @throws UncheckedIOException If the file cannot be created
+     */
+    public MappedTickHistory(){
+        openFile();
+    }
+
+    @Override
+    public void put(int tick, BitBoard board){
+        if (board.getNumRows() != rows || board.getNumCols() != cols || board.getPlaneCount() != planes)
+            resize(board.getNumRows(), board.getNumCols(), board.getPlaneCount());
+        if (latestTick != tick && latestBoard != null)
+            write(latestTick, latestBoard);
+        Integer oldRecord = index.remove(tick);
+        if (oldRecord != null)
+            freeRecords.add(oldRecord);
+        latestTick = tick;
+        latestBoard = board;
+    }
+
+    @Override
+    public BitBoard get(int tick){
+        if (tick == latestTick)
+            return latestBoard;
+        Integer record = index.get(tick);
+        if (record == null)
+            return null;
+        return new BitBoard(rows, cols, planes, recordBuffer(record));
+    }
+
+    @Override
+    public boolean containsKey(int tick){
+        return tick == latestTick || index.containsKey(tick);
+    }
+
+    @Override
+    public int size(){
+        return index.size() + (latestBoard != null ? 1 : 0);
+    }
+
+    @Override
+    public Set<Integer> ticks(){
+        Set<Integer> ticks = new HashSet<>(index.keySet());
+        if (latestBoard != null)
+            ticks.add(latestTick);
+        return ticks;
+    }
+
+    @Override
+    public void removeAfter(int tick){
+        index.entrySet().removeIf(entry -> {
+            if (entry.getKey() > tick){
+                freeRecords.add(entry.getValue());
+                return true;
+            }
+            return false;
+        });
+        if (latestTick > tick){
+            latestTick = -1;
+            latestBoard = null;
+        }
+    }
+
+    @Override
+    public void clear(){
+        index.clear();
+        freeRecords.clear();
+        recordCount = 0;
+        latestTick = -1;
+        latestBoard = null;
+    }
+
+    @Override
+    public long estimateBytes(){
+        long bytes = index.size() * 16L;
+        if (latestBoard != null)
+            bytes += (long) recordLongs * 8;
+        return bytes;
+    }
+
+    @Override
+    public void close(){
+        closeFile();
+    }
+
+    /**
+     * Returns the number of bytes that the records take up in the file
+     * @return The size of the records in bytes
+     */
+    public long getFileBytes(){
+        return (long) recordCount * recordLongs * 8;
+    }
+
+    /**
+     * Writes the board of a tick to a record in the file
+     * @param tick The tick of the board
+     * @param board The board of the tick
+     */
+    private void write(int tick, BitBoard board){
+        Integer record = index.get(tick);
+        if (record == null){
+            record = freeRecords.isEmpty() ? recordCount++ : freeRecords.poll();
+            index.put(tick, record);
+        }
+        board.writeTo(recordBuffer(record));
+    }
+
+    /**
+     * Returns a buffer that covers exactly one record of the file, mapping a new region of the file when needed
+     * @param record The number of the record
+     * @return The buffer of the record, positioned at its start
+     */
+    private LongBuffer recordBuffer(int record){
+        int region = record / recordsPerRegion;
+        while (regions.size() <= region){
+            long regionBytes = (long) recordsPerRegion * recordLongs * 8;
+            try {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, regions.size() * regionBytes, regionBytes);
+                buffer.order(ByteOrder.nativeOrder());
+                regions.add(buffer);
+            }
+            catch (IOException ex){
+                throw new UncheckedIOException("History file unable to be extended!", ex);
+            }
+        }
+        LongBuffer longs = regions.get(region).asLongBuffer();
+        int start = (record % recordsPerRegion) * recordLongs;
+        longs.position(start);
+        longs.limit(start + recordLongs);
+        return longs.slice();
+    }
+
+    /**
+     * Changes the size of the records to fit boards of new dimensions. Every stored tick is dropped and the records are
+     * written to a new file, so that views of the old records are never left pointing past the end of a shrunk file.
+     * @param rows The number of rows of the boards
+     * @param cols The number of columns of the boards
+     * @param planes The number of bit planes of the boards
+     * @throws UncheckedIOException If a single board does not fit in a mapped region or the new file cannot be created
+     */
+    private void resize(int rows, int cols, int planes){
+        long recordBytes = (long) rows * Math.max(1, (cols + 63) >>> 6) * planes * 8;
+        /** A region is mapped as a whole and holds at least one record, so a record must stay below 2 GB */
+        if (recordBytes > Integer.MAX_VALUE)
+            throw new UncheckedIOException(new IOException("A board of " + rows + "x" + cols + " cells is too large for the history file"));
+        clear();
+        if (!regions.isEmpty()){
+            closeFile();
+            openFile();
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.planes = planes;
+        this.recordLongs = (int) (recordBytes / 8);
+        /** Both bounds keep a region below Integer.MAX_VALUE bytes (a single record, or at most REGION_BYTES) */
+        this.recordsPerRegion = (int) Math.max(1, REGION_BYTES / recordBytes);
+    }
+
+    /**
+     * Creates a new temporary file for the records, which is deleted when the history is closed or the program exits
+     * @throws UncheckedIOException If the file cannot be created
+     */
+    private void openFile(){
+        try {
+            file = File.createTempFile("gol-history-", ".bin");
+            file.deleteOnExit();
+            channel = new RandomAccessFile(file, "rw").getChannel();
+        }
+        catch (IOException ex){
+            throw new UncheckedIOException("History file unable to be created!", ex);
+        }
+    }
+
+    /**
+     * Closes and deletes the file of the records. Views of records that are still reachable keep their pages.
+     */
+    private void closeFile(){
+        regions.clear();
+        try {
+            channel.close();
+        }
+        catch (IOException ex){
+            ex.printStackTrace();
+        }
+        file.delete();
+    }
+
+}
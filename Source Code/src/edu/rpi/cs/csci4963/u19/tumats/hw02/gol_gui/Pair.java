@@ -0,0 +1,81 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import java.util.Objects;
+
+/**
+ * A key and a value that are kept together (such as the number of rows and columns of a board). The simulation uses
+ * this instead of the Pair of JavaFX so that it can run without JavaFX (see GameOfLifeCLI).
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ * @param <K> The type of the key
+ * @param <V> The type of the value
+ */
+public class Pair<K, V> {
+
+    /** The key of the pair */
+    private final K key;
+    /** The value of the pair */
+    private final V value;
+
+    /**
+     * Constructor for the Pair class
+     * @param key The key of the pair
+     * @param value The value of the pair
+     */
+    public Pair(K key, V value){
+        this.key = key;
+        this.value = value;
+    }
+
+    /**
+     * Returns the key of the pair
+     * @return The key
+     */
+    public K getKey(){
+        return key;
+    }
+
+    /**
+     * Returns the value of the pair
+     * @return The value
+     */
+    public V getValue(){
+        return value;
+    }
+
+    /**
+     * Checks whether another object is a pair with an equal key and an equal value
+     * @param other The object that is compared with this pair
+     * @return True if the pairs are equal and False otherwise
+     */
+    @Override
+    public boolean equals(Object other){
+        if (this == other)
+            return true;
+        if (!(other instanceof Pair))
+            return false;
+        Pair<?, ?> pair = (Pair<?, ?>) other;
+        return Objects.equals(key, pair.key) && Objects.equals(value, pair.value);
+    }
+
+    /**
+     * Returns a hash code that is built from the key and the value
+     * @return The hash code
+     */
+    @Override
+    public int hashCode(){
+        return 31 * Objects.hashCode(key) + Objects.hashCode(value);
+    }
+
+    /**
+     * Returns the pair in the form 'key=value'
+     * @return The String version of the pair
+     */
+    @Override
+    public String toString(){
+        return key + "=" + value;
+    }
+
+}
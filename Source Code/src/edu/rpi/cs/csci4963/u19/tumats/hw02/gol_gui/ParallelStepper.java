@@ -0,0 +1,295 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes a generation by splitting the board into bands of rows and stepping the bands on a ForkJoinPool. Every
+ * band only reads the previous generation and only writes its own rows of the next generation, so no locking is
+ * needed and the result is identical to stepping the whole board on one thread. The halo of the board is refreshed
+ * for the topology of the stepper before the board is split, so the bands only ever read it.
+ * The cell ages of the next tick can be computed in the same pass: every band advances the ages of its rows in chunks
+ * of AGE_CHUNK_ROWS rows right after computing them, so the words of the board are still cached when they are read
+ * again for the ages.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class ParallelStepper {
+
+    /** The number of rows of a band that are computed before their cell ages are advanced */
+    private static final int AGE_CHUNK_ROWS = 32;
+
+    /** The number of threads that are used to compute a generation */
+    private final int threadCount;
+    /** The smallest number of rows that is handed to a single task */
+    private final int minBandRows;
+    /** Computes the rows with a dedicated kernel (null when the rows are computed with BitBoard.stepRows) */
+    private final StepKernel kernel;
+    /** The rule that BitBoard.stepRows applies when there is no kernel */
+    private final Rule rule;
+    /** The shape of the surface that the boards are laid on */
+    private final Topology topology;
+    /** The pool that runs the band tasks (created the first time that it is needed) */
+    private ForkJoinPool pool;
+
+    /**
+     * Constructor for the ParallelStepper class
+     * @param threadCount The number of threads that are used to compute a generation
+     * @param minBandRows The smallest number of rows that is handed to a single task
+     */
+    public ParallelStepper(int threadCount, int minBandRows){
+        this(threadCount, minBandRows, null);
+    }
+
+    /**
+     * Constructor for the ParallelStepper class that computes the rows with a dedicated kernel
+     * @param threadCount The number of threads that are used to compute a generation
+     * @param minBandRows The smallest number of rows that is handed to a single task
+     * @param kernel Computes the rows with a dedicated kernel (null to compute them with BitBoard.stepRows)
+     */
+    public ParallelStepper(int threadCount, int minBandRows, StepKernel kernel){
+        this(threadCount, minBandRows, kernel, Rule.CONWAY);
+    }
+
+    /**
+     * Constructor for the ParallelStepper class that applies any rule
+     * @param threadCount The number of threads that are used to compute a generation
+     * @param minBandRows The smallest number of rows that is handed to a single task
+     * @param kernel Computes the rows with a dedicated kernel (null to compute them with BitBoard.stepRows)
+     * @param rule The rule that BitBoard.stepRows applies when there is no kernel
+     */
+    public ParallelStepper(int threadCount, int minBandRows, StepKernel kernel, Rule rule){
+        this(threadCount, minBandRows, kernel, rule, Topology.TORUS);
+    }
+
+    /**
+     * Constructor for the ParallelStepper class that applies any rule on any topology
+     * @param threadCount The number of threads that are used to compute a generation
+     * @param minBandRows The smallest number of rows that is handed to a single task
+     * @param kernel Computes the rows with a dedicated kernel (null to compute them with BitBoard.stepRows)
+     * @param rule The rule that BitBoard.stepRows applies when there is no kernel
+     * @param topology The shape of the surface that the boards are laid on
+     */
+    public ParallelStepper(int threadCount, int minBandRows, StepKernel kernel, Rule rule, Topology topology){
+        this.threadCount = Math.max(1, threadCount);
+        this.minBandRows = Math.max(1, minBandRows);
+        this.kernel = kernel;
+        this.rule = rule;
+        this.topology = topology;
+    }
+
+    /**
+     * Returns the number of threads that are used to compute a generation
+     * @return The thread count
+     */
+    public int getThreadCount(){
+        return threadCount;
+    }
+
+    /**
+     * Returns the smallest number of rows that is handed to a single task
+     * @return The minimum band size
+     */
+    public int getMinBandRows(){
+        return minBandRows;
+    }
+
+    /**
+     * Returns the kernel that computes the rows
+     * @return The kernel, or null if the rows are computed with BitBoard.stepRows
+     */
+    public StepKernel getKernel(){
+        return kernel;
+    }
+
+    /**
+     * Returns the rule that BitBoard.stepRows applies when there is no kernel
+     * @return The rule
+     */
+    public Rule getRule(){
+        return rule;
+    }
+
+    /**
+     * Returns the shape of the surface that the boards are laid on
+     * @return The topology
+     */
+    public Topology getTopology(){
+        return topology;
+    }
+
+    /**
+     * Lays a board on the topology of the stepper and refreshes its halo. This is done once per generation before any
+     * of its words are computed.
+     * @param board The board that holds the current generation
+     */
+    public void prepare(BitBoard board){
+        board.setTopology(topology);
+        board.refreshHalo();
+    }
+
+    /**
+     * Computes the next generation of a single word of a board with the same kernel as a full generation
+     * @param board The board that holds the current generation (see prepare)
+     * @param row The row of the word
+     * @param word The index of the word within the row
+     * @return The packed cell data of the word in the next generation
+     */
+    public long nextWord(BitBoard board, int row, int word){
+        if (kernel != null)
+            return kernel.nextWord(board, row, word);
+        return board.nextWord(row, word, rule);
+    }
+
+    /**
+     * Computes the next generation of a board. Boards that are too small to fill at least two bands are computed on
+     * the calling thread so that they do not pay for the fork overhead. The bands also collect how the hash of the next
+     * board changed from the hash of the board (see BitBoard.getStepHash).
+     * @param board The board that holds the current generation
+     * @param next The board that receives the next generation (its cells are all overwritten, so it may be a board
+     * that held an earlier generation)
+     * @return The number of births and deaths, packed (see BitBoard.packChanges)
+     */
+    public long step(BitBoard board, BitBoard next){
+        return step(board, next, null, null);
+    }
+
+    /**
+     * Computes the next generation of a board and the cell ages of the next tick in a single pass (see CellAges)
+     * @param board The board that holds the current generation
+     * @param next The board that receives the next generation (its cells are all overwritten, so it may be a board
+     * that held an earlier generation)
+     * @param ages The ages of the current tick (null if every age is 0, and never the same board as nextAges)
+     * @param nextAges The board that receives the ages of the next tick (null to leave the ages alone)
+     * @return The number of births and deaths, packed (see BitBoard.packChanges)
+     */
+    public long step(BitBoard board, BitBoard next, BitBoard ages, BitBoard nextAges){
+        prepare(board);
+        next.invalidateHalo();
+        next.startStepHash();
+        int rows = board.getNumRows();
+        if (threadCount == 1 || rows < 2 * minBandRows)
+            return stepRows(kernel, rule, board, next, ages, nextAges, 0, rows);
+        if (pool == null)
+            pool = new ForkJoinPool(threadCount);
+        /** Aim for a few bands per thread so that uneven bands still keep every thread busy */
+        int bandRows = Math.max(minBandRows, rows / (threadCount * 4));
+        return pool.invoke(new BandTask(kernel, rule, board, next, ages, nextAges, 0, rows, bandRows));
+    }
+
+    /**
+     * Computes the next generation for a band of rows with the given kernel
+     * @param kernel Computes the rows with a dedicated kernel (null to compute them with BitBoard.stepRows)
+     * @param rule The rule that BitBoard.stepRows applies when there is no kernel
+     * @param board The board that holds the current generation
+     * @param next The board that receives the next generation
+     * @param startRow The first row to compute (inclusive)
+     * @param endRow The last row to compute (exclusive)
+     * @return The number of births and deaths in the band, packed (see BitBoard.packChanges)
+     */
+    private static long stepRows(StepKernel kernel, Rule rule, BitBoard board, BitBoard next, int startRow, int endRow){
+        if (kernel != null)
+            return kernel.stepRows(board, next, startRow, endRow);
+        return board.stepRows(next, startRow, endRow, rule);
+    }
+
+    /**
+     * Computes the next generation for a band of rows and, when asked to, the cell ages of the band, chunk by chunk
+     * @param kernel Computes the rows with a dedicated kernel (null to compute them with BitBoard.stepRows)
+     * @param rule The rule that BitBoard.stepRows applies when there is no kernel
+     * @param board The board that holds the current generation
+     * @param next The board that receives the next generation
+     * @param ages The ages of the current tick (null if every age is 0)
+     * @param nextAges The board that receives the ages of the next tick (null to leave the ages alone)
+     * @param startRow The first row to compute (inclusive)
+     * @param endRow The last row to compute (exclusive)
+     * @return The number of births and deaths in the band, packed (see BitBoard.packChanges)
+     */
+    private static long stepRows(StepKernel kernel, Rule rule, BitBoard board, BitBoard next, BitBoard ages, BitBoard nextAges, int startRow, int endRow){
+        if (nextAges == null)
+            return stepRows(kernel, rule, board, next, startRow, endRow);
+        long changes = 0;
+        for (int row = startRow; row < endRow; row += AGE_CHUNK_ROWS){
+            int chunkEnd = Math.min(endRow, row + AGE_CHUNK_ROWS);
+            changes += stepRows(kernel, rule, board, next, row, chunkEnd);
+            CellAges.advanceRows(ages, board, nextAges, row, chunkEnd);
+        }
+        return changes;
+    }
+
+    /**
+     * Stops the threads of the pool. The stepper can still be used afterwards, in which case a new pool is created.
+     */
+    public void shutdown(){
+        if (pool != null){
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    /**
+     * Task that computes a band of rows, splitting itself in half while the band is larger than the band size. The
+     * result of the task is the packed number of births and deaths in the band.
+     */
+    private static class BandTask extends RecursiveTask<Long> {
+
+        /** The version of the serialized form of the task (tasks are never serialized) */
+        private static final long serialVersionUID = 1L;
+        /** Computes the rows with a dedicated kernel (null when the rows are computed with BitBoard.stepRows) */
+        private final StepKernel kernel;
+        /** The rule that BitBoard.stepRows applies when there is no kernel */
+        private final Rule rule;
+        /** The board that holds the current generation */
+        private final BitBoard board;
+        /** The board that receives the next generation */
+        private final BitBoard next;
+        /** The ages of the current tick (null if every age is 0) */
+        private final BitBoard ages;
+        /** The board that receives the ages of the next tick (null to leave the ages alone) */
+        private final BitBoard nextAges;
+        /** The first row of the band (inclusive) */
+        private final int startRow;
+        /** The last row of the band (exclusive) */
+        private final int endRow;
+        /** The largest band that is computed without splitting */
+        private final int bandRows;
+
+        /**
+         * Constructor for the BandTask class
+         * @param kernel Computes the rows with a dedicated kernel (null to compute them with BitBoard.stepRows)
+         * @param rule The rule that BitBoard.stepRows applies when there is no kernel
+         * @param board The board that holds the current generation
+         * @param next The board that receives the next generation
+         * @param ages The ages of the current tick (null if every age is 0)
+         * @param nextAges The board that receives the ages of the next tick (null to leave the ages alone)
+         * @param startRow The first row of the band (inclusive)
+         * @param endRow The last row of the band (exclusive)
+         * @param bandRows The largest band that is computed without splitting
+         */
+        BandTask(StepKernel kernel, Rule rule, BitBoard board, BitBoard next, BitBoard ages, BitBoard nextAges, int startRow, int endRow, int bandRows){
+            this.kernel = kernel;
+            this.rule = rule;
+            this.board = board;
+            this.next = next;
+            this.ages = ages;
+            this.nextAges = nextAges;
+            this.startRow = startRow;
+            this.endRow = endRow;
+            this.bandRows = bandRows;
+        }
+
+        @Override
+        protected Long compute(){
+            if (endRow - startRow <= bandRows)
+                return stepRows(kernel, rule, board, next, ages, nextAges, startRow, endRow);
+            int middle = (startRow + endRow) >>> 1;
+            BandTask top = new BandTask(kernel, rule, board, next, ages, nextAges, startRow, middle, bandRows);
+            BandTask bottom = new BandTask(kernel, rule, board, next, ages, nextAges, middle, endRow, bandRows);
+            invokeAll(top, bottom);
+            return top.join() + bottom.join();
+        }
+    }
+
+}
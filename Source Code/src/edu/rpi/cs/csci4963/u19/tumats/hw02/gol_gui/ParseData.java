@@ -1,6 +1,5 @@
 package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
 
-import javafx.util.Pair;
 import java.io.*;
 
 /**
@@ -16,9 +15,9 @@ public class ParseData {
     /**
      * This method is the main method which reads the file and transfers the appropriate row data the GameOfLife object
      * @param filename the file which is being used as a source for data
-     * @param gol The GameOfLife object that is currently being used in the program
+     * @param gol The simulation engine that is currently being used in the program
      */
-    public static void readFile(String filename, GameOfLife gol){
+    public static void readFile(String filename, SimulationEngine gol){
         try {
             BufferedReader br = new BufferedReader(new FileReader(filename));
             int counter = 0;
@@ -0,0 +1,155 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Keeps only the boards of the last few ticks, for running the game live without a history. Every tick has a fixed
+ * slot (tick % capacity), and storing a tick drops the board that was in its slot. The dropped board is handed out by
+ * reuse before it is dropped, so the next generation is computed into it instead of into a new board: once every slot
+ * has been filled, stepping and storing a tick allocates nothing. Ticks that fell out of the ring are simply not
+ * stored, so going back in time only reaches the last capacity - 1 ticks.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class RingTickHistory implements TickHistory {
+
+    /** The boards of the slots */
+    private final BitBoard[] boards;
+    /** The tick that every slot holds (-1 if the slot is empty) */
+    private final int[] ticks;
+
+    /**
+     * Constructor for the RingTickHistory class
+     * @param capacity The number of ticks that are kept (at least 2, so the board of a tick is never computed into the
+     * board of the tick before it)
+     */
+    public RingTickHistory(int capacity){
+        boards = new BitBoard[Math.max(2, capacity)];
+        ticks = new int[boards.length];
+        clear();
+    }
+
+    /**
+     * Returns the number of ticks that are kept
+     * @return The capacity of the ring
+     */
+    public int getCapacity(){
+        return boards.length;
+    }
+
+    /**
+     * Stores the board of a tick in its slot, dropping the tick that was in the slot before
+     * @param tick The tick of the board
+     * @param board The board of the tick
+     */
+    @Override
+    public void put(int tick, BitBoard board){
+        int slot = tick % boards.length;
+        boards[slot] = board;
+        ticks[slot] = tick;
+    }
+
+    /**
+     * Returns the board of a tick
+     * @param tick The tick of the board
+     * @return The board of the tick, or null if the tick is not stored
+     */
+    @Override
+    public BitBoard get(int tick){
+        return containsKey(tick) ? boards[tick % boards.length] : null;
+    }
+
+    /**
+     * Checks whether the board of a tick is stored
+     * @param tick The tick
+     * @return True if the tick is stored and False otherwise
+     */
+    @Override
+    public boolean containsKey(int tick){
+        return tick >= 0 && ticks[tick % boards.length] == tick;
+    }
+
+    /**
+     * Hands out the board that storing a tick will drop, as long as it is not a read-only view and has the requested
+     * dimensions
+     * @param tick The tick that the board will be stored for
+     * @param rows The number of rows of the board
+     * @param cols The number of columns of the board
+     * @param planes The number of bit planes of the board
+     * @return The board in the slot of the tick, or a new board if it cannot be reused
+     */
+    @Override
+    public BitBoard reuse(int tick, int rows, int cols, int planes){
+        BitBoard board = boards[tick % boards.length];
+        if (board == null || board.isReadOnly() || board.getNumRows() != rows || board.getNumCols() != cols || board.getPlaneCount() != planes)
+            return new BitBoard(rows, cols, planes);
+        return board;
+    }
+
+    /**
+     * Returns the number of ticks that are stored
+     * @return The number of ticks (at most the capacity)
+     */
+    @Override
+    public int size(){
+        int size = 0;
+        for (int tick : ticks){
+            if (tick >= 0)
+                size++;
+        }
+        return size;
+    }
+
+    /**
+     * Returns all of the ticks that are stored
+     * @return The stored ticks
+     */
+    @Override
+    public Set<Integer> ticks(){
+        Set<Integer> stored = new HashSet<>();
+        for (int tick : ticks){
+            if (tick >= 0)
+                stored.add(tick);
+        }
+        return stored;
+    }
+
+    /**
+     * Removes every tick after a given tick. The boards stay in their slots so that they can still be reused.
+     * @param tick The last tick that is kept
+     */
+    @Override
+    public void removeAfter(int tick){
+        for (int slot = 0; slot < ticks.length; slot++){
+            if (ticks[slot] > tick)
+                ticks[slot] = -1;
+        }
+    }
+
+    /**
+     * Removes every tick. The boards stay in their slots so that they can still be reused.
+     */
+    @Override
+    public void clear(){
+        for (int slot = 0; slot < ticks.length; slot++)
+            ticks[slot] = -1;
+    }
+
+    /**
+     * Estimates the number of bytes of heap memory that are used by the boards of the slots
+     * @return The estimated size in bytes
+     */
+    @Override
+    public long estimateBytes(){
+        long bytes = 0;
+        for (BitBoard board : boards){
+            if (board != null)
+                bytes += (long) board.getWordCount() * 8;
+        }
+        return bytes;
+    }
+
+}
@@ -0,0 +1,239 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+/**
+ * A rule of a Life-like cellular automaton, given by the neighbor counts that bring a dead cell to life (birth) and the
+ * neighbor counts that keep a live cell alive (survival). Generations rules add a number of states: a live cell that
+ * does not survive decays through the dying states (which do not count as neighbors and cannot be born into) before it
+ * is dead again.
+ * Rules are written as rulestrings such as "B3/S23" (Conway), "B36/S23" (HighLife), "B3678/S34678" (Day & Night),
+ * "B2/S" (Seeds) or "B2/S/C3" (Brian's Brain, a Generations rule with 3 states). The older "S/B" and "S/B/C" forms
+ * such as "23/3" and "/2/3" are accepted as well.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class Rule {
+
+    /** Conway's Game of Life (B3/S23) */
+    public static final Rule CONWAY = new Rule(1 << 3, (1 << 2) | (1 << 3), 2);
+
+    /** The largest number of states of a Generations rule */
+    public static final int MAX_STATES = 256;
+
+    /** Bit n is set when a dead cell with n live neighbors comes to life */
+    private final int birthMask;
+    /** Bit n is set when a live cell with n live neighbors stays alive */
+    private final int survivalMask;
+    /** The number of states (2 for rules without dying states) */
+    private final int states;
+
+    /**
+     * Constructor for the Rule class
+     * @param birthMask Bit n is set when a dead cell with n live neighbors comes to life
+     * @param survivalMask Bit n is set when a live cell with n live neighbors stays alive
+     * @param states The number of states (2 for rules without dying states)
+     */
+    public Rule(int birthMask, int survivalMask, int states){
+        if ((birthMask & ~511) != 0 || (survivalMask & ~511) != 0)
+            throw new IllegalArgumentException("Neighbor counts must be between 0 and 8");
+        if (states < 2 || states > MAX_STATES)
+            throw new IllegalArgumentException("The number of states must be between 2 and " + MAX_STATES);
+        this.birthMask = birthMask;
+        this.survivalMask = survivalMask;
+        this.states = states;
+    }
+
+    /**
+     * Parses a rulestring
+     * @param rulestring The rulestring, such as "B3/S23", "B2/S/C3", "23/3" or "/2/3"
+     * @return The rule
+     * @throws IllegalArgumentException If the rulestring is not a valid rule, with a message that explains why
+     */
+    public static Rule parse(String rulestring){
+        String text = rulestring.trim().toUpperCase();
+        if (text.isEmpty())
+            throw new IllegalArgumentException("Invalid rule '" + rulestring + "': the rule is empty");
+        String[] parts = text.split("/", -1);
+        if (parts.length < 2 || parts.length > 3)
+            throw new IllegalArgumentException("Invalid rule '" + rulestring + "': expected B.../S... or B.../S.../C...");
+        Integer birth = null;
+        Integer survival = null;
+        int states = 2;
+        try {
+            if (Character.isLetter(text.charAt(0))){
+                boolean hasStates = false;
+                for (String part : parts){
+                    if (part.isEmpty())
+                        throw new IllegalArgumentException("a part of the rule is empty");
+                    char kind = part.charAt(0);
+                    String value = part.substring(1);
+                    if (kind == 'B' && birth == null)
+                        birth = parseCounts(value);
+                    else if (kind == 'S' && survival == null)
+                        survival = parseCounts(value);
+                    else if ((kind == 'C' || kind == 'G') && !hasStates){
+                        states = parseStates(value);
+                        hasStates = true;
+                    }
+                    else
+                        throw new IllegalArgumentException("unexpected or repeated part '" + part + "'");
+                }
+                if (birth == null || survival == null)
+                    throw new IllegalArgumentException("both a B and an S part are needed");
+            }
+            else {
+                /** The older notation lists the survival counts first */
+                survival = parseCounts(parts[0]);
+                birth = parseCounts(parts[1]);
+                if (parts.length == 3)
+                    states = parseStates(parts[2]);
+            }
+        }
+        catch (IllegalArgumentException ex){
+            throw new IllegalArgumentException("Invalid rule '" + rulestring + "': " + ex.getMessage());
+        }
+        return new Rule(birth, survival, states);
+    }
+
+    /**
+     * Parses a list of neighbor counts such as "23"
+     * @param counts The digits of the neighbor counts
+     * @return Bit n is set when n is one of the counts
+     */
+    private static int parseCounts(String counts){
+        int mask = 0;
+        for (char digit : counts.toCharArray()){
+            if (digit < '0' || digit > '8')
+                throw new IllegalArgumentException("'" + digit + "' is not a neighbor count (0 to 8)");
+            int bit = 1 << (digit - '0');
+            if ((mask & bit) != 0)
+                throw new IllegalArgumentException("neighbor count " + digit + " is listed twice");
+            mask |= bit;
+        }
+        return mask;
+    }
+
+    /**
+     * Parses the number of states of a Generations rule
+     * @param value The number of states
+     * @return The number of states
+     */
+    private static int parseStates(String value){
+        int states;
+        try {
+            states = Integer.parseInt(value);
+        }
+        catch (NumberFormatException ex){
+            throw new IllegalArgumentException("'" + value + "' is not a number of states");
+        }
+        if (states < 2 || states > MAX_STATES)
+            throw new IllegalArgumentException("the number of states must be between 2 and " + MAX_STATES);
+        return states;
+    }
+
+    /**
+     * Returns the neighbor counts that bring a dead cell to life
+     * @return Bit n is set when a dead cell with n live neighbors comes to life
+     */
+    public int getBirthMask(){
+        return birthMask;
+    }
+
+    /**
+     * Returns the neighbor counts that keep a live cell alive
+     * @return Bit n is set when a live cell with n live neighbors stays alive
+     */
+    public int getSurvivalMask(){
+        return survivalMask;
+    }
+
+    /**
+     * Returns the number of states of a cell
+     * @return The number of states (2 for rules without dying states)
+     */
+    public int getStates(){
+        return states;
+    }
+
+    /**
+     * Returns the number of bit planes that a board needs to store the state of every cell: one for the live cells
+     * and, for Generations rules, enough planes to count through the dying states
+     * @return The number of planes
+     */
+    public int getPlaneCount(){
+        if (states == 2)
+            return 1;
+        return 1 + (32 - Integer.numberOfLeadingZeros(states - 2));
+    }
+
+    /**
+     * Checks whether the rule is Conway's Game of Life
+     * @return True if the rule is B3/S23 and False otherwise
+     */
+    public boolean isConway(){
+        return equals(CONWAY);
+    }
+
+    /**
+     * Checks whether the rule has dying states
+     * @return True if the rule has more than 2 states and False otherwise
+     */
+    public boolean isGenerations(){
+        return states > 2;
+    }
+
+    /**
+     * Checks whether the rule can run on an unbounded plane: it needs exactly two states and dead cells without any
+     * neighbors must stay dead
+     * @return True if the rule can run on an unbounded plane and False otherwise
+     */
+    public boolean isUnboundedSafe(){
+        return states == 2 && (birthMask & 1) == 0;
+    }
+
+    /**
+     * Applies the rule to a single live or dead cell
+     * @param alive True if the cell is alive and False otherwise
+     * @param neighbors The number of live neighbors of the cell
+     * @return True if the cell is alive in the next generation and False otherwise
+     */
+    public boolean nextState(boolean alive, int neighbors){
+        return ((alive ? survivalMask : birthMask) >>> neighbors & 1) != 0;
+    }
+
+    @Override
+    public boolean equals(Object other){
+        if (!(other instanceof Rule))
+            return false;
+        Rule rule = (Rule) other;
+        return birthMask == rule.birthMask && survivalMask == rule.survivalMask && states == rule.states;
+    }
+
+    @Override
+    public int hashCode(){
+        return (birthMask * 31 + survivalMask) * 31 + states;
+    }
+
+    /**
+     * Returns the rulestring of the rule in B/S notation
+     * @return The rulestring, such as "B3/S23" or "B2/S/C3"
+     */
+    @Override
+    public String toString(){
+        StringBuilder sb = new StringBuilder("B");
+        for (int count = 0; count <= 8; count++){
+            if ((birthMask >>> count & 1) != 0)
+                sb.append(count);
+        }
+        sb.append("/S");
+        for (int count = 0; count <= 8; count++){
+            if ((survivalMask >>> count & 1) != 0)
+                sb.append(count);
+        }
+        if (states > 2)
+            sb.append("/C").append(states);
+        return sb.toString();
+    }
+
+}
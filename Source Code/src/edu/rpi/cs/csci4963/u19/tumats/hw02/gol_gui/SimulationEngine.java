@@ -0,0 +1,359 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+/**
+ * Everything that the user interface, the command line runner and the input files need from a simulation: setting up
+ * the board, stepping it, querying cells and statistics, moving through the stored ticks and exporting them. GameOfLife
+ * is the reference engine. Other engines are picked by the 'engine' setting of the configuration file (see create), so
+ * an engine that suits a workload better can be used without changing the user interface.
+ * Engine settings that an engine does not support are ignored by it.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public interface SimulationEngine {
+
+    /** The name of the reference engine (GameOfLife) */
+    String REFERENCE = "reference";
+
+    /**
+     * Initializes the board by setting it to the proper dimensions
+     * @param dimensions The number rows in the key and the number of columns in the value
+     */
+    void initializeBoard(Pair<Integer, Integer> dimensions);
+
+    /**
+     * Populates the board when it has not been created yet. All cells of a new board are dead.
+     */
+    void populateBoard();
+
+    /**
+     * Changes the state of an individual cell within the current board
+     * @param row The row for the cell which is being changed
+     * @param col The column for the cell which is being changed
+     * @param state True if the cell is being changed to 1 and False of the cell is being changed to 0
+     */
+    void setState(int row, int col, boolean state);
+
+    /**
+     * Sets an entire row of the board with values that are given by rowData[].
+     * @param rowData An Integer array containing values (of 1 or 0) for the cells of a certain row
+     * @param row The desired row for which the data should be placed in
+     */
+    void setRow(Integer[] rowData, int row);
+
+    /**
+     * Resets all data structures and sets the tick to 0
+     */
+    void resetData();
+
+    /**
+     * Resets all data structures for all ticks (except tick 0)
+     */
+    void resetFutureTickData();
+
+    /**
+     * Returns the current number of rows in the board
+     * @return The number of rows
+     */
+    int getNumRows();
+
+    /**
+     * Returns the current number of columns in the board
+     * @return The number of columns
+     */
+    int getNumCols();
+
+    /**
+     * Ensures that the cell in question is either within bounds of the board or not in bounds
+     * @param row The row of the cell in question
+     * @param column The column of the cell in question
+     * @return true if the cell is within bounds and false otherwise
+     */
+    boolean checkBounds(int row, int column);
+
+    /**
+     * Moves to the next tick, computing it if it is not stored yet
+     */
+    void updateTick();
+
+    /**
+     * Moves forward by a number of ticks, one tick at a time. Every tick in between is computed (and stored, as far as
+     * the history keeps it), unlike jumpGenerations.
+     * @param count The number of ticks to move forward
+     */
+    default void stepMany(int count){
+        for (int step = 0; step < count; step++)
+            updateTick();
+    }
+
+    /**
+     * Moves straight to a tick. Engines are free to skip storing the ticks in between, so reaching a distant tick is
+     * only limited by how fast the generations are computed. By default a stored tick is simply shown and a later tick
+     * is reached with stepMany.
+     * @param targetTick The tick to move to
+     */
+    default void goToTick(int targetTick){
+        if (getSpecificTickData(targetTick) != null)
+            setCurrentTick(targetTick);
+        else if (targetTick > getCurrentTick())
+            stepMany(targetTick - getCurrentTick());
+    }
+
+    /**
+     * Advances the board by 2^power generations in a single call. Only the board of the target tick has to be stored.
+     * @param power The power of two of the number of generations to advance
+     */
+    void jumpGenerations(int power);
+
+    /**
+     * Provides the value of a certain cell in the current board
+     * @param row The desired row of the cell
+     * @param col The desired column of the cell
+     * @return 1 if the cell is alive and 0 otherwise
+     */
+    int getCellVal(int row, int col);
+
+    /**
+     * Provides the state of a certain cell in the current board
+     * @param row The desired row of the cell
+     * @param col The desired column of the cell
+     * @return 0 if the cell is dead, 1 if it is alive and 2 or more if it is dying (Generations rules only)
+     */
+    int getCellState(int row, int col);
+
+    /**
+     * Provides the age of a certain cell in the current board: the number of ticks in a row that the cell was alive
+     * for, up to the tick before the current tick
+     * @param row The desired row of the cell
+     * @param col The desired column of the cell
+     * @return The age of the cell (up to CellAges.MAX_AGE)
+     */
+    int getCellAge(int row, int col);
+
+    /**
+     * Returns the number of cells that are alive and dead at a tick
+     * @param tick The specific game tick for which we are totaling the number of dead/alive cells
+     * @return A Pair with the key as the number of cells that are alive and the value as the number of cells that are dead
+     */
+    Pair<Integer, Integer> getTickSumStates(int tick);
+
+    /**
+     * Returns the number of cells that came to life at a tick (since the closest earlier tick with board data)
+     * @param tick The game tick
+     * @return The number of births
+     */
+    int getBirths(int tick);
+
+    /**
+     * Returns the number of cells that died at a tick (since the closest earlier tick with board data)
+     * @param tick The game tick
+     * @return The number of deaths
+     */
+    int getDeaths(int tick);
+
+    /**
+     * Returns the period of the cycle that the board has settled into by the current tick. A period of 1 is a still
+     * life (or an empty board, see isExtinct).
+     * @return The period, or 0 if the board has not settled by the current tick (or cycles are not detected)
+     */
+    int getDetectedPeriod();
+
+    /**
+     * Checks whether every cell has died by the current tick
+     * @return True if the board is empty and stays empty and False otherwise
+     */
+    boolean isExtinct();
+
+    /**
+     * Returns the current game tick
+     * @return The tick
+     */
+    int getCurrentTick();
+
+    /**
+     * Set the current game tick as long as the given number is greater than 0
+     * @param currentTick the number that the tick should be set to
+     */
+    void setCurrentTick(int currentTick);
+
+    /**
+     * Returns the board for the current game tick
+     * @return A bit-packed board containing cell data for the current tick
+     */
+    BitBoard getCurrentBoard();
+
+    /**
+     * Returns the ages of the cells of the current board (see CellAges)
+     * @return The bit-sliced ages, or null if the engine does not keep ages (every cell is then shown as young)
+     */
+    default BitBoard getCurrentAges(){
+        return null;
+    }
+
+    /**
+     * Returns the board for a determined game tick
+     * @param i The game tick that we are gathering data for
+     * @return A bit-packed board containing cell data for the determined tick, or null if the tick is not stored
+     */
+    BitBoard getSpecificTickData(int i);
+
+    /**
+     * Finds the closest tick before a given tick that has board data
+     * @param tick The tick that we are looking before
+     * @return The closest earlier tick with board data, or -1 if there is none
+     */
+    int getStoredTickBefore(int tick);
+
+    /**
+     * Returns the latest tick that has board data
+     * @return The latest tick
+     */
+    int getLastStoredTick();
+
+    /**
+     * Returns the number of ticks that currently have board data
+     * @return The number of stored ticks
+     */
+    int getNumStoredTicks();
+
+    /**
+     * Returns the String version of a specified board
+     * @param printBoard the Board that will be converted into a String
+     * @return The String equivalent of the board
+     */
+    String boardToString(BitBoard printBoard);
+
+    /**
+     * Writes the board data for the desired number of ticks. Ticks without board data are not written.
+     * @param start The starting tick to print data for (inclusive)
+     * @param end The ending tick to print data for (inclusive)
+     * @param filePattern The file pattern for the output files
+     * @param folderPattern The folder pattern for the folder where the output files are placed
+     */
+    void writeData(int start, int end, String filePattern, String folderPattern);
+
+    /**
+     * Changes the rule of the game
+     * @param rule The rule of the game
+     */
+    void setRule(Rule rule);
+
+    /**
+     * Changes the shape of the surface that the board is laid on
+     * @param topology The topology
+     */
+    void setTopology(Topology topology);
+
+    /**
+     * Changes where the tick history is stored
+     * @param backend The kind of history ("compressed", "mapped" or "live")
+     * @param keyframeInterval The number of ticks between two full copies of the board in the compressed history
+     */
+    default void setHistoryBackend(String backend, int keyframeInterval){
+    }
+
+    /**
+     * Changes the number of threads that are used to compute a generation
+     * @param threadCount The number of threads (1 computes every generation on the calling thread)
+     * @param minBandRows The smallest number of rows that is handed to a single thread
+     */
+    default void setParallelism(int threadCount, int minBandRows){
+    }
+
+    /**
+     * Changes the number of worker processes that the board is stepped on
+     * @param workerCount The number of workers (0 steps the board in this process)
+     */
+    default void setWorkers(int workerCount){
+    }
+
+    /**
+     * Waits until the worker processes that were asked for have been started (or have failed to start)
+     */
+    default void awaitWorkers(){
+    }
+
+    /**
+     * Stops the worker processes (if there are any)
+     */
+    default void shutdownWorkers(){
+    }
+
+    /**
+     * Changes the kernel that computes the cells of a generation
+     * @param kernelName The kernel ("swar", "lookup" or "vector")
+     */
+    default void setKernel(String kernelName){
+    }
+
+    /**
+     * Turns sparse stepping on or off
+     * @param enabled True if only the active parts of the board should be evaluated and False otherwise
+     * @param fullSweepRatio The fraction of the board that must be changing before the whole board is evaluated
+     */
+    default void setSparseStepping(boolean enabled, double fullSweepRatio){
+    }
+
+    /**
+     * Turns the unbounded universe on or off
+     * @param unbounded True if the board should be a window onto an unbounded universe and False otherwise
+     */
+    default void setUnbounded(boolean unbounded){
+    }
+
+    /**
+     * Changes how often goToTick stores a tick on its way to the target tick
+     * @param interval The number of ticks between two stored ticks
+     */
+    default void setCheckpointInterval(int interval){
+    }
+
+    /**
+     * Changes the number of generations that are computed ahead of the current tick while the board is idle
+     * @param generations The number of generations (0 turns speculative stepping off)
+     */
+    default void setLookahead(int generations){
+    }
+
+    /**
+     * Stops computing generations ahead of the current tick until resumeSpeculation is called (while Auto Play steps
+     * the engine, the engine is not idle)
+     */
+    default void pauseSpeculation(){
+    }
+
+    /**
+     * Computes generations ahead of the current tick again after pauseSpeculation
+     */
+    default void resumeSpeculation(){
+    }
+
+    /**
+     * Changes the longest period of the cycles that are detected
+     * @param maxPeriod The longest period that is detected (0 turns detection off)
+     */
+    default void setMaxCyclePeriod(int maxPeriod){
+    }
+
+    /**
+     * Creates the engine with the given name. "reference" is GameOfLife, and any other name is the fully qualified name
+     * of a class that implements SimulationEngine and has a constructor without parameters. Engines that cannot be
+     * created are reported and replaced by the reference engine.
+     * @param engineName The name of the engine
+     * @return The engine
+     */
+    static SimulationEngine create(String engineName){
+        if (engineName.equals(REFERENCE))
+            return new GameOfLife();
+        try {
+            Class<?> engineClass = Class.forName(engineName);
+            return (SimulationEngine) engineClass.getConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException | ClassCastException | LinkageError ex){
+            System.out.println("Simulation engine '" + engineName + "' unavailable, using the " + REFERENCE + " engine");
+            return new GameOfLife();
+        }
+    }
+
+}
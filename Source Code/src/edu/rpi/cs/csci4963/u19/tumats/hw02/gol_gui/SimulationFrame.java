@@ -0,0 +1,167 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+/**
+ * A snapshot of a tick that can be displayed without touching the simulation engine: the statistics that are shown
+ * next to the grid and (optionally) copies of the board and the cell ages. The simulation thread of SimulationRunner
+ * reads its ticks into frames, so the JavaFX Application Thread never reads the engine while it is stepping. The boards
+ * of a frame are kept and overwritten by the next tick that is read into it, so reading a tick allocates nothing once
+ * the frame has been used.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class SimulationFrame {
+
+    /** The tick of the frame */
+    private int tick;
+    /** The number of alive cells at the tick */
+    private int alive;
+    /** The number of dead cells at the tick */
+    private int dead;
+    /** The number of alive cells at the closest earlier stored tick (0 if there is none) */
+    private int previousAlive;
+    /** The number of dead cells at the closest earlier stored tick (0 if there is none) */
+    private int previousDead;
+    /** The number of cells that came to life at the tick */
+    private int births;
+    /** The number of cells that died at the tick */
+    private int deaths;
+    /** The period of the cycle that the board has settled into (0 if it has not settled) */
+    private int detectedPeriod;
+    /** Whether every cell has died by the tick */
+    private boolean extinct;
+    /** A copy of the board of the tick (null until a board is read) */
+    private BitBoard board;
+    /** A copy of the cell ages of the tick (null if the engine does not keep ages) */
+    private BitBoard ages;
+
+    /**
+     * Reads the statistics of the current tick of an engine, without copying its board
+     * @param gol The engine
+     * @return This frame
+     */
+    public SimulationFrame readStatistics(SimulationEngine gol){
+        tick = gol.getCurrentTick();
+        Pair<Integer, Integer> totalStates = gol.getTickSumStates(tick);
+        alive = totalStates.getKey();
+        dead = totalStates.getValue();
+        int previousTick = gol.getStoredTickBefore(tick);
+        if (previousTick >= 0){
+            Pair<Integer, Integer> previousStates = gol.getTickSumStates(previousTick);
+            previousAlive = previousStates.getKey();
+            previousDead = previousStates.getValue();
+        }
+        else{
+            previousAlive = 0;
+            previousDead = 0;
+        }
+        births = gol.getBirths(tick);
+        deaths = gol.getDeaths(tick);
+        detectedPeriod = gol.getDetectedPeriod();
+        extinct = gol.isExtinct();
+        return this;
+    }
+
+    /**
+     * Reads the statistics, the board and the cell ages of the current tick of an engine
+     * @param gol The engine
+     * @return This frame
+     */
+    public SimulationFrame read(SimulationEngine gol){
+        readStatistics(gol);
+        board = BitBoard.copy(gol.getCurrentBoard(), board);
+        BitBoard currentAges = gol.getCurrentAges();
+        ages = currentAges == null ? null : BitBoard.copy(currentAges, ages);
+        return this;
+    }
+
+    /**
+     * Returns the tick of the frame
+     * @return The tick
+     */
+    public int getTick(){
+        return tick;
+    }
+
+    /**
+     * Returns the number of alive cells at the tick
+     * @return The number of alive cells
+     */
+    public int getAlive(){
+        return alive;
+    }
+
+    /**
+     * Returns the number of dead cells at the tick
+     * @return The number of dead cells
+     */
+    public int getDead(){
+        return dead;
+    }
+
+    /**
+     * Returns the number of alive cells at the closest earlier stored tick
+     * @return The number of alive cells (0 if there is no earlier stored tick)
+     */
+    public int getPreviousAlive(){
+        return previousAlive;
+    }
+
+    /**
+     * Returns the number of dead cells at the closest earlier stored tick
+     * @return The number of dead cells (0 if there is no earlier stored tick)
+     */
+    public int getPreviousDead(){
+        return previousDead;
+    }
+
+    /**
+     * Returns the number of cells that came to life at the tick
+     * @return The number of births
+     */
+    public int getBirths(){
+        return births;
+    }
+
+    /**
+     * Returns the number of cells that died at the tick
+     * @return The number of deaths
+     */
+    public int getDeaths(){
+        return deaths;
+    }
+
+    /**
+     * Returns the period of the cycle that the board has settled into by the tick
+     * @return The period, or 0 if the board has not settled
+     */
+    public int getDetectedPeriod(){
+        return detectedPeriod;
+    }
+
+    /**
+     * Checks whether every cell has died by the tick
+     * @return True if the board is empty and stays empty and False otherwise
+     */
+    public boolean isExtinct(){
+        return extinct;
+    }
+
+    /**
+     * Returns the copy of the board of the tick
+     * @return The board (null if only the statistics were read)
+     */
+    public BitBoard getBoard(){
+        return board;
+    }
+
+    /**
+     * Returns the copy of the cell ages of the tick (see CellAges)
+     * @return The ages (null if the engine does not keep ages)
+     */
+    public BitBoard getAges(){
+        return ages;
+    }
+
+}
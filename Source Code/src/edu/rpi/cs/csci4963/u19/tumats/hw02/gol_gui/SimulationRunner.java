@@ -0,0 +1,253 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+/**
+ * Steps a simulation engine on its own thread (Auto Play) and hands the ticks to the display through a bounded ring of
+ * SimulationFrames. The simulation thread reads a tick into a free frame and publishes it as the newest frame, and the
+ * display takes the newest frame whenever it draws (older frames that were never taken are simply overwritten), so
+ * neither side ever waits for the other. Only the simulation thread touches the engine until the run has ended (see
+ * stop), and a frame is only read while the display is not holding it.
+ * The run ends by itself once the maximum number of ticks is reached or the board has died out, settled or started
+ * repeating.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class SimulationRunner implements Runnable {
+
+    /** The number of frames in the ring (the newest frame, the frame held by the display and frames being read) */
+    private static final int RING_SIZE = 4;
+    /** The shortest time between two published frames (about half a display refresh) */
+    private static final long PUBLISH_INTERVAL_NANOS = 8_000_000L;
+    /** The simulation thread computes the next tick */
+    private static final int STEP = 0;
+    /** The simulation thread publishes the current tick before it waits for the run to be resumed */
+    private static final int PUBLISH = 1;
+    /** The simulation thread ends the run */
+    private static final int STOP = 2;
+
+    /** The engine that is stepped */
+    private final SimulationEngine gol;
+    /** The last tick that is computed */
+    private final int maxTicks;
+    /** The ring of frames */
+    private final SimulationFrame[] frames = new SimulationFrame[RING_SIZE];
+    /** The newest published frame (null if no frame has been published yet) */
+    private SimulationFrame latest;
+    /** The frame that the display took last and may still be drawing (null if there is none) */
+    private SimulationFrame held;
+    /** Whether the newest frame has been taken by the display */
+    private boolean latestTaken = true;
+    /** The thread that steps the engine */
+    private Thread thread;
+    /** The target number of ticks per second (0 steps as fast as possible) */
+    private double ticksPerSecond;
+    /** Whether stepping is paused */
+    private boolean paused = false;
+    /** Whether the run has been asked to stop */
+    private boolean stopped = false;
+    /** Whether the simulation thread has finished */
+    private boolean finished = false;
+
+    /**
+     * Constructor for the SimulationRunner class
+     * @param gol The engine that is stepped
+     * @param maxTicks The last tick that is computed
+     * @param ticksPerSecond The target number of ticks per second (0 steps as fast as possible)
+     */
+    public SimulationRunner(SimulationEngine gol, int maxTicks, double ticksPerSecond){
+        this.gol = gol;
+        this.maxTicks = maxTicks;
+        this.ticksPerSecond = Math.max(0, ticksPerSecond);
+        for (int i = 0; i < RING_SIZE; i++)
+            frames[i] = new SimulationFrame();
+    }
+
+    /**
+     * Starts stepping the engine on a new thread
+     */
+    public void start(){
+        thread = new Thread(this, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Steps the engine until the run ends or is stopped. A frame is published at most every PUBLISH_INTERVAL_NANOS,
+     * as well as when stepping is paused and after the last tick, so the display always ends up on the current tick.
+     */
+    @Override
+    public void run(){
+        try {
+            long nextTickTime = System.nanoTime();
+            long lastPublishTime = 0;
+            boolean unpublished = true;
+            while (true){
+                int turn = waitForTurn(nextTickTime, unpublished);
+                if (turn == STOP)
+                    break;
+                if (turn == PUBLISH){
+                    publish();
+                    unpublished = false;
+                    continue;
+                }
+                if (gol.getCurrentTick() >= maxTicks || gol.getDetectedPeriod() != 0)
+                    break;
+                gol.updateTick();
+                unpublished = true;
+                long now = System.nanoTime();
+                double rate = getTicksPerSecond();
+                /** A run that fell behind its rate (for example a large board) does not try to catch up by more than a second */
+                nextTickTime = rate > 0 ? Math.max(nextTickTime + (long) (1e9 / rate), now - 1_000_000_000L) : now;
+                if (now - lastPublishTime >= PUBLISH_INTERVAL_NANOS){
+                    publish();
+                    unpublished = false;
+                    lastPublishTime = now;
+                }
+            }
+            if (unpublished)
+                publish();
+        }
+        catch (RuntimeException ex){
+            ex.printStackTrace();
+        }
+        finally {
+            synchronized (this){
+                finished = true;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until the next tick is due and stepping is not paused
+     * @param nextTickTime The time (System.nanoTime) at which the next tick is due
+     * @param unpublished Whether the current tick has not been published yet
+     * @return STEP if the next tick should be computed, PUBLISH if stepping is paused on a tick that has not been
+     * published yet and STOP if the run has been stopped
+     */
+    private synchronized int waitForTurn(long nextTickTime, boolean unpublished){
+        try {
+            while (!stopped){
+                long delay = nextTickTime - System.nanoTime();
+                if (paused && unpublished)
+                    return PUBLISH;
+                else if (paused)
+                    wait();
+                else if (delay > 0)
+                    wait(delay / 1_000_000L, (int) (delay % 1_000_000L));
+                else
+                    return STEP;
+            }
+        }
+        catch (InterruptedException ex){
+            Thread.currentThread().interrupt();
+        }
+        return STOP;
+    }
+
+    /**
+     * Reads the current tick of the engine into a free frame and publishes it as the newest frame
+     */
+    private void publish(){
+        SimulationFrame frame = claimFrame();
+        frame.read(gol);
+        synchronized (this){
+            latest = frame;
+            latestTaken = false;
+        }
+    }
+
+    /**
+     * Finds a frame that is neither the newest frame nor held by the display, so that it can be read into
+     * @return The free frame
+     */
+    private synchronized SimulationFrame claimFrame(){
+        for (SimulationFrame frame : frames){
+            if (frame != latest && frame != held)
+                return frame;
+        }
+        return frames[0];
+    }
+
+    /**
+     * Takes the newest frame for display. The frame that was taken before is handed back to the ring.
+     * @return The newest frame, or null if no frame was published since the last call
+     */
+    public synchronized SimulationFrame takeLatest(){
+        if (latestTaken)
+            return null;
+        latestTaken = true;
+        held = latest;
+        return held;
+    }
+
+    /**
+     * Pauses stepping (the simulation thread keeps waiting until the run is resumed or stopped)
+     */
+    public synchronized void pause(){
+        paused = true;
+    }
+
+    /**
+     * Resumes stepping after a pause
+     */
+    public synchronized void resume(){
+        paused = false;
+        notifyAll();
+    }
+
+    /**
+     * Checks whether stepping is paused
+     * @return True if stepping is paused and False otherwise
+     */
+    public synchronized boolean isPaused(){
+        return paused;
+    }
+
+    /**
+     * Changes the target number of ticks per second while the engine is running
+     * @param ticksPerSecond The target number of ticks per second (0 steps as fast as possible)
+     */
+    public synchronized void setTicksPerSecond(double ticksPerSecond){
+        this.ticksPerSecond = Math.max(0, ticksPerSecond);
+        notifyAll();
+    }
+
+    /**
+     * Returns the target number of ticks per second
+     * @return The target number of ticks per second (0 steps as fast as possible)
+     */
+    public synchronized double getTicksPerSecond(){
+        return ticksPerSecond;
+    }
+
+    /**
+     * Stops the run and waits for the simulation thread to finish its current tick, after which the engine can be used
+     * by the caller again
+     */
+    public void stop(){
+        synchronized (this){
+            stopped = true;
+            notifyAll();
+            while (!finished && thread != null){
+                try {
+                    wait();
+                }
+                catch (InterruptedException ex){
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the simulation thread has finished (it has been stopped or the run has ended)
+     * @return True if the thread has finished and False otherwise
+     */
+    public synchronized boolean isFinished(){
+        return finished || thread == null;
+    }
+
+}
@@ -0,0 +1,287 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the board on several worker processes on the same host (see SlabWorker), so that a board can use more heap
+ * and more cores than a single JVM has. The board is split into horizontal slabs of consecutive rows, one slab per
+ * worker. The slabs stay on the workers from one generation to the next and the workers exchange the edge rows of
+ * their slabs with each other every generation. The coordinator only tells them when to step and gathers the number of
+ * births and deaths of every slab (which keep the population of the whole board up to date without counting it) and
+ * how the hash of the board changed (for cycle detection), so the board itself is only sent over when a snapshot of it
+ * is needed. All connections use the loopback address.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class SlabCoordinator {
+
+    /** How long to wait for the workers to start and connect, in milliseconds */
+    private static final int CONNECT_TIMEOUT = 30000;
+
+    /** The worker processes, from the top of the board to the bottom */
+    private final Process[] workers;
+    /** The connections to the workers */
+    private final Socket[] sockets;
+    /** Receives replies from the workers */
+    private final DataInputStream[] inputs;
+    /** Sends commands to the workers */
+    private final DataOutputStream[] outputs;
+    /** The first row of every slab, followed by the number of rows of the loaded board */
+    private int[] slabStarts;
+    /** The number of columns of the loaded board */
+    private int cols;
+    /** The number of bit planes of the loaded board */
+    private int planes;
+    /** The packed number of births and deaths of the generation that was computed last (see BitBoard.packChanges) */
+    private long lastChanges;
+    /** How the Zobrist hash of the whole board changed in the generation that was computed last (see CycleDetector) */
+    private long lastHashChange;
+    /** The number of alive cells on the whole board after the generation that was computed last */
+    private int population;
+
+    /**
+     * Constructor for the SlabCoordinator class. Starts the worker processes with the same Java installation and
+     * class path as this process and connects them to each other.
+     * @param workerCount The number of worker processes
+     * @throws IOException If the workers cannot be started or do not connect in time
+     */
+    public SlabCoordinator(int workerCount) throws IOException {
+        workers = new Process[workerCount];
+        sockets = new Socket[workerCount];
+        inputs = new DataInputStream[workerCount];
+        outputs = new DataOutputStream[workerCount];
+        try (ServerSocket server = new ServerSocket(0, workerCount, InetAddress.getLoopbackAddress())){
+            server.setSoTimeout(CONNECT_TIMEOUT);
+            for (int index = 0; index < workerCount; index++)
+                workers[index] = startWorker(server.getLocalPort(), index);
+            int[] haloPorts = new int[workerCount];
+            for (int count = 0; count < workerCount; count++){
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                int index = in.readInt();
+                haloPorts[index] = in.readInt();
+                sockets[index] = socket;
+                inputs[index] = in;
+                outputs[index] = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            }
+            /** Every worker connects to the worker below it, and the last worker connects to the first one */
+            for (int index = 0; index < workerCount; index++){
+                outputs[index].writeInt(workerCount);
+                outputs[index].writeInt(haloPorts[(index + 1) % workerCount]);
+                outputs[index].flush();
+            }
+        }
+        catch (IOException ex){
+            close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Starts a single worker process
+     * @param port The port that the worker connects to
+     * @param index The position of the worker from the top of the board
+     * @return The worker process
+     * @throws IOException If the process cannot be started
+     */
+    private static Process startWorker(int port, int index) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        if (StepKernel.isVectorAvailable()){
+            command.add("--add-modules");
+            command.add(StepKernel.VECTOR_MODULE);
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(SlabWorker.class.getName());
+        command.add(Integer.toString(port));
+        command.add(Integer.toString(index));
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.inheritIO();
+        return builder.start();
+    }
+
+    /**
+     * Returns the number of worker processes
+     * @return The number of workers
+     */
+    public int getWorkerCount(){
+        return workers.length;
+    }
+
+    /**
+     * Splits a board and the ages of its cells into slabs and sends every slab to its worker, together with the
+     * settings to step it with
+     * @param board The board (must have at least one row per worker)
+     * @param ages The ages of the cells of the board (null if every age is 0)
+     * @param rule The rule of the game
+     * @param topology The shape of the surface that the board is laid on
+     * @param kernelName The kernel that the workers compute their slabs with ("swar", "lookup" or "vector")
+     * @throws IOException If a connection fails
+     */
+    public void load(BitBoard board, BitBoard ages, Rule rule, Topology topology, String kernelName) throws IOException {
+        int rows = board.getNumRows();
+        if (rows < workers.length)
+            throw new IllegalArgumentException("A board with " + rows + " rows cannot be split among " + workers.length + " workers");
+        slabStarts = new int[workers.length + 1];
+        for (int index = 0; index <= workers.length; index++)
+            slabStarts[index] = (int) ((long) rows * index / workers.length);
+        for (int index = 0; index < workers.length; index++){
+            DataOutputStream out = outputs[index];
+            out.writeInt(SlabWorker.LOAD);
+            out.writeUTF(rule.toString());
+            out.writeUTF(topology.getName());
+            out.writeUTF(kernelName);
+            out.writeInt(slabStarts[index]);
+            out.writeInt(rows);
+            out.writeInt(slabStarts[index + 1] - slabStarts[index]);
+            out.writeInt(board.getNumCols());
+            writeSlab(out, board, index);
+            out.writeBoolean(ages != null);
+            if (ages != null)
+                writeSlab(out, ages, index);
+            out.flush();
+        }
+        cols = board.getNumCols();
+        planes = board.getPlaneCount();
+        population = board.population();
+    }
+
+    /**
+     * Sends the rows of a slab of a board, plane after plane
+     * @param out The connection to the worker of the slab
+     * @param board The whole board
+     * @param index The position of the slab from the top of the board
+     * @throws IOException If the connection fails
+     */
+    private void writeSlab(DataOutputStream out, BitBoard board, int index) throws IOException {
+        int wordsPerRow = board.getWordsPerRow();
+        int planeWords = board.getNumRows() * wordsPerRow;
+        for (int plane = 0; plane < board.getPlaneCount(); plane++){
+            int start = plane * planeWords + slabStarts[index] * wordsPerRow;
+            int end = plane * planeWords + slabStarts[index + 1] * wordsPerRow;
+            SlabWorker.writeWords(out, board, start, end);
+        }
+    }
+
+    /**
+     * Computes the next generation on every worker and gathers the statistics of the slabs
+     * @return The number of births and deaths on the whole board, packed (see BitBoard.packChanges)
+     * @throws IOException If a connection fails
+     */
+    public long step() throws IOException {
+        for (DataOutputStream out : outputs){
+            out.writeInt(SlabWorker.STEP);
+            out.flush();
+        }
+        long changes = 0;
+        long hashChange = 0;
+        for (DataInputStream in : inputs){
+            changes += in.readLong();
+            hashChange ^= in.readLong();
+        }
+        lastChanges = changes;
+        lastHashChange = hashChange;
+        population += BitBoard.getBirths(changes) - BitBoard.getDeaths(changes);
+        return changes;
+    }
+
+    /**
+     * Returns the number of births and deaths of the generation that was computed last
+     * @return The packed counts (see BitBoard.packChanges)
+     */
+    public long getLastChanges(){
+        return lastChanges;
+    }
+
+    /**
+     * Returns how the Zobrist hash of the whole board changed in the generation that was computed last
+     * @return The value to XOR into the hash of the previous board (see CycleDetector)
+     */
+    public long getLastHashChange(){
+        return lastHashChange;
+    }
+
+    /**
+     * Returns the number of alive cells on the whole board after the generation that was computed last
+     * @return The number of alive cells
+     */
+    public int getPopulation(){
+        return population;
+    }
+
+    /**
+     * Gathers the slabs of every worker into a single board
+     * @return A new board with the current generation of every slab
+     * @throws IOException If a connection fails
+     */
+    public BitBoard snapshot() throws IOException {
+        return gather(SlabWorker.SNAPSHOT, planes);
+    }
+
+    /**
+     * Gathers the ages of the cells of every slab into a single board
+     * @return A new board with the ages of the current generation (see CellAges)
+     * @throws IOException If a connection fails
+     */
+    public BitBoard snapshotAges() throws IOException {
+        return gather(SlabWorker.SNAPSHOT_AGES, CellAges.PLANES);
+    }
+
+    /**
+     * Asks every worker for the words of its slab and places them into a single board
+     * @param command The command that makes the workers send their words (SNAPSHOT or SNAPSHOT_AGES)
+     * @param planeCount The number of bit planes of the board
+     * @return A new board with the words of every slab
+     * @throws IOException If a connection fails
+     */
+    private BitBoard gather(int command, int planeCount) throws IOException {
+        for (DataOutputStream out : outputs){
+            out.writeInt(command);
+            out.flush();
+        }
+        int rows = slabStarts[workers.length];
+        BitBoard board = new BitBoard(rows, cols, planeCount);
+        int wordsPerRow = board.getWordsPerRow();
+        for (int index = 0; index < workers.length; index++){
+            for (int plane = 0; plane < planeCount; plane++){
+                int start = plane * rows * wordsPerRow + slabStarts[index] * wordsPerRow;
+                int end = plane * rows * wordsPerRow + slabStarts[index + 1] * wordsPerRow;
+                SlabWorker.readWords(inputs[index], board, start, end);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Stops every worker and closes the connections to them. Workers that do not stop in time are ended forcibly.
+     */
+    public void close(){
+        for (int index = 0; index < workers.length; index++){
+            try {
+                if (outputs[index] != null){
+                    outputs[index].writeInt(SlabWorker.STOP);
+                    outputs[index].flush();
+                }
+                if (sockets[index] != null)
+                    sockets[index].close();
+            }
+            catch (IOException ex){
+                /** The worker is already gone */
+            }
+        }
+        for (Process worker : workers){
+            if (worker != null)
+                worker.destroy();
+        }
+    }
+
+}
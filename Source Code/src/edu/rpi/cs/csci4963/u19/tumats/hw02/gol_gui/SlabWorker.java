@@ -0,0 +1,333 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A worker process of the distributed mode (see SlabCoordinator). Every worker runs in its own JVM and owns a slab of
+ * consecutive rows of the board. Before every generation, a worker sends its first row to the worker above it and its
+ * last row to the worker below it over local sockets, and receives their edge rows in return as the halo of its slab.
+ * The workers at the top and bottom of the board are neighbors of each other, and they apply the topology to the rows
+ * that cross the edge of the board (dropping them on a bounded board or a cylinder and reversing them on a Klein
+ * bottle). The slab and the ages of its cells stay on the worker from one generation to the next, and the coordinator
+ * only sends commands and collects the statistics and, when a board is needed, snapshots.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class SlabWorker {
+
+    /** Command that replaces the slab and the rule, topology and kernel that it is stepped with */
+    static final int LOAD = 1;
+    /** Command that computes the next generation of the slab */
+    static final int STEP = 2;
+    /** Command that sends the cell data of the slab back to the coordinator */
+    static final int SNAPSHOT = 3;
+    /** Command that ends the worker */
+    static final int STOP = 4;
+    /** Command that sends the ages of the cells of the slab back to the coordinator (see CellAges) */
+    static final int SNAPSHOT_AGES = 5;
+    /** The number of bytes that are sent or received at once when cell data is transferred */
+    private static final int CHUNK_BYTES = 64 * 1024;
+    /** The number of milliseconds that a worker waits for the worker above to connect, so it ends if the coordinator went away while starting */
+    private static final int CONNECT_TIMEOUT = 30000;
+
+    /** The position of the worker from the top of the board (0 for the first slab) */
+    private final int index;
+    /** Receives commands from the coordinator */
+    private final DataInputStream commands;
+    /** Sends replies to the coordinator */
+    private final DataOutputStream replies;
+    /** Receives the last row of the worker above */
+    private DataInputStream fromAbove;
+    /** Sends the first row to the worker above */
+    private DataOutputStream toAbove;
+    /** Receives the first row of the worker below */
+    private DataInputStream fromBelow;
+    /** Sends the last row to the worker below */
+    private DataOutputStream toBelow;
+    /** Sends the edge rows while the halo rows are received, so two workers never wait on each other's writes */
+    private final ExecutorService sender = Executors.newSingleThreadExecutor();
+    /** The number of workers */
+    private int workerCount;
+    /** The rows that this worker owns */
+    private BitBoard slab;
+    /** The board that the next generation of the slab is computed into (the slab of the generation before) */
+    private BitBoard spare;
+    /** The ages of the cells of the slab (see CellAges) */
+    private BitBoard ages;
+    /** The board that the ages of the next generation are computed into */
+    private BitBoard spareAges;
+    /** The words of the first row of the slab that are sent to the worker above */
+    private long[] firstWords;
+    /** The words of the last row of the slab that are sent to the worker below */
+    private long[] lastWords;
+    /** The shape of the surface that the whole board is laid on */
+    private Topology topology = Topology.TORUS;
+    /** Computes the generations of the slab */
+    private ParallelStepper stepper = new ParallelStepper(1, 64);
+
+    /**
+     * Constructor for the SlabWorker class
+     * @param index The position of the worker from the top of the board
+     * @param coordinator The connection to the coordinator
+     * @throws IOException If the connection cannot be used
+     */
+    public SlabWorker(int index, Socket coordinator) throws IOException {
+        this.index = index;
+        this.commands = new DataInputStream(new BufferedInputStream(coordinator.getInputStream()));
+        this.replies = new DataOutputStream(new BufferedOutputStream(coordinator.getOutputStream()));
+    }
+
+    /**
+     * Starts a worker process. The worker connects to the coordinator and runs its commands until it is stopped or
+     * until the coordinator goes away.
+     * @param args The port of the coordinator and the index of the worker
+     */
+    public static void main(String[] args){
+        if (args.length != 2){
+            System.out.println("Usage: SlabWorker <coordinator port> <worker index>");
+            System.exit(1);
+        }
+        try (Socket coordinator = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(args[0]))){
+            coordinator.setTcpNoDelay(true);
+            SlabWorker worker = new SlabWorker(Integer.parseInt(args[1]), coordinator);
+            worker.connect();
+            worker.run();
+        }
+        catch (EOFException ex){
+            /** The coordinator closed the connection without a STOP, so there is nothing left to do */
+        }
+        catch (IOException ex){
+            ex.printStackTrace();
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Connects the worker to the workers above and below it. The worker tells the coordinator on which port it takes
+     * the connection from the worker above, and the coordinator answers with the port of the worker below.
+     * @throws IOException If the connections cannot be made
+     */
+    public void connect() throws IOException {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        try (ServerSocket haloServer = new ServerSocket(0, 1, loopback)){
+            haloServer.setSoTimeout(CONNECT_TIMEOUT);
+            replies.writeInt(index);
+            replies.writeInt(haloServer.getLocalPort());
+            replies.flush();
+            workerCount = commands.readInt();
+            int belowPort = commands.readInt();
+            /** Connecting only needs the backlog of the worker below, so every worker can connect before it accepts */
+            Socket below = new Socket(loopback, belowPort);
+            Socket above = haloServer.accept();
+            below.setTcpNoDelay(true);
+            above.setTcpNoDelay(true);
+            fromBelow = new DataInputStream(new BufferedInputStream(below.getInputStream()));
+            toBelow = new DataOutputStream(new BufferedOutputStream(below.getOutputStream()));
+            fromAbove = new DataInputStream(new BufferedInputStream(above.getInputStream()));
+            toAbove = new DataOutputStream(new BufferedOutputStream(above.getOutputStream()));
+        }
+    }
+
+    /**
+     * Runs the commands of the coordinator until it sends STOP
+     * @throws IOException If a connection fails
+     */
+    public void run() throws IOException {
+        try {
+            while (true){
+                int command = commands.readInt();
+                switch (command){
+                    case LOAD:
+                        load();
+                        break;
+                    case STEP:
+                        replies.writeLong(step());
+                        replies.writeLong(slab.getStepHash());
+                        break;
+                    case SNAPSHOT:
+                        writeWords(replies, slab, 0, slab.getWordCount());
+                        break;
+                    case SNAPSHOT_AGES:
+                        writeWords(replies, ages, 0, ages.getWordCount());
+                        break;
+                    case STOP:
+                        return;
+                    default:
+                        throw new IOException("Unknown command " + command);
+                }
+                replies.flush();
+            }
+        }
+        finally {
+            stepper.shutdown();
+            sender.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads a new slab, the ages of its cells and the settings that it is stepped with from the coordinator
+     * @throws IOException If the connection fails
+     */
+    private void load() throws IOException {
+        Rule rule = Rule.parse(commands.readUTF());
+        topology = Topology.parse(commands.readUTF());
+        String kernelName = commands.readUTF();
+        int firstRow = commands.readInt();
+        int boardRows = commands.readInt();
+        int rows = commands.readInt();
+        int cols = commands.readInt();
+        slab = new BitBoard(rows, cols, rule.getPlaneCount());
+        readWords(commands, slab, 0, slab.getWordCount());
+        ages = new BitBoard(rows, cols, CellAges.PLANES);
+        if (commands.readBoolean())
+            readWords(commands, ages, 0, ages.getWordCount());
+        spare = new BitBoard(rows, cols, rule.getPlaneCount());
+        spareAges = new BitBoard(rows, cols, CellAges.PLANES);
+        /** The hash changes of a step are those of the whole board, which the coordinator adds up */
+        slab.setHashWindow(firstRow, boardRows);
+        spare.setHashWindow(firstRow, boardRows);
+        firstWords = new long[slab.getWordsPerRow()];
+        lastWords = new long[slab.getWordsPerRow()];
+        stepper.shutdown();
+        stepper = new ParallelStepper(1, 64, StepKernel.forName(kernelName, rule), rule, topology);
+    }
+
+    /**
+     * Exchanges the edge rows with the workers above and below and computes the next generation of the slab and the
+     * ages of its cells in a single pass, which also collects how the hash of the whole board changed in the slab (see
+     * BitBoard.getStepHash). The slab of the generation before is kept in spare, until the next generation is computed
+     * into it.
+     * @return The number of births and deaths in the slab, packed (see BitBoard.packChanges)
+     * @throws IOException If a connection fails
+     */
+    private long step() throws IOException {
+        int rows = slab.getNumRows();
+        int wordsPerRow = slab.getWordsPerRow();
+        for (int word = 0; word < wordsPerRow; word++){
+            firstWords[word] = slab.getWord(0, word);
+            lastWords[word] = slab.getWord(rows - 1, word);
+        }
+        Future<?> sent = sender.submit(() -> {
+            writeRow(toAbove, firstWords);
+            writeRow(toBelow, lastWords);
+            return null;
+        });
+        long[] above = readRow(fromAbove, wordsPerRow);
+        long[] below = readRow(fromBelow, wordsPerRow);
+        try {
+            sent.get();
+        }
+        catch (InterruptedException | ExecutionException ex){
+            throw new IOException("Unable to send the edge rows", ex);
+        }
+        if (index == 0)
+            crossEdge(above);
+        if (index == workerCount - 1)
+            crossEdge(below);
+        slab.setTopology(topology);
+        slab.setHalo(above, below);
+        BitBoard next = spare;
+        BitBoard nextAges = spareAges;
+        long changes = stepper.step(slab, next, ages, nextAges);
+        spare = slab;
+        slab = next;
+        spareAges = ages;
+        ages = nextAges;
+        return changes;
+    }
+
+    /**
+     * Applies the topology to a halo row that comes from the other side of the board
+     * @param row The row, which is changed in place
+     */
+    private void crossEdge(long[] row){
+        if (!topology.wrapsRows())
+            Arrays.fill(row, 0L);
+        else if (topology.flipsRows()){
+            long[] reversed = new long[row.length];
+            BitBoard.reverseRow(row, 0, reversed, 0, slab.getNumCols());
+            System.arraycopy(reversed, 0, row, 0, row.length);
+        }
+    }
+
+    /**
+     * Sends a row to a neighboring worker
+     * @param out The connection to the worker
+     * @param row The words of the row
+     * @throws IOException If the connection fails
+     */
+    private static void writeRow(DataOutputStream out, long[] row) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(row.length * 8);
+        bytes.asLongBuffer().put(row);
+        out.write(bytes.array());
+        out.flush();
+    }
+
+    /**
+     * Receives a row from a neighboring worker
+     * @param in The connection to the worker
+     * @param wordsPerRow The number of words in the row
+     * @return The words of the row
+     * @throws IOException If the connection fails
+     */
+    private static long[] readRow(DataInputStream in, int wordsPerRow) throws IOException {
+        byte[] bytes = new byte[wordsPerRow * 8];
+        in.readFully(bytes);
+        long[] row = new long[wordsPerRow];
+        ByteBuffer.wrap(bytes).asLongBuffer().get(row);
+        return row;
+    }
+
+    /**
+     * Sends a range of the cell data of a board in chunks of bytes instead of one word at a time
+     * @param out The connection that the words are sent over
+     * @param board The board that holds the words
+     * @param start The position of the first word (inclusive, see BitBoard.getWordAt)
+     * @param end The position of the last word (exclusive)
+     * @throws IOException If the connection fails
+     */
+    static void writeWords(DataOutputStream out, BitBoard board, int start, int end) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(CHUNK_BYTES);
+        for (int i = start; i < end; i++){
+            if (!chunk.hasRemaining()){
+                out.write(chunk.array(), 0, chunk.position());
+                chunk.clear();
+            }
+            chunk.putLong(board.getWordAt(i));
+        }
+        out.write(chunk.array(), 0, chunk.position());
+    }
+
+    /**
+     * Receives a range of the cell data of a board that was sent with writeWords
+     * @param in The connection that the words are received over
+     * @param board The board that receives the words
+     * @param start The position of the first word (inclusive, see BitBoard.setWordAt)
+     * @param end The position of the last word (exclusive)
+     * @throws IOException If the connection fails
+     */
+    static void readWords(DataInputStream in, BitBoard board, int start, int end) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(CHUNK_BYTES);
+        int index = start;
+        while (index < end){
+            int count = Math.min(end - index, CHUNK_BYTES / 8);
+            in.readFully(chunk.array(), 0, count * 8);
+            chunk.clear();
+            for (int word = 0; word < count; word++)
+                board.setWordAt(index++, chunk.getLong());
+        }
+    }
+
+}
@@ -0,0 +1,171 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+/**
+ * Computes generations by only re-evaluating the parts of the board that can change. The stepper remembers which
+ * words (64 cell blocks) changed in the generation it last computed. A word can only change in the next generation
+ * if it or one of the words around it changed, so every other word is simply copied. When too much of the board is
+ * changing, the whole board is computed instead. On a Klein bottle, a word that changed in the first or last row
+ * shows up mirrored in the halo of the opposite row, so that whole row is evaluated.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class SparseStepper {
+
+    /** The fraction of changed words above which the whole board is computed instead */
+    private final double fullSweepRatio;
+    /** The board that the list of changed words belongs to (the last board computed by this stepper) */
+    private BitBoard trackedBoard;
+    /** Indexes (row * wordsPerRow + word) of the words that changed when trackedBoard was computed */
+    private int[] changed = new int[64];
+    /** The number of entries of changed that are in use */
+    private int changedCount;
+    /** Indexes of the words that change while the next generation is being computed */
+    private int[] nextChanged = new int[64];
+    /** The number of entries of nextChanged that are in use */
+    private int nextChangedCount;
+    /** Stamp for every word, used to make sure that no word is evaluated twice in the same generation */
+    private int[] marks = new int[0];
+    /** The stamp of the generation that is currently being computed */
+    private int stamp;
+    /** The packed number of births and deaths of the generation that was computed last (see BitBoard.packChanges) */
+    private long lastChanges;
+    /** The hash changes of the words that changed in the generation that is currently being computed (see BitBoard.hashChange) */
+    private long hashChanges;
+
+    /**
+     * Constructor for the SparseStepper class
+     * @param fullSweepRatio The fraction of changed words above which the whole board is computed instead
+     */
+    public SparseStepper(double fullSweepRatio){
+        this.fullSweepRatio = fullSweepRatio;
+    }
+
+    /**
+     * Returns the fraction of changed words above which the whole board is computed instead
+     * @return The fraction of changed words
+     */
+    public double getFullSweepRatio(){
+        return fullSweepRatio;
+    }
+
+    /**
+     * Computes the next generation of a board. Only the words around the words that changed in the previous
+     * generation are evaluated when the board is the last board that this stepper computed. Any other board (such as
+     * the first board or a board that was edited by the user) is computed in full.
+     * @param board The board that holds the current generation
+     * @param fullStepper Computes the whole board when a full sweep is needed (and single words with the same kernel)
+     * @return A new board that holds the next generation
+     */
+    public BitBoard step(BitBoard board, ParallelStepper fullStepper){
+        int wordsPerRow = board.getWordsPerRow();
+        int totalWords = board.getNumRows() * wordsPerRow;
+        BitBoard next;
+        nextChangedCount = 0;
+        if (board != trackedBoard || changedCount * 9 > totalWords * fullSweepRatio){
+            next = new BitBoard(board.getNumRows(), board.getNumCols());
+            lastChanges = fullStepper.step(board, next);
+            for (int row = 0; row < board.getNumRows(); row++){
+                for (int word = 0; word < wordsPerRow; word++){
+                    if (board.getWord(row, word) != next.getWord(row, word))
+                        addChange(row * wordsPerRow + word);
+                }
+            }
+        }
+        else {
+            fullStepper.prepare(board);
+            next = new BitBoard(board);
+            next.startStepHash();
+            hashChanges = 0;
+            long changes = 0;
+            if (marks.length != totalWords){
+                marks = new int[totalWords];
+                stamp = 0;
+            }
+            stamp += 1;
+            int rows = board.getNumRows();
+            boolean flipsRows = fullStepper.getTopology().flipsRows();
+            for (int i = 0; i < changedCount; i++){
+                int changedRow = changed[i] / wordsPerRow;
+                int changedWord = changed[i] % wordsPerRow;
+                for (int rowOffset = -1; rowOffset <= 1; rowOffset++){
+                    int row = changedRow + rowOffset;
+                    if (flipsRows && (row < 0 || row >= rows)){
+                        int opposite = row < 0 ? rows - 1 : 0;
+                        for (int word = 0; word < wordsPerRow; word++)
+                            changes += evaluate(board, next, fullStepper, opposite, word);
+                        continue;
+                    }
+                    row = (row + rows) % rows;
+                    for (int wordOffset = -1; wordOffset <= 1; wordOffset++){
+                        int word = (changedWord + wordOffset + wordsPerRow) % wordsPerRow;
+                        changes += evaluate(board, next, fullStepper, row, word);
+                    }
+                }
+            }
+            lastChanges = changes;
+            next.mixStepHash(hashChanges);
+        }
+        int[] temp = changed;
+        changed = nextChanged;
+        nextChanged = temp;
+        changedCount = nextChangedCount;
+        trackedBoard = next;
+        return next;
+    }
+
+    /**
+     * Evaluates a single word unless it was already evaluated in this generation, and records it if it changed
+     * @param board The board that holds the current generation
+     * @param next The board that receives the next generation
+     * @param fullStepper Computes the word with the same kernel as a full generation
+     * @param row The row of the word
+     * @param word The index of the word within the row
+     * @return The number of births and deaths within the word, packed (see BitBoard.packChanges)
+     */
+    private long evaluate(BitBoard board, BitBoard next, ParallelStepper fullStepper, int row, int word){
+        int index = row * board.getWordsPerRow() + word;
+        if (marks[index] == stamp)
+            return 0;
+        marks[index] = stamp;
+        long value = fullStepper.nextWord(board, row, word);
+        long old = board.getWord(row, word);
+        if (value == old)
+            return 0;
+        next.setWord(row, word, value);
+        addChange(index);
+        hashChanges ^= BitBoard.hashChange(index, old, value);
+        return BitBoard.packChanges(Long.bitCount(value & ~old), Long.bitCount(old & ~value));
+    }
+
+    /**
+     * Returns the number of births and deaths of the generation that was computed last
+     * @return The packed counts (see BitBoard.packChanges)
+     */
+    public long getLastChanges(){
+        return lastChanges;
+    }
+
+    /**
+     * Forgets the changed words, so that the next generation is computed in full
+     */
+    public void reset(){
+        trackedBoard = null;
+        changedCount = 0;
+    }
+
+    /**
+     * Records a word that changed in the generation that is being computed
+     * @param index The index (row * wordsPerRow + word) of the word
+     */
+    private void addChange(int index){
+        if (nextChangedCount == nextChanged.length){
+            int[] larger = new int[nextChanged.length * 2];
+            System.arraycopy(nextChanged, 0, larger, 0, nextChangedCount);
+            nextChanged = larger;
+        }
+        nextChanged[nextChangedCount++] = index;
+    }
+
+}
@@ -0,0 +1,301 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import java.util.ArrayDeque;
+
+/**
+ * Computes the next few generations ahead of the current tick on a low-priority background thread, so that Next Tick
+ * only has to store a generation that is already computed while the user is looking at the board. The generations
+ * form a chain that starts at the tick that the engine is on. A generation is only handed out to the chain that the
+ * engine started last (its epoch), for the tick after the one that the chain is on and with the stepper that the chain
+ * was computed with. The engine cancels the chain whenever it edits the board or moves to another tick, and a rule or
+ * topology change replaces its stepper, so a wrong generation is never brought in (it simply misses, and the chain is
+ * started again). The cells are only compared as well while assertions are enabled.
+ * The chain starts from the engine's own board and ages, which the thread only reads, and the engine cancels the chain
+ * before it changes them. The thread computes into boards that the engine handed back (see recycle) or that were dropped
+ * with a chain, so stepping a live history does not allocate, and every board that it hands out is a board that it
+ * never touches again.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class SpeculativeStepper implements Runnable {
+
+    /** The number of generations that are computed ahead of the tick that the engine is on */
+    private final int lookahead;
+    /** The chain of generations. The first entry is the tick that the engine is on and is the only one that is not handed out yet. */
+    private final ArrayDeque<Entry> chain = new ArrayDeque<>();
+    /** The stepper that the chain is computed with (the engine's speculative stepper when the chain was started) */
+    private ParallelStepper stepper;
+    /** Counts the chains that were started or cancelled, so that the thread drops a generation of an older chain */
+    private int epoch = 0;
+    /** Whether the thread has been asked to end */
+    private boolean shutdown = false;
+    /** The background thread (created when the first chain is started) */
+    private Thread thread;
+    /** Boards that the thread may compute the next generation into */
+    private final ArrayDeque<BitBoard> spareBoards = new ArrayDeque<>();
+    /** Boards that the thread may compute the ages of the next generation into */
+    private final ArrayDeque<BitBoard> spareAges = new ArrayDeque<>();
+    /** The ages of the cells of the board that was handed out last */
+    private BitBoard takenAges;
+    /** The packed number of births and deaths of the board that was handed out last (see BitBoard.packChanges) */
+    private long takenChanges;
+
+    /**
+     * Constructor for the SpeculativeStepper class
+     * @param lookahead The number of generations that are computed ahead of the tick that the engine is on
+     */
+    public SpeculativeStepper(int lookahead){
+        this.lookahead = Math.max(1, lookahead);
+    }
+
+    /**
+     * Returns the number of generations that are computed ahead of the tick that the engine is on
+     * @return The lookahead
+     */
+    public int getLookahead(){
+        return lookahead;
+    }
+
+    /**
+     * Checks whether the chain starts at a tick and is computed with a stepper, in which case it does not have to be
+     * started again
+     * @param tick The tick that the engine is on
+     * @param stepper The stepper that the engine computes its generations with
+     * @return True if the chain follows the tick and False otherwise
+     */
+    public synchronized boolean isFollowing(int tick, ParallelStepper stepper){
+        return !chain.isEmpty() && chain.peekFirst().tick == tick && this.stepper == stepper;
+    }
+
+    /**
+     * Drops the chain and starts a new one at a tick. The board and the ages are read by the background thread until
+     * the chain is cancelled or started again, so the caller must cancel the chain before it changes them (read-only
+     * views are copied).
+     * @param tick The tick that the engine is on
+     * @param board The board of the tick
+     * @param ages The ages of the cells of the tick (null if every age is 0)
+     * @param stepper A stepper (with a single thread) that applies the rule and topology of the engine
+     * @return The epoch of the new chain, which take checks
+     */
+    public synchronized int restart(int tick, BitBoard board, BitBoard ages, ParallelStepper stepper){
+        dropChain();
+        if (board.isReadOnly())
+            board = new BitBoard(board);
+        if (ages != null && ages.isReadOnly())
+            ages = new BitBoard(ages);
+        chain.add(new Entry(tick, board, ages, 0));
+        this.stepper = stepper;
+        if (thread == null){
+            thread = new Thread(this, "lookahead");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.start();
+        }
+        notifyAll();
+        return epoch;
+    }
+
+    /**
+     * Drops the chain (for example after the board was edited)
+     */
+    public synchronized void cancel(){
+        dropChain();
+    }
+
+    /**
+     * Hands the board and the ages of a generation back once the engine no longer uses them, so that the thread
+     * computes a later generation into them
+     * @param board The board, which the engine never touches again
+     * @param ages The ages of the cells, which the engine never touches again
+     */
+    public synchronized void recycle(BitBoard board, BitBoard ages){
+        if (!board.isReadOnly() && spareBoards.size() <= lookahead)
+            spareBoards.add(board);
+        if (!ages.isReadOnly() && spareAges.size() <= lookahead)
+            spareAges.add(ages);
+    }
+
+    /**
+     * Drops the chain and keeps the boards of the generations that were not handed out yet
+     */
+    private void dropChain(){
+        epoch += 1;
+        /** The first generation is the tick that the engine is on, whose board belongs to the engine */
+        chain.pollFirst();
+        for (Entry entry : chain){
+            if (spareBoards.size() <= lookahead)
+                spareBoards.add(entry.board);
+            if (spareAges.size() <= lookahead)
+                spareAges.add(entry.ages);
+        }
+        chain.clear();
+    }
+
+    /**
+     * Takes a spare board with the given dimensions. Spare boards with other dimensions (from before the board was
+     * resized or the rule changed) are dropped.
+     * @param spares The spare boards
+     * @param rows The number of rows of the board
+     * @param cols The number of columns of the board
+     * @param planes The number of bit planes of the board
+     * @return The board, or null if there is no spare board with the dimensions
+     */
+    private static BitBoard takeSpare(ArrayDeque<BitBoard> spares, int rows, int cols, int planes){
+        BitBoard board;
+        while ((board = spares.pollFirst()) != null){
+            if (board.getNumRows() == rows && board.getNumCols() == cols && board.getPlaneCount() == planes)
+                return board;
+        }
+        return null;
+    }
+
+    /**
+     * Hands out the generation of a tick if it belongs to the chain that the engine started last and follows the tick
+     * that the chain is on. The board and the ages are only compared with the ones that the chain was computed from
+     * while assertions are enabled.
+     * @param tick The tick of the generation
+     * @param epoch The epoch that restart returned when the engine started the chain
+     * @param board The board of the tick before it
+     * @param ages The ages of the cells of the tick before it (null if every age is 0)
+     * @param stepper The stepper that the engine computes its generations with
+     * @return The board of the generation, or null if it is not available (see getTakenAges and getTakenChanges for
+     * the rest of the generation)
+     */
+    public synchronized BitBoard take(int tick, int epoch, BitBoard board, BitBoard ages, ParallelStepper stepper){
+        if (chain.size() < 2 || epoch != this.epoch || this.stepper != stepper)
+            return null;
+        Entry head = chain.peekFirst();
+        if (head.tick != tick - 1)
+            return null;
+        assert matches(head, board, ages) : "The chain of tick " + head.tick + " was computed from other cells";
+        chain.removeFirst();
+        Entry next = chain.peekFirst();
+        takenAges = next.ages;
+        takenChanges = next.changes;
+        notifyAll();
+        return next.board;
+    }
+
+    /**
+     * Checks whether a generation of the chain has the same cells and ages as the ones that the engine holds
+     * @param entry The generation
+     * @param board The board that the engine holds
+     * @param ages The ages that the engine holds (null if every age is 0)
+     * @return True if they are the same and False otherwise
+     */
+    private static boolean matches(Entry entry, BitBoard board, BitBoard ages){
+        if (!CycleDetector.sameCells(entry.board, board))
+            return false;
+        return entry.ages == null ? ages == null : ages != null && CycleDetector.sameCells(entry.ages, ages);
+    }
+
+    /**
+     * Returns the ages of the cells of the generation that was handed out last
+     * @return The ages
+     */
+    public synchronized BitBoard getTakenAges(){
+        return takenAges;
+    }
+
+    /**
+     * Returns the number of births and deaths of the generation that was handed out last
+     * @return The packed counts (see BitBoard.packChanges)
+     */
+    public synchronized long getTakenChanges(){
+        return takenChanges;
+    }
+
+    /**
+     * Ends the background thread
+     */
+    public synchronized void shutdown(){
+        shutdown = true;
+        chain.clear();
+        spareBoards.clear();
+        spareAges.clear();
+        notifyAll();
+    }
+
+    /**
+     * Extends the chain until it reaches the lookahead, and waits whenever it has or there is no chain. A failed step
+     * ends the thread and drops the chain, and the next chain that is started starts a new thread.
+     */
+    @Override
+    public void run(){
+        try {
+            while (true){
+                int chainEpoch;
+                Entry last;
+                ParallelStepper chainStepper;
+                BitBoard board;
+                BitBoard ages;
+                synchronized (this){
+                    while (!shutdown && (chain.isEmpty() || chain.size() > lookahead))
+                        wait();
+                    if (shutdown)
+                        return;
+                    chainEpoch = epoch;
+                    last = chain.peekLast();
+                    chainStepper = stepper;
+                    board = takeSpare(spareBoards, last.board.getNumRows(), last.board.getNumCols(), last.board.getPlaneCount());
+                    ages = takeSpare(spareAges, last.board.getNumRows(), last.board.getNumCols(), CellAges.PLANES);
+                }
+                if (board == null)
+                    board = new BitBoard(last.board.getNumRows(), last.board.getNumCols(), last.board.getPlaneCount());
+                if (ages == null)
+                    ages = new BitBoard(last.board.getNumRows(), last.board.getNumCols(), CellAges.PLANES);
+                /** The boards of the last generation are only read, and nobody else writes the spare boards */
+                long changes = chainStepper.step(last.board, board, last.ages, ages);
+                synchronized (this){
+                    if (epoch == chainEpoch)
+                        chain.addLast(new Entry(last.tick + 1, board, ages, changes));
+                    else
+                        recycle(board, ages);
+                }
+            }
+        }
+        catch (InterruptedException ex){
+            Thread.currentThread().interrupt();
+        }
+        catch (RuntimeException ex){
+            ex.printStackTrace();
+            synchronized (this){
+                chain.clear();
+                thread = null;
+            }
+        }
+    }
+
+    /**
+     * A generation of the chain
+     */
+    private static class Entry {
+
+        /** The tick of the generation */
+        private final int tick;
+        /** The board of the generation */
+        private final BitBoard board;
+        /** The ages of the cells of the generation (null if every age is 0) */
+        private final BitBoard ages;
+        /** The packed number of births and deaths of the generation (see BitBoard.packChanges) */
+        private final long changes;
+
+        /**
+         * Constructor for the Entry class
+         * @param tick The tick of the generation
+         * @param board The board of the generation
+         * @param ages The ages of the cells of the generation (null if every age is 0)
+         * @param changes The packed number of births and deaths of the generation
+         */
+        private Entry(int tick, BitBoard board, BitBoard ages, long changes){
+            this.tick = tick;
+            this.board = board;
+            this.ages = ages;
+            this.changes = changes;
+        }
+
+    }
+
+}
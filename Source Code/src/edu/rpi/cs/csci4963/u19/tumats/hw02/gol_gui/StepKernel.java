@@ -0,0 +1,99 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import java.util.Optional;
+
+/**
+ * Computes the live cells of the next generation for bands of rows of a board. Kernels only read the current board
+ * and only write their own rows of the next board, so a ParallelStepper can run separate bands at the same time.
+ * Boards with dying states (Generations rules) are always computed by BitBoard itself.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public interface StepKernel {
+
+    /** The name of the module that holds the Java Vector API */
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * Computes the next generation of every row of a board and places it in the next board
+     * @param board The board that holds the current generation
+     * @param next The board that receives the next generation (must have the same dimensions)
+     * @return The number of births and deaths, packed (see BitBoard.packChanges)
+     */
+    default long step(BitBoard board, BitBoard next){
+        return stepRows(board, next, 0, board.getNumRows());
+    }
+
+    /**
+     * Computes the next generation for a band of rows and places it in the next board. The hash changes of the words
+     * that the band writes are added to the next board as well (see BitBoard.mixStepHash).
+     * @param board The board that holds the current generation
+     * @param next The board that receives the next generation (must have the same dimensions)
+     * @param startRow The first row to compute (inclusive)
+     * @param endRow The last row to compute (exclusive)
+     * @return The number of births and deaths in the band, packed (see BitBoard.packChanges)
+     */
+    long stepRows(BitBoard board, BitBoard next, int startRow, int endRow);
+
+    /**
+     * Computes the next generation of a single word of a board
+     * @param board The board that holds the current generation
+     * @param row The row of the word
+     * @param word The index of the word within the row
+     * @return The packed cell data of the word in the next generation
+     */
+    long nextWord(BitBoard board, int row, int word);
+
+    /**
+     * Checks whether the Java Vector API can be used, which needs the JVM to be started with
+     * --add-modules jdk.incubator.vector
+     * @return True if the Vector API module is loaded and False otherwise
+     */
+    static boolean isVectorAvailable(){
+        Optional<Module> module = ModuleLayer.boot().findModule(VECTOR_MODULE);
+        return module.isPresent();
+    }
+
+    /**
+     * Creates the kernel with the given name for a rule. Generations rules and the "swar" kernel are computed by
+     * BitBoard itself, and the "vector" kernel falls back to BitBoard when the Vector API is not available.
+     * @param kernelName The kernel ("swar", "lookup" or "vector")
+     * @param rule The rule that the kernel applies
+     * @return The kernel, or null if the rows are computed with BitBoard.stepRows
+     */
+    static StepKernel forName(String kernelName, Rule rule){
+        if (rule.isGenerations())
+            return null;
+        if (kernelName.equals("lookup"))
+            return new LookupKernel(rule.getBirthMask(), rule.getSurvivalMask());
+        if (kernelName.equals("vector")){
+            StepKernel kernel = vector(rule);
+            if (kernel == null)
+                System.out.println("Vector API unavailable (start the JVM with --add-modules " + VECTOR_MODULE + "), using the swar kernel");
+            return kernel;
+        }
+        return null;
+    }
+
+    /**
+     * Creates a kernel that computes whole segments of a row with SIMD instructions through the Java Vector API. The
+     * kernel class is only loaded once the Vector API is known to be available, so the rest of the program still runs
+     * on JVMs without it.
+     * @param rule The rule that the kernel applies
+     * @return The kernel, or null if the Vector API is not available
+     */
+    static StepKernel vector(Rule rule){
+        if (!isVectorAvailable())
+            return null;
+        try {
+            Class<?> kernelClass = Class.forName(StepKernel.class.getPackageName() + ".VectorKernel");
+            return (StepKernel) kernelClass.getConstructor(Rule.class).newInstance(rule);
+        }
+        catch (ReflectiveOperationException | LinkageError ex){
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import java.util.Set;
+
+/**
+ * Stores the board of every tick that is run by the program. Implementations decide where the boards are kept (for
+ * example compressed in memory or in a memory-mapped file). Ticks do not have to be contiguous: ticks that are skipped
+ * over by a jump are simply not stored.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public interface TickHistory {
+
+    /**
+     * Stores the board of a tick, replacing the board that was stored for the tick before
+     * @param tick The tick of the board
+     * @param board The board of the tick
+     */
+    void put(int tick, BitBoard board);
+
+    /**
+     * Returns the board of a tick
+     * @param tick The tick of the board
+     * @return The board of the tick, or null if the tick is not stored
+     */
+    BitBoard get(int tick);
+
+    /**
+     * Checks whether the board of a tick is stored
+     * @param tick The tick
+     * @return True if the tick is stored and False otherwise
+     */
+    boolean containsKey(int tick);
+
+    /**
+     * Returns the number of ticks that are stored
+     * @return The number of ticks
+     */
+    int size();
+
+    /**
+     * Returns all of the ticks that are stored
+     * @return The stored ticks
+     */
+    Set<Integer> ticks();
+
+    /**
+     * Removes every tick after a given tick
+     * @param tick The last tick that is kept
+     */
+    void removeAfter(int tick);
+
+    /**
+     * Removes every tick
+     */
+    void clear();
+
+    /**
+     * Estimates the number of bytes of heap memory that are used by the stored boards
+     * @return The estimated size in bytes
+     */
+    long estimateBytes();
+
+    /**
+     * Returns a board that the board of a tick can be computed into before it is stored. Histories that keep every
+     * board return a new board, and histories that keep a fixed number of boards return the board that storing the
+     * tick will drop.
+     * @param tick The tick that the board will be stored for
+     * @param rows The number of rows of the board
+     * @param cols The number of columns of the board
+     * @param planes The number of bit planes of the board
+     * @return A writable board with the given dimensions (its cells are overwritten by the caller)
+     */
+    default BitBoard reuse(int tick, int rows, int cols, int planes){
+        return new BitBoard(rows, cols, planes);
+    }
+
+    /**
+     * Releases any resources (such as files) held by the history. The history must not be used afterwards.
+     */
+    default void close(){
+    }
+
+    /**
+     * Finds the closest tick before a given tick that is stored
+     * @param tick The tick that we are looking before
+     * @return The closest earlier tick that is stored, or -1 if there is none
+     */
+    default int getStoredTickBefore(int tick){
+        if (containsKey(tick - 1))
+            return tick - 1;
+        int closest = -1;
+        for (int stored : ticks()){
+            if (stored < tick && stored > closest)
+                closest = stored;
+        }
+        return closest;
+    }
+
+    /**
+     * Returns the latest tick that is stored
+     * @return The latest tick, or -1 if no tick is stored
+     */
+    default int getLastTick(){
+        int last = -1;
+        for (int stored : ticks()){
+            last = Math.max(last, stored);
+        }
+        return last;
+    }
+
+}
@@ -0,0 +1,155 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import java.util.Arrays;
+
+/**
+ * Stores the population statistics of every tick (the number of alive cells and the number of cells that were born
+ * and that died since the tick before) in plain int arrays indexed by tick. The arrays are split into pages of
+ * PAGE_SIZE ticks, so that reading or writing the statistics of a tick never boxes a value or hashes a key, and ticks
+ * that are skipped over by a jump only cost space within their own page.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class TickStatistics {
+
+    /** The number of ticks in a single page */
+    private static final int PAGE_SIZE = 1024;
+    /** The number of ints that are stored for every tick (alive, births and deaths) */
+    private static final int FIELDS = 3;
+    /** The value of a count that is not stored */
+    public static final int MISSING = -1;
+
+    /** The pages of statistics (null for pages without any stored tick) */
+    private int[][] pages = new int[16][];
+    /** The first page that may still hold a stored tick (every page before it was dropped by removeBefore) */
+    private int firstPage = 0;
+    /** A page that was dropped by removeBefore, which is used again for the next new page instead of allocating one */
+    private int[] sparePage;
+
+    /**
+     * Stores the statistics of a tick, replacing the statistics that were stored for the tick before
+     * @param tick The tick
+     * @param alive The number of cells that are alive at the tick
+     * @param births The number of cells that came to life since the tick before
+     * @param deaths The number of cells that died since the tick before
+     */
+    public void put(int tick, int alive, int births, int deaths){
+        int page = tick / PAGE_SIZE;
+        if (page >= pages.length){
+            int[][] grown = new int[Math.max(pages.length * 2, page + 1)][];
+            System.arraycopy(pages, 0, grown, 0, pages.length);
+            pages = grown;
+        }
+        if (pages[page] == null){
+            pages[page] = sparePage != null ? sparePage : new int[PAGE_SIZE * FIELDS];
+            sparePage = null;
+            Arrays.fill(pages[page], MISSING);
+            firstPage = Math.min(firstPage, page);
+        }
+        int offset = (tick % PAGE_SIZE) * FIELDS;
+        pages[page][offset] = alive;
+        pages[page][offset + 1] = births;
+        pages[page][offset + 2] = deaths;
+    }
+
+    /**
+     * Checks whether the statistics of a tick are stored
+     * @param tick The tick
+     * @return True if the tick is stored and False otherwise
+     */
+    public boolean contains(int tick){
+        return getAlive(tick) != MISSING;
+    }
+
+    /**
+     * Returns the number of cells that are alive at a tick
+     * @param tick The tick
+     * @return The number of alive cells, or MISSING if the tick is not stored
+     */
+    public int getAlive(int tick){
+        return read(tick, 0);
+    }
+
+    /**
+     * Returns the number of cells that came to life since the tick before
+     * @param tick The tick
+     * @return The number of births, or MISSING if the tick is not stored
+     */
+    public int getBirths(int tick){
+        return read(tick, 1);
+    }
+
+    /**
+     * Returns the number of cells that died since the tick before
+     * @param tick The tick
+     * @return The number of deaths, or MISSING if the tick is not stored
+     */
+    public int getDeaths(int tick){
+        return read(tick, 2);
+    }
+
+    /**
+     * Removes the statistics of a single tick
+     * @param tick The tick
+     */
+    public void remove(int tick){
+        int page = tick / PAGE_SIZE;
+        if (tick < 0 || page >= pages.length || pages[page] == null)
+            return;
+        int offset = (tick % PAGE_SIZE) * FIELDS;
+        Arrays.fill(pages[page], offset, offset + FIELDS, MISSING);
+    }
+
+    /**
+     * Removes the statistics of every tick after a given tick
+     * @param tick The last tick that is kept
+     */
+    public void removeAfter(int tick){
+        int first = Math.max(0, tick + 1);
+        int page = first / PAGE_SIZE;
+        if (page >= pages.length)
+            return;
+        if (pages[page] != null)
+            Arrays.fill(pages[page], (first % PAGE_SIZE) * FIELDS, PAGE_SIZE * FIELDS, MISSING);
+        for (int later = page + 1; later < pages.length; later++)
+            pages[later] = null;
+    }
+
+    /**
+     * Removes the statistics of the ticks before a given tick, a page at a time (so some earlier ticks may stay stored)
+     * @param tick The first tick that is kept
+     */
+    public void removeBefore(int tick){
+        int page = Math.min(pages.length, Math.max(0, tick) / PAGE_SIZE);
+        for (; firstPage < page; firstPage++){
+            if (pages[firstPage] != null){
+                sparePage = pages[firstPage];
+                pages[firstPage] = null;
+            }
+        }
+    }
+
+    /**
+     * Removes the statistics of every tick
+     */
+    public void clear(){
+        pages = new int[16][];
+        firstPage = 0;
+    }
+
+    /**
+     * Reads a single count of a tick
+     * @param tick The tick
+     * @param field The count (0 for alive, 1 for births and 2 for deaths)
+     * @return The count, or MISSING if the tick is not stored
+     */
+    private int read(int tick, int field){
+        int page = tick / PAGE_SIZE;
+        if (tick < 0 || page >= pages.length || pages[page] == null)
+            return MISSING;
+        return pages[page][(tick % PAGE_SIZE) * FIELDS + field];
+    }
+
+}
@@ -0,0 +1,291 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An unbounded universe made up of 64x64 tiles. Only tiles that contain live cells are stored (in a HashMap keyed by
+ * the tile coordinate), new tiles are created when live cells reach the edge of a tile, and tiles are dropped as soon
+ * as they are empty. Memory and the time needed for a generation therefore depend on the live part of the universe
+ * instead of on a fixed board size. The board of the program is a window onto the universe with its top left cell at
+ * the origin.
+ * Any rule without dying states can be used, as long as dead cells without neighbors stay dead (no B0).
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class TiledUniverse {
+
+    /** The number of rows and columns in a tile */
+    public static final int TILE_SIZE = 64;
+
+    /** An empty tile, used in place of tiles that are not stored */
+    private static final long[] EMPTY_TILE = new long[TILE_SIZE];
+
+    /** The tiles that contain live cells. Each tile has one long per row, with bit i holding column i of the tile. */
+    private HashMap<Long, long[]> tiles = new HashMap<>();
+    /** The rule of the game */
+    private final Rule rule;
+
+    /**
+     * Constructor for the TiledUniverse class that creates an empty universe
+     */
+    public TiledUniverse(){
+        this.rule = Rule.CONWAY;
+    }
+
+    /**
+     * Constructor for the TiledUniverse class that copies the live cells of a board into the universe
+     * @param board The board that is copied (its top left cell is placed at the origin)
+     */
+    public TiledUniverse(BitBoard board){
+        this(board, Rule.CONWAY);
+    }
+
+    /**
+     * Constructor for the TiledUniverse class that copies the live cells of a board into a universe with any rule
+     * @param board The board that is copied (its top left cell is placed at the origin)
+     * @param rule The rule of the game (without dying states or B0)
+     */
+    public TiledUniverse(BitBoard board, Rule rule){
+        if (!rule.isUnboundedSafe())
+            throw new IllegalArgumentException("Rule " + rule + " cannot run on an unbounded universe");
+        this.rule = rule;
+        for (int row = 0; row < board.getNumRows(); row++){
+            for (int col = 0; col < board.getNumCols(); col++){
+                if (board.get(row, col) == 1)
+                    set(row, col, true);
+            }
+        }
+    }
+
+    /**
+     * Returns the value of a single cell
+     * @param row The row of the cell (may be negative)
+     * @param col The column of the cell (may be negative)
+     * @return 1 if the cell is alive and 0 otherwise
+     */
+    public int get(int row, int col){
+        long[] tile = tiles.get(key(row >> 6, col >> 6));
+        if (tile == null)
+            return 0;
+        return (int) (tile[row & 63] >>> (col & 63)) & 1;
+    }
+
+    /**
+     * Changes the state of a single cell, creating or dropping its tile when needed
+     * @param row The row of the cell (may be negative)
+     * @param col The column of the cell (may be negative)
+     * @param alive True if the cell should be alive and False otherwise
+     */
+    public void set(int row, int col, boolean alive){
+        long key = key(row >> 6, col >> 6);
+        long[] tile = tiles.get(key);
+        if (tile == null){
+            if (!alive)
+                return;
+            tile = new long[TILE_SIZE];
+            tiles.put(key, tile);
+        }
+        if (alive)
+            tile[row & 63] |= 1L << col;
+        else {
+            tile[row & 63] &= ~(1L << col);
+            if (isEmpty(tile))
+                tiles.remove(key);
+        }
+    }
+
+    /**
+     * Computes the next generation of the universe. Every stored tile is computed, along with the neighboring tiles
+     * that live cells on the edge of a stored tile can reach. Tiles that end up empty are dropped.
+     */
+    public void step(){
+        HashMap<Long, long[]> candidates = new HashMap<>();
+        for (Map.Entry<Long, long[]> entry : tiles.entrySet()){
+            long[] tile = entry.getValue();
+            int tileRow = (int) (entry.getKey() >> 32);
+            int tileCol = (int) (long) entry.getKey();
+            candidates.put(entry.getKey(), tile);
+            boolean top = tile[0] != 0;
+            boolean bottom = tile[TILE_SIZE - 1] != 0;
+            long columns = 0;
+            for (long row : tile)
+                columns |= row;
+            boolean left = (columns & 1L) != 0;
+            boolean right = (columns & (1L << 63)) != 0;
+            /** Live cells on an edge can bring the tile next to it to life */
+            if (top)
+                addCandidate(candidates, tileRow - 1, tileCol);
+            if (bottom)
+                addCandidate(candidates, tileRow + 1, tileCol);
+            if (left)
+                addCandidate(candidates, tileRow, tileCol - 1);
+            if (right)
+                addCandidate(candidates, tileRow, tileCol + 1);
+            if ((tile[0] & 1L) != 0)
+                addCandidate(candidates, tileRow - 1, tileCol - 1);
+            if ((tile[0] & (1L << 63)) != 0)
+                addCandidate(candidates, tileRow - 1, tileCol + 1);
+            if ((tile[TILE_SIZE - 1] & 1L) != 0)
+                addCandidate(candidates, tileRow + 1, tileCol - 1);
+            if ((tile[TILE_SIZE - 1] & (1L << 63)) != 0)
+                addCandidate(candidates, tileRow + 1, tileCol + 1);
+        }
+        HashMap<Long, long[]> nextTiles = new HashMap<>();
+        for (long key : candidates.keySet()){
+            long[] next = stepTile((int) (key >> 32), (int) key);
+            if (next != null)
+                nextTiles.put(key, next);
+        }
+        tiles = nextTiles;
+    }
+
+    /**
+     * Copies the cells of the universe that fall within a board into the board (the top left cell of the board is the
+     * origin of the universe)
+     * @param board The board that receives the cells
+     */
+    public void copyTo(BitBoard board){
+        board.clear();
+        for (Map.Entry<Long, long[]> entry : tiles.entrySet()){
+            int firstRow = (int) (entry.getKey() >> 32) * TILE_SIZE;
+            int firstCol = (int) (long) entry.getKey() * TILE_SIZE;
+            if (firstRow + TILE_SIZE <= 0 || firstCol + TILE_SIZE <= 0 || firstRow >= board.getNumRows() || firstCol >= board.getNumCols())
+                continue;
+            long[] tile = entry.getValue();
+            for (int row = Math.max(0, -firstRow); row < TILE_SIZE && firstRow + row < board.getNumRows(); row++){
+                long bits = tile[row];
+                while (bits != 0){
+                    int col = Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (firstCol + col >= 0 && firstCol + col < board.getNumCols())
+                        board.set(firstRow + row, firstCol + col, true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the number of cells that are alive anywhere in the universe
+     * @return The number of alive cells
+     */
+    public long population(){
+        long sum = 0;
+        for (long[] tile : tiles.values()){
+            for (long row : tile)
+                sum += Long.bitCount(row);
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the number of tiles that are currently stored
+     * @return The number of tiles
+     */
+    public int getTileCount(){
+        return tiles.size();
+    }
+
+    /**
+     * Computes the next generation of a single tile from the tile and its eight neighbors
+     * @param tileRow The row of the tile
+     * @param tileCol The column of the tile
+     * @return The next generation of the tile, or null if it is empty
+     */
+    private long[] stepTile(int tileRow, int tileCol){
+        long[] center = tile(tileRow, tileCol);
+        long[] north = tile(tileRow - 1, tileCol);
+        long[] south = tile(tileRow + 1, tileCol);
+        long[] west = tile(tileRow, tileCol - 1);
+        long[] east = tile(tileRow, tileCol + 1);
+        long[] northWest = tile(tileRow - 1, tileCol - 1);
+        long[] northEast = tile(tileRow - 1, tileCol + 1);
+        long[] southWest = tile(tileRow + 1, tileCol - 1);
+        long[] southEast = tile(tileRow + 1, tileCol + 1);
+        long[] next = new long[TILE_SIZE];
+        long alive = 0;
+        for (int row = 0; row < TILE_SIZE; row++){
+            long a, aLeft, aRight, b, bLeft, bRight;
+            if (row == 0){
+                a = north[TILE_SIZE - 1];
+                aLeft = northWest[TILE_SIZE - 1];
+                aRight = northEast[TILE_SIZE - 1];
+            }
+            else {
+                a = center[row - 1];
+                aLeft = west[row - 1];
+                aRight = east[row - 1];
+            }
+            if (row == TILE_SIZE - 1){
+                b = south[0];
+                bLeft = southWest[0];
+                bRight = southEast[0];
+            }
+            else {
+                b = center[row + 1];
+                bLeft = west[row + 1];
+                bRight = east[row + 1];
+            }
+            long c = center[row];
+            long result;
+            if (rule.isConway())
+                result = BitBoard.lifeWord((a << 1) | (aLeft >>> 63), a, (a >>> 1) | (aRight << 63),
+                        (c << 1) | (west[row] >>> 63), c, (c >>> 1) | (east[row] << 63),
+                        (b << 1) | (bLeft >>> 63), b, (b >>> 1) | (bRight << 63));
+            else
+                result = BitBoard.ruleWord((a << 1) | (aLeft >>> 63), a, (a >>> 1) | (aRight << 63),
+                        (c << 1) | (west[row] >>> 63), c, (c >>> 1) | (east[row] << 63),
+                        (b << 1) | (bLeft >>> 63), b, (b >>> 1) | (bRight << 63), rule.getBirthMask(), rule.getSurvivalMask());
+            next[row] = result;
+            alive |= result;
+        }
+        return alive == 0 ? null : next;
+    }
+
+    /**
+     * Returns a stored tile, or an empty tile if the tile is not stored
+     * @param tileRow The row of the tile
+     * @param tileCol The column of the tile
+     * @return The tile
+     */
+    private long[] tile(int tileRow, int tileCol){
+        long[] tile = tiles.get(key(tileRow, tileCol));
+        return tile == null ? EMPTY_TILE : tile;
+    }
+
+    /**
+     * Adds a tile to the tiles that are computed in the next generation
+     * @param candidates The tiles that are computed in the next generation
+     * @param tileRow The row of the tile
+     * @param tileCol The column of the tile
+     */
+    private void addCandidate(HashMap<Long, long[]> candidates, int tileRow, int tileCol){
+        candidates.putIfAbsent(key(tileRow, tileCol), EMPTY_TILE);
+    }
+
+    /**
+     * Checks whether a tile contains no live cells
+     * @param tile The tile that is being checked
+     * @return True if every cell of the tile is dead and False otherwise
+     */
+    private boolean isEmpty(long[] tile){
+        for (long row : tile){
+            if (row != 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Combines the coordinates of a tile into the key of the tile
+     * @param tileRow The row of the tile
+     * @param tileCol The column of the tile
+     * @return The key of the tile
+     */
+    private static long key(int tileRow, int tileCol){
+        return ((long) tileRow << 32) | (tileCol & 0xffffffffL);
+    }
+
+}
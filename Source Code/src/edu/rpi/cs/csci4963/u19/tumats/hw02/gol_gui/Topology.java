@@ -0,0 +1,104 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+/**
+ * The shape of the surface that the board is laid on, which decides what lies beyond its edges. A torus joins the left
+ * edge to the right edge and the top edge to the bottom edge, a bounded board has only dead cells beyond its edges, a
+ * cylinder only joins the left and right edges, and a Klein bottle joins the left and right edges and joins the top
+ * and bottom edges with a twist (the row beyond the top edge is the bottom row read from right to left).
+ * Boards keep a halo of one row above and one row below the board that is filled in from the topology once per tick
+ * (see BitBoard.refreshHalo), so the neighbors of the edge rows are read like any other row while stepping.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public enum Topology {
+
+    /** Both pairs of edges are joined (the original behavior of the board) */
+    TORUS("torus", true, true, false),
+    /** Every cell beyond the edges is dead */
+    BOUNDED("bounded", false, false, false),
+    /** The left and right edges are joined and the cells beyond the top and bottom edges are dead */
+    CYLINDER("cylinder", true, false, false),
+    /** The left and right edges are joined and the top and bottom edges are joined with a twist */
+    KLEIN_BOTTLE("klein", true, true, true);
+
+    /** The name of the topology in the configuration file */
+    private final String name;
+    /** Whether the cells beyond the left and right edges come from the other side of the row */
+    private final boolean wrapsColumns;
+    /** Whether the rows beyond the top and bottom edges come from the other side of the board */
+    private final boolean wrapsRows;
+    /** Whether the rows that wrap around the top and bottom edges are read from right to left */
+    private final boolean flipsRows;
+
+    /**
+     * Constructor for the Topology enum
+     * @param name The name of the topology in the configuration file
+     * @param wrapsColumns Whether the cells beyond the left and right edges come from the other side of the row
+     * @param wrapsRows Whether the rows beyond the top and bottom edges come from the other side of the board
+     * @param flipsRows Whether the rows that wrap around the top and bottom edges are read from right to left
+     */
+    Topology(String name, boolean wrapsColumns, boolean wrapsRows, boolean flipsRows){
+        this.name = name;
+        this.wrapsColumns = wrapsColumns;
+        this.wrapsRows = wrapsRows;
+        this.flipsRows = flipsRows;
+    }
+
+    /**
+     * Finds a topology by its name in the configuration file
+     * @param name The name ("torus", "bounded", "cylinder" or "klein")
+     * @return The topology
+     * @throws IllegalArgumentException If there is no topology with the name
+     */
+    public static Topology parse(String name){
+        for (Topology topology : values()){
+            if (topology.name.equals(name.trim().toLowerCase()))
+                return topology;
+        }
+        throw new IllegalArgumentException("Unknown topology '" + name + "': expected torus, bounded, cylinder or klein");
+    }
+
+    /**
+     * Returns the name of the topology in the configuration file
+     * @return The name
+     */
+    public String getName(){
+        return name;
+    }
+
+    /**
+     * Checks whether the cells beyond the left and right edges come from the other side of the row
+     * @return True if the columns wrap around and False if the cells beyond them are dead
+     */
+    public boolean wrapsColumns(){
+        return wrapsColumns;
+    }
+
+    /**
+     * Checks whether the rows beyond the top and bottom edges come from the other side of the board
+     * @return True if the rows wrap around and False if the cells beyond them are dead
+     */
+    public boolean wrapsRows(){
+        return wrapsRows;
+    }
+
+    /**
+     * Checks whether the rows that wrap around the top and bottom edges are read from right to left
+     * @return True if the rows are flipped and False otherwise
+     */
+    public boolean flipsRows(){
+        return flipsRows;
+    }
+
+    /**
+     * Returns the name of the topology in the configuration file
+     * @return The name
+     */
+    @Override
+    public String toString(){
+        return name;
+    }
+
+}
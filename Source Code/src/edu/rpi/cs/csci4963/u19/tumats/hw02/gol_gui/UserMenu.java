@@ -1,12 +1,13 @@
 package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
 
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
 import javafx.stage.FileChooser;
-import javafx.util.Pair;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -25,8 +26,8 @@ public class UserMenu extends MenuBar{
 
     /** configHandler represents the instance of ConfigHandler that handles all operations related to the Configuration File */
     private ConfigHandler configHandler;
-    /** gol is the GameOfLife object where all data related operations occur */
-    private GameOfLife gol;
+    /** gol is the simulation engine where all data related operations occur */
+    private SimulationEngine gol;
     /** golui is an instance of the GameOfLifeUI and allows the UserMenu to call various 'central methods' */
     private GameOfLifeUI golui;
     /** menuBar is an instance of UserMenu */
@@ -34,11 +35,11 @@ public class UserMenu extends MenuBar{
 
     /**
      * Constructor for the UserMenu class
-     * @param gol The GameOfLife object that is currently being used in the program
+     * @param gol The simulation engine that is currently being used in the program
      * @param golui The GameOfLifeUI object that is currently being used in the program
      * @param configHandler The ConfigHandler object that is currently being used in the program
      */
-    public UserMenu(GameOfLife gol, GameOfLifeUI golui, ConfigHandler configHandler) {
+    public UserMenu(SimulationEngine gol, GameOfLifeUI golui, ConfigHandler configHandler) {
         this.gol = gol;
         this.golui = golui;
         this.configHandler = configHandler;
@@ -66,6 +67,8 @@ public class UserMenu extends MenuBar{
         Menu menuTools = new Menu("Tools");
         MenuItem menuReset = new MenuItem("Reset");
         MenuItem menuConfig = new MenuItem("Configuration Panel");
+        MenuItem menuJump = new MenuItem("Jump Ahead (HashLife)");
+        MenuItem menuGoTo = new MenuItem("Go to Tick");
         menuReset.setOnAction(new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent actionEvent) {
@@ -84,7 +87,27 @@ public class UserMenu extends MenuBar{
                 configHandler.generateConfigDialog();
             }
         });
-        menuTools.getItems().addAll(menuReset, menuConfig);
+        menuJump.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent actionEvent) {
+                golui.stopAutoPlay();
+                Integer power = generateJumpDialog();
+                if (power != null){
+                    golui.jumpAhead(power);
+                }
+            }
+        });
+        menuGoTo.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent actionEvent) {
+                golui.stopAutoPlay();
+                Integer tick = generateGoToTickDialog();
+                if (tick != null){
+                    golui.goToTick(tick);
+                }
+            }
+        });
+        menuTools.getItems().addAll(menuReset, menuConfig, menuJump, menuGoTo);
         return menuTools;
     }
 
@@ -104,6 +127,7 @@ public class UserMenu extends MenuBar{
                 FileChooser fileChooser = new FileChooser();
                 fileChooser.setTitle("Open data file");
                 File userFile = fileChooser.showOpenDialog(null);
+                golui.stopAutoPlay();
                 if (userFile != null){
                     if (gol.getCurrentTick() != 0){
                         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
@@ -122,23 +146,23 @@ public class UserMenu extends MenuBar{
         menuSaveAll.setOnAction(new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent actionEvent) {
+                golui.stopAutoPlay();
                 Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
                 alert.setTitle("Save Tick Data");
                 alert.setHeaderText("Are you sure you want to save ALL tick data?");
                 Optional<ButtonType> result = alert.showAndWait();
                 if (result.get() == ButtonType.OK){
-                    gol.writeData(0, gol.getTotalTickData().size() - 1, ConfigHandler.filePattern, ConfigHandler.folderPattern);
+                    gol.writeData(0, gol.getLastStoredTick(), ConfigHandler.filePattern, ConfigHandler.folderPattern);
                 }
             }
         });
         menuSaveRange.setOnAction(new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent actionEvent) {
+                golui.stopAutoPlay();
                 Pair<Integer, Integer> userInputRange = generateUserTickRangeDialog();
                 if (userInputRange != null){
-                    for (int count = userInputRange.getKey(); count < userInputRange.getValue() + 1; count++){
-                        WriteData.writeFile(gol.boardToString(gol.getSpecificTickData(count)), ConfigHandler.filePattern, ConfigHandler.folderPattern  , count);
-                    }
+                    gol.writeData(userInputRange.getKey(), userInputRange.getValue(), ConfigHandler.filePattern, ConfigHandler.folderPattern);
                 }
             }
         });
@@ -148,6 +172,84 @@ public class UserMenu extends MenuBar{
     }
 
 
+    /**
+     * Generates the dialog box for the user to choose how far to jump ahead. Only jumps that stay within the maximum
+     * number of ticks are offered.
+     * @return The power of two of the number of generations to jump, or null if the dialog was cancelled
+     */
+    public Integer generateJumpDialog(){
+        GridPane gridPane = new GridPane();
+        ArrayList<Integer> jumpChoices = new ArrayList<>();
+        for (int power = 0; power < 31 && gol.getCurrentTick() + (1L << power) <= ConfigHandler.maxTicks; power++){
+            jumpChoices.add(1 << power);
+        }
+        if (jumpChoices.isEmpty()){
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Jump Ahead");
+            alert.setContentText("The maximum number of ticks has been reached!");
+            alert.showAndWait();
+            return null;
+        }
+        ChoiceBox<Integer> generations = new ChoiceBox<>(FXCollections.observableArrayList(jumpChoices));
+        generations.getSelectionModel().selectLast();
+        gridPane.add(new Label("Generations to jump: "), 0, 0);
+        gridPane.add(generations, 1, 0);
+        Dialog<Integer> dialog = new Dialog<>();
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        dialog.setTitle("Jump Ahead");
+        dialog.getDialogPane().setContent(gridPane);
+        dialog.setResultConverter(userButton -> {
+            if (userButton == ButtonType.OK)
+                return Integer.numberOfTrailingZeros(generations.getValue());
+            return null;
+        });
+        Optional<Integer> userInput = dialog.showAndWait();
+        return userInput.orElse(null);
+    }
+
+    /**
+     * Generates the dialog box for the user to choose the tick to go to. Ticks beyond the maximum number of ticks are
+     * rejected.
+     * @return The tick to go to, or null if the dialog was cancelled
+     */
+    public Integer generateGoToTickDialog(){
+        GridPane gridPane = new GridPane();
+        TextField inputTick = new TextField(Integer.toString(gol.getCurrentTick()));
+        inputTick.textProperty().addListener(new ChangeListener<String>() {
+            @Override
+            public void changed(ObservableValue<? extends String> observableValue, String s, String t1) {
+                if (!t1.matches("\\d*")) {
+                    inputTick.setText(t1.replaceAll("[^\\d]", ""));
+                }
+            }
+        });
+        gridPane.add(new Label("Tick (up to " + ConfigHandler.maxTicks + "): "), 0, 0);
+        gridPane.add(inputTick, 1, 0);
+        Dialog<Integer> dialog = new Dialog<>();
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        dialog.setTitle("Go to Tick");
+        dialog.getDialogPane().setContent(gridPane);
+        dialog.setResultConverter(userButton -> {
+            if (userButton == ButtonType.OK){
+                try {
+                    int tick = Integer.parseInt(inputTick.getText());
+                    if (tick <= ConfigHandler.maxTicks)
+                        return tick;
+                }
+                catch (NumberFormatException ex){
+                    /** An empty or too large number is rejected below */
+                }
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Invalid Tick!");
+                alert.setContentText("The tick must be a number between 0 and " + ConfigHandler.maxTicks + "!");
+                alert.showAndWait();
+            }
+            return null;
+        });
+        Optional<Integer> userInput = dialog.showAndWait();
+        return userInput.orElse(null);
+    }
+
     /**
      * Generates the dialog box for the user to input the desired range of ticks for output and collects the output
      * @return The userinput in a Pair object with the starting tick (inclusive) in the key and the ending tick (inclusive) in the value
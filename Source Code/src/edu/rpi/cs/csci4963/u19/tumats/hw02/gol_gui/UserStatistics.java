@@ -26,6 +26,12 @@ public class UserStatistics extends GridPane {
     private Label previousAliveVal = new Label("0");
     /** Contains the value for the number of cells that were dead on the previous tick (reverts to 0 if the program is on tick 0 */
     private Label previousDeadVal = new Label("0");
+    /** Contains the value for the number of cells that came to life on the current tick */
+    private Label birthsVal = new Label("0");
+    /** Contains the value for the number of cells that died on the current tick */
+    private Label deathsVal = new Label("0");
+    /** Contains the period of the cycle that the board has settled into ("None" if it has not settled) */
+    private Label detectedPeriodVal = new Label("None");
     /** The label presented to the user that is paired with currentTickVal */
     private Label currentTick = new Label("Current Tick: ");
     /** The label presented to the user that is paired with currentAliveVal */
@@ -36,6 +42,12 @@ public class UserStatistics extends GridPane {
     private Label previousAlive = new Label("Alive Cells compared to previous tick: ");
     /** The label presented to the user that is paired with previousDeadVal */
     private Label previousDead = new Label("Dead Cells compared to previous tick: ");
+    /** The label presented to the user that is paired with birthsVal */
+    private Label births = new Label("Births since previous tick: ");
+    /** The label presented to the user that is paired with deathsVal */
+    private Label deaths = new Label("Deaths since previous tick: ");
+    /** The label presented to the user that is paired with detectedPeriodVal */
+    private Label detectedPeriod = new Label("Detected Period: ");
 
     /**
      * Constructor for the UserStatistics class
@@ -51,6 +63,12 @@ public class UserStatistics extends GridPane {
         gridPane.add(previousAliveVal, 1, 3);
         gridPane.add(previousDead, 0, 4);
         gridPane.add(previousDeadVal, 1, 4);
+        gridPane.add(births, 0, 5);
+        gridPane.add(birthsVal, 1, 5);
+        gridPane.add(deaths, 0, 6);
+        gridPane.add(deathsVal, 1, 6);
+        gridPane.add(detectedPeriod, 0, 7);
+        gridPane.add(detectedPeriodVal, 1, 7);
         gridPane.setHgap(10);
         gridPane.setVgap(10);
         gridPane.setPadding(new Insets(10, 10, 10, 10));
@@ -96,6 +114,38 @@ public class UserStatistics extends GridPane {
         this.previousDeadVal.setText(Integer.toString(val));
     }
 
+    /**
+     * Allows access to set the value for the number of cells that came to life on the current tick
+     * @param val the number that should be displayed as the number of births
+     */
+    public void setBirthsVal(int val){
+        this.birthsVal.setText(Integer.toString(val));
+    }
+
+    /**
+     * Allows access to set the value for the number of cells that died on the current tick
+     * @param val the number that should be displayed as the number of deaths
+     */
+    public void setDeathsVal(int val){
+        this.deathsVal.setText(Integer.toString(val));
+    }
+
+    /**
+     * Allows access to set the period of the cycle that is currently displayed to the user
+     * @param period the period of the cycle that the board has settled into (0 if it has not settled)
+     * @param extinct true if every cell has died and false otherwise
+     */
+    public void setDetectedPeriodVal(int period, boolean extinct){
+        if (extinct)
+            this.detectedPeriodVal.setText("Extinct");
+        else if (period == 1)
+            this.detectedPeriodVal.setText("Still Life");
+        else if (period > 1)
+            this.detectedPeriodVal.setText(Integer.toString(period));
+        else
+            this.detectedPeriodVal.setText("None");
+    }
+
     /**
      * Allows access to increment the tick counter by one
      */
@@ -148,6 +198,9 @@ public class UserStatistics extends GridPane {
         this.currentDeadVal.setText("0");
         this.previousAliveVal.setText("0");
         this.previousDeadVal.setText("0");
+        this.birthsVal.setText("0");
+        this.deathsVal.setText("0");
+        this.detectedPeriodVal.setText("None");
     }
 
 }
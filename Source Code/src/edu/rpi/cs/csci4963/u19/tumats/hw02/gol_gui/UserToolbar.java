@@ -1,11 +1,15 @@
 package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
 
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
+import javafx.geometry.Pos;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
-import javafx.util.Pair;
 
 /**
  * Generates the ToolBar that houses commonly used buttons to the user. Additionally creates event handlers for these
@@ -19,8 +23,8 @@ public class UserToolbar extends HBox{
 
     /** The Horizontal Box that contains the buttons to be used in the toolbar */
     private HBox hBox;
-    /** gol is the GameOfLife object where all data related operations occur */
-    private GameOfLife gol;
+    /** gol is the simulation engine where all data related operations occur */
+    private SimulationEngine gol;
     /** golui is an instance of the GameOfLifeUI and allows the UserMenu to call various 'central methods' */
     private GameOfLifeUI golui;
     /** configHandler represents the instance of ConfigHandler that handles all operations related to the Configuration File */
@@ -32,13 +36,13 @@ public class UserToolbar extends HBox{
 
     /**
      * Constructor for the UserToolbar class
-     * @param gol The GameOfLife object that is currently being used in the program
+     * @param gol The simulation engine that is currently being used in the program
      * @param golui The GameOfLifeUI object that is currently being used in the program
      * @param configHandler The ConfigHandler object that is currently being used in the program
      * @param userStatistics the UserStatistics object that is currently being used in the program
      * @param gridView the GridView object that is currently being used in the program
      */
-    public UserToolbar(GameOfLife gol, GameOfLifeUI golui, ConfigHandler configHandler, UserStatistics userStatistics, GridView gridView){
+    public UserToolbar(SimulationEngine gol, GameOfLifeUI golui, ConfigHandler configHandler, UserStatistics userStatistics, GridView gridView){
         this.gol = gol;
         this.golui = golui;
         this.configHandler = configHandler;
@@ -73,33 +77,47 @@ public class UserToolbar extends HBox{
         previousTick.setOnAction(new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent actionEvent) {
+                golui.stopAutoPlay();
                 if (gol.getCurrentTick() == 0)
                     return;
-                gol.setCurrentTick(gol.getCurrentTick() - 1);
-                userStatistics.setCurrentTickVal(gol.getCurrentTick());
-                Pair<Integer, Integer> totalStates = gol.getTickSumStates(gol.getCurrentTick());
-                userStatistics.setCurrentAliveVal(totalStates.getKey());
-                userStatistics.setCurrentDeadVal(totalStates.getValue());
-                if (gol.getCurrentTick() > 0){
-                    Pair<Integer, Integer> previousStates = gol.getTickSumStates(gol.getCurrentTick() - 1);
-                    userStatistics.setPreviousAliveVal(previousStates.getKey());
-                    userStatistics.setPreviousDeadVal(previousStates.getValue());
-                }
-                else{
-                    userStatistics.setPreviousAliveVal(0);
-                    userStatistics.setPreviousDeadVal(0);
-                }
-
+                gol.setCurrentTick(gol.getStoredTickBefore(gol.getCurrentTick()));
+                golui.refreshStatistics();
                 gridView.updateGrid();
             }
         });
+        TextField ticksPerSecond = new TextField("0");
+        ticksPerSecond.setPrefColumnCount(4);
+        ticksPerSecond.textProperty().addListener(new ChangeListener<String>() {
+            @Override
+            public void changed(ObservableValue<? extends String> observableValue, String s, String t1) {
+                if (!t1.matches("\\d*")) {
+                    ticksPerSecond.setText(t1.replaceAll("[^\\d]", ""));
+                    return;
+                }
+                golui.setAutoPlaySpeed(readTicksPerSecond(ticksPerSecond));
+            }
+        });
+        Label ticksPerSecondLabel = new Label(" Ticks/s (0 = max): ");
         Button autoPlay = new Button("Auto Play");
         autoPlay.setOnAction(new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent actionEvent) {
-                while (gol.getCurrentTick() < ConfigHandler.maxTicks){
-                    golui.updateGOLSTick();
-                }
+                /** Runs on the simulation thread and stops early once the board has died out, settled or started repeating */
+                golui.startAutoPlay(readTicksPerSecond(ticksPerSecond));
+            }
+        });
+        Button pause = new Button("Pause");
+        pause.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent actionEvent) {
+                golui.pauseAutoPlay();
+            }
+        });
+        Button stop = new Button("Stop");
+        stop.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent actionEvent) {
+                golui.stopAutoPlay();
             }
         });
         Button configurationPanel = new Button("Configuration Panel");
@@ -112,14 +130,33 @@ public class UserToolbar extends HBox{
         nextTick.setMaxWidth(Double.MAX_VALUE);
         previousTick.setMaxWidth(Double.MAX_VALUE);
         autoPlay.setMaxWidth(Double.MAX_VALUE);
+        pause.setMaxWidth(Double.MAX_VALUE);
+        stop.setMaxWidth(Double.MAX_VALUE);
         configurationPanel.setMaxWidth(Double.MAX_VALUE);
-        hBox.getChildren().addAll(previousTick, nextTick, autoPlay, configurationPanel);
+        hBox.setAlignment(Pos.CENTER_LEFT);
+        hBox.getChildren().addAll(previousTick, nextTick, autoPlay, pause, stop, ticksPerSecondLabel, ticksPerSecond, configurationPanel);
         HBox.setHgrow(nextTick, Priority.ALWAYS);
         HBox.setHgrow(previousTick, Priority.ALWAYS);
         HBox.setHgrow(autoPlay, Priority.ALWAYS);
+        HBox.setHgrow(pause, Priority.ALWAYS);
+        HBox.setHgrow(stop, Priority.ALWAYS);
         HBox.setHgrow(configurationPanel, Priority.ALWAYS);
     }
 
+    /**
+     * Reads the target number of ticks per second of Auto Play
+     * @param ticksPerSecond The field that holds the number
+     * @return The target number of ticks per second (0 if the field is empty, which steps as fast as possible)
+     */
+    private double readTicksPerSecond(TextField ticksPerSecond){
+        try {
+            return Integer.parseInt(ticksPerSecond.getText());
+        }
+        catch (NumberFormatException ex){
+            return 0;
+        }
+    }
+
 
 
 }
@@ -0,0 +1,298 @@
+package edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Computes generations with the Java Vector API, working on a whole segment of words of a row at once (4 words with
+ * AVX2 and 8 with AVX-512, so every instruction covers 256 or 512 cells). Every row is first reduced to the sum of
+ * every cell and its left and right neighbor (a two bit count per cell). The counts of the row above, the row itself
+ * and the row below then add up to the sum S of the whole 3x3 neighborhood, so the count of every row is computed once
+ * and used three times. A dead cell comes to life when S is a birth count, and a live cell stays alive when S - 1 is
+ * a survival count. The neighbors to the left and right are lined up by loading the row one word earlier and one word
+ * later, and the first and last word of a row, whose neighbors beyond the edges depend on the topology of the board, are
+ * summed one word at a time. The rows above and below the board come from its halo.
+ * Conway's rules are applied to S right away; other rules store the four bits of S and pick the outcome in a second
+ * pass over the row. The work is split into several small methods on purpose: the JIT only turns vector operations into SIMD
+ * instructions when it can inline all of them, and one large method runs out of its inlining budget.
+ * This class needs the jdk.incubator.vector module, so it must only be created through StepKernel.vector.
+ *
+ * @author Srikanth Tumati
+ * @version 1.2
+ * @since 1.2
+ */
+public class VectorKernel implements StepKernel {
+
+    /** The widest vector shape that the processor supports */
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    /** The rule that the kernel applies */
+    private final Rule rule;
+    /** Whether the rule is Conway's, which is applied directly to the neighborhood sum */
+    private final boolean conway;
+    /** For every neighborhood sum S, all ones if a dead cell comes to life with S live neighbors */
+    private final long[] birthLeaves = new long[10];
+    /** For every neighborhood sum S, all ones if a live cell stays alive with S - 1 live neighbors */
+    private final long[] survivalLeaves = new long[10];
+
+    /**
+     * Constructor for the VectorKernel class
+     * @param rule The rule that the kernel applies (must not have dying states)
+     */
+    public VectorKernel(Rule rule){
+        this.rule = rule;
+        this.conway = rule.isConway();
+        for (int sum = 0; sum <= 9; sum++){
+            long birth = sum <= 8 ? -(long) (rule.getBirthMask() >>> sum & 1) : 0;
+            long survival = sum >= 1 ? -(long) (rule.getSurvivalMask() >>> (sum - 1) & 1) : 0;
+            birthLeaves[sum] = birth;
+            survivalLeaves[sum] = survival;
+        }
+    }
+
+    /**
+     * Returns the number of words that are computed by a single vector instruction
+     * @return The number of lanes
+     */
+    public static int getLaneCount(){
+        return SPECIES.length();
+    }
+
+    /**
+     * Computes the next generation for a band of rows and places it in the next board. Boards that are read-only, have
+     * dying states or are too narrow for a single segment are computed by BitBoard instead.
+     * @param board The board that holds the current generation
+     * @param next The board that receives the next generation (must have the same dimensions)
+     * @param startRow The first row to compute (inclusive)
+     * @param endRow The last row to compute (exclusive)
+     * @return The number of births and deaths in the band, packed (see BitBoard.packChanges)
+     */
+    @Override
+    public long stepRows(BitBoard board, BitBoard next, int startRow, int endRow){
+        int wordsPerRow = board.getWordsPerRow();
+        int lanes = SPECIES.length();
+        /** Narrow boards do not fill a single segment between the edge words */
+        if (board.isReadOnly() || board.getPlaneCount() != 1 || wordsPerRow < lanes + 2)
+            return board.stepRows(next, startRow, endRow, rule);
+        board.refreshHalo();
+        long columnWrap = board.getColumnWrap();
+        long[] words = board.getWords();
+        long[] out = next.getWords();
+        int lastColBit = (board.getNumCols() - 1) & 63;
+        long lastWordMask = lastColBit == 63 ? -1L : (1L << (lastColBit + 1)) - 1;
+        /** The row sums of three rows (the row above, the row itself and the row below), reused as the band moves down */
+        long[] low = new long[3 * wordsPerRow];
+        long[] high = new long[3 * wordsPerRow];
+        /** The four bits of the neighborhood sum (only used by rules other than Conway's) */
+        long[] sums = conway ? null : new long[4 * wordsPerRow];
+        rowSum(words, board.rowStart(startRow - 1), wordsPerRow, lastColBit, columnWrap, low, high, 0);
+        rowSum(words, startRow * wordsPerRow, wordsPerRow, lastColBit, columnWrap, low, high, wordsPerRow);
+        long births = 0;
+        long deaths = 0;
+        long hash = 0;
+        int hashOffset = next.getHashOffset();
+        for (int row = startRow; row < endRow; row++){
+            int step = row - startRow;
+            int above = (step % 3) * wordsPerRow;
+            int center = ((step + 1) % 3) * wordsPerRow;
+            int below = ((step + 2) % 3) * wordsPerRow;
+            rowSum(words, board.rowStart(row + 1), wordsPerRow, lastColBit, columnWrap, low, high, below);
+            int rowStart = row * wordsPerRow;
+            /** The last segment overlaps the one before it, which only writes the same words twice */
+            for (int word = 0; word < wordsPerRow; word += lanes){
+                int segment = Math.min(word, wordsPerRow - lanes);
+                if (conway)
+                    lifeSegment(low, high, above + segment, center + segment, below + segment, words, out, rowStart + segment);
+                else
+                    sumSegment(low, high, above + segment, center + segment, below + segment, sums, wordsPerRow, segment);
+            }
+            if (!conway)
+                applyRule(sums, wordsPerRow, words, out, rowStart);
+            out[rowStart + wordsPerRow - 1] &= lastWordMask;
+            for (int word = rowStart; word < rowStart + wordsPerRow; word++){
+                long old = words[word];
+                long value = out[word];
+                births += Long.bitCount(value & ~old);
+                deaths += Long.bitCount(old & ~value);
+                hash ^= BitBoard.hashChange(hashOffset + word, old, value);
+            }
+        }
+        next.mixStepHash(hash);
+        return BitBoard.packChanges(births, deaths);
+    }
+
+    /**
+     * Computes the next generation of a single word of a board
+     * @param board The board that holds the current generation
+     * @param row The row of the word
+     * @param word The index of the word within the row
+     * @return The packed cell data of the word in the next generation
+     */
+    @Override
+    public long nextWord(BitBoard board, int row, int word){
+        return board.nextWord(row, word, rule);
+    }
+
+    /**
+     * Adds up every cell of a row with its left and right neighbor into a two bit count per cell
+     * @param words The cell data of the board
+     * @param rowStart The index of the first word of the row
+     * @param wordsPerRow The number of words in a row
+     * @param lastColBit The bit position of the last column within the last word of a row
+     * @param columnWrap 1 if the first and last column are neighbors and 0 if the cells beyond them are dead
+     * @param low Receives bit 0 of the counts
+     * @param high Receives bit 1 of the counts
+     * @param slot The index in low and high that the counts of the row start at
+     */
+    private static void rowSum(long[] words, int rowStart, int wordsPerRow, int lastColBit, long columnWrap, long[] low, long[] high, int slot){
+        int lanes = SPECIES.length();
+        int last = wordsPerRow - 1;
+        for (int word = 1; word < last; word += lanes){
+            int segment = Math.min(word, last - lanes);
+            rowSumSegment(words, rowStart + segment, low, high, slot + segment);
+        }
+        /** The edge words take their neighbors beyond the edges like BitBoard.west and BitBoard.east */
+        long first = words[rowStart];
+        long end = words[rowStart + last];
+        rowSumWord(first, (first << 1) | ((end >>> lastColBit) & columnWrap), (first >>> 1) | (words[rowStart + 1] << 63), low, high, slot);
+        rowSumWord(end, (end << 1) | (words[rowStart + last - 1] >>> 63), (end >>> 1) | ((first & columnWrap) << lastColBit), low, high, slot + last);
+    }
+
+    /**
+     * Adds up a single word of cells with its left and right neighbors
+     * @param center The cells themselves
+     * @param west The neighbors to the left
+     * @param east The neighbors to the right
+     * @param low Receives bit 0 of the counts
+     * @param high Receives bit 1 of the counts
+     * @param index The index in low and high of the word
+     */
+    private static void rowSumWord(long center, long west, long east, long[] low, long[] high, int index){
+        low[index] = west ^ center ^ east;
+        high[index] = (west & center) | (east & (west ^ center));
+    }
+
+    /**
+     * Adds up a segment of cells with its left and right neighbors (the segment must not hold an edge word)
+     * @param words The cell data of the board
+     * @param start The index of the first word of the segment
+     * @param low Receives bit 0 of the counts
+     * @param high Receives bit 1 of the counts
+     * @param index The index in low and high of the first word of the segment
+     */
+    private static void rowSumSegment(long[] words, int start, long[] low, long[] high, int index){
+        LongVector center = LongVector.fromArray(SPECIES, words, start);
+        LongVector west = center.lanewise(VectorOperators.LSHL, 1).or(LongVector.fromArray(SPECIES, words, start - 1).lanewise(VectorOperators.LSHR, 63));
+        LongVector east = center.lanewise(VectorOperators.LSHR, 1).or(LongVector.fromArray(SPECIES, words, start + 1).lanewise(VectorOperators.LSHL, 63));
+        LongVector pair = west.lanewise(VectorOperators.XOR, center);
+        pair.lanewise(VectorOperators.XOR, east).intoArray(low, index);
+        west.and(center).or(east.and(pair)).intoArray(high, index);
+    }
+
+    /**
+     * Applies Conway's rules to a segment: a cell is alive when the sum S of its neighborhood (including itself) is 3,
+     * or when S is 4 and the cell was alive
+     * @param low Bit 0 of the row sums
+     * @param high Bit 1 of the row sums
+     * @param above The index of the segment in the row sums of the row above
+     * @param center The index of the segment in the row sums of its own row
+     * @param below The index of the segment in the row sums of the row below
+     * @param words The cell data of the board
+     * @param out The cell data of the next generation
+     * @param index The index of the first word of the segment in the cell data
+     */
+    private static void lifeSegment(long[] low, long[] high, int above, int center, int below, long[] words, long[] out, int index){
+        LongVector a0 = LongVector.fromArray(SPECIES, low, above);
+        LongVector c0 = LongVector.fromArray(SPECIES, low, center);
+        LongVector b0 = LongVector.fromArray(SPECIES, low, below);
+        LongVector a1 = LongVector.fromArray(SPECIES, high, above);
+        LongVector c1 = LongVector.fromArray(SPECIES, high, center);
+        LongVector b1 = LongVector.fromArray(SPECIES, high, below);
+        LongVector pair0 = a0.lanewise(VectorOperators.XOR, c0);
+        LongVector s0 = pair0.lanewise(VectorOperators.XOR, b0);
+        LongVector carry = a0.and(c0).or(b0.and(pair0));
+        LongVector pair1 = a1.lanewise(VectorOperators.XOR, c1);
+        LongVector twos = pair1.lanewise(VectorOperators.XOR, b1);
+        LongVector fours = a1.and(c1).or(b1.and(pair1));
+        LongVector s1 = twos.lanewise(VectorOperators.XOR, carry);
+        LongVector s2 = fours.lanewise(VectorOperators.XOR, twos.and(carry));
+        /** S is 3 when bits 0 and 1 are set and bit 2 is not (S is never above 9, so bit 3 alone means 8 or 9) */
+        LongVector three = s0.and(s1);
+        three = three.lanewise(VectorOperators.XOR, three.and(s2.or(fours.and(twos.and(carry)))));
+        LongVector cells = LongVector.fromArray(SPECIES, words, index);
+        LongVector four = s2.and(cells);
+        four = four.lanewise(VectorOperators.XOR, four.and(s0.or(s1)));
+        three.or(four).intoArray(out, index);
+    }
+
+    /**
+     * Adds up the row sums of a segment into the four bit sum S of every neighborhood
+     * @param low Bit 0 of the row sums
+     * @param high Bit 1 of the row sums
+     * @param above The index of the segment in the row sums of the row above
+     * @param center The index of the segment in the row sums of its own row
+     * @param below The index of the segment in the row sums of the row below
+     * @param sums Receives the four bits of S, one row of words per bit
+     * @param wordsPerRow The number of words in a row
+     * @param word The index of the first word of the segment within its row
+     */
+    private static void sumSegment(long[] low, long[] high, int above, int center, int below, long[] sums, int wordsPerRow, int word){
+        LongVector a0 = LongVector.fromArray(SPECIES, low, above);
+        LongVector c0 = LongVector.fromArray(SPECIES, low, center);
+        LongVector b0 = LongVector.fromArray(SPECIES, low, below);
+        LongVector a1 = LongVector.fromArray(SPECIES, high, above);
+        LongVector c1 = LongVector.fromArray(SPECIES, high, center);
+        LongVector b1 = LongVector.fromArray(SPECIES, high, below);
+        LongVector pair0 = a0.lanewise(VectorOperators.XOR, c0);
+        LongVector carry = a0.and(c0).or(b0.and(pair0));
+        LongVector pair1 = a1.lanewise(VectorOperators.XOR, c1);
+        LongVector twos = pair1.lanewise(VectorOperators.XOR, b1);
+        LongVector fours = a1.and(c1).or(b1.and(pair1));
+        LongVector overflow = twos.and(carry);
+        pair0.lanewise(VectorOperators.XOR, b0).intoArray(sums, word);
+        twos.lanewise(VectorOperators.XOR, carry).intoArray(sums, wordsPerRow + word);
+        fours.lanewise(VectorOperators.XOR, overflow).intoArray(sums, 2 * wordsPerRow + word);
+        fours.and(overflow).intoArray(sums, 3 * wordsPerRow + word);
+    }
+
+    /**
+     * Applies the rule to a row from the four bits of the neighborhood sums with a tree of bitwise multiplexers (see
+     * BitBoard.ruleWord). This is a plain loop over arrays, which the JIT turns into SIMD instructions by itself, since
+     * the whole tree does not fit into the inlining budget for vector operations.
+     * @param sums The four bits of S, one row of words per bit
+     * @param wordsPerRow The number of words in a row
+     * @param words The cell data of the board
+     * @param out The cell data of the next generation
+     * @param rowStart The index of the first word of the row in the cell data
+     */
+    private void applyRule(long[] sums, int wordsPerRow, long[] words, long[] out, int rowStart){
+        long b0 = birthLeaves[0], b1 = birthLeaves[1], b2 = birthLeaves[2], b3 = birthLeaves[3], b4 = birthLeaves[4];
+        long b5 = birthLeaves[5], b6 = birthLeaves[6], b7 = birthLeaves[7], b8 = birthLeaves[8], b9 = birthLeaves[9];
+        long v0 = survivalLeaves[0], v1 = survivalLeaves[1], v2 = survivalLeaves[2], v3 = survivalLeaves[3], v4 = survivalLeaves[4];
+        long v5 = survivalLeaves[5], v6 = survivalLeaves[6], v7 = survivalLeaves[7], v8 = survivalLeaves[8], v9 = survivalLeaves[9];
+        for (int word = 0; word < wordsPerRow; word++){
+            long s0 = sums[word];
+            long s1 = sums[wordsPerRow + word];
+            long s2 = sums[2 * wordsPerRow + word];
+            long s3 = sums[3 * wordsPerRow + word];
+            long c = words[rowStart + word];
+            long lower = select(s1, select(s0, select(c, b0, v0), select(c, b1, v1)), select(s0, select(c, b2, v2), select(c, b3, v3)));
+            long upper = select(s1, select(s0, select(c, b4, v4), select(c, b5, v5)), select(s0, select(c, b6, v6), select(c, b7, v7)));
+            long top = select(s0, select(c, b8, v8), select(c, b9, v9));
+            out[rowStart + word] = select(s3, select(s2, lower, upper), top);
+        }
+    }
+
+    /**
+     * Picks between two words bit by bit
+     * @param selector The bits that choose between the words
+     * @param whenClear The bits that are picked where the selector is 0
+     * @param whenSet The bits that are picked where the selector is 1
+     * @return The picked bits
+     */
+    private static long select(long selector, long whenClear, long whenSet){
+        return whenClear ^ ((whenClear ^ whenSet) & selector);
+    }
+
+}
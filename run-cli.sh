@@ -0,0 +1,2 @@
+javac -encoding UTF-8 -cp . --add-modules jdk.incubator.vector -sourcepath Source\ Code/src -d Source\ Code/out/cli Source\ Code/src/edu/rpi/cs/csci4963/u19/tumats/hw02/gol_gui/GameOfLifeCLI.java Source\ Code/src/edu/rpi/cs/csci4963/u19/tumats/hw02/gol_gui/VectorKernel.java
+java -cp "Source Code/out/cli" --add-modules jdk.incubator.vector edu.rpi.cs.csci4963.u19.tumats.hw02.gol_gui.GameOfLifeCLI "$@"